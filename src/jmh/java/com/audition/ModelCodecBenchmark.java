@@ -0,0 +1,88 @@
+package com.audition;
+
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Throughput of the shared ObjectMapper with the hand-written model codecs against the same
+ * configuration binding the models reflectively, for a /posts-sized collection.
+ *
+ * <p>JDK 21.0.1 on one CPU, 4 forks x 8 x 2s after 5 x 1s of warm-up, in ops/s with 99.9%
+ * error:
+ * <pre>
+ *                 size  reflective      specialised
+ *   serialize      100  27105 +-  949   38407 +- 3612   +42%
+ *   serialize     5000    578 +-   47     773 +-   78   +34%
+ *   deserialize    100  25738 +- 5075   29394 +- 4029   +14%, within error
+ *   deserialize   5000    371 +-   44     473 +-   41   +27%
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ModelCodecBenchmark {
+
+  @Param({"100", "5000"})
+  public int size;
+
+  private ObjectMapper specialised;
+  private ObjectMapper reflective;
+  private List<AuditionPost> posts;
+  private byte[] json;
+
+  @Setup
+  public void setUp() throws Exception {
+    specialised = new WebServiceConfiguration().objectMapper();
+    // The shared mapper's settings without ModelJsonModule, so only the codecs differ.
+    reflective = new ObjectMapper()
+        .setDateFormat(new SimpleDateFormat("yyyy-MM-dd", Locale.ENGLISH))
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .setPropertyNamingStrategy(PropertyNamingStrategies.LOWER_CAMEL_CASE)
+        .setSerializationInclusion(JsonInclude.Include.NON_EMPTY)
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    posts = new ArrayList<>(size);
+    for (int i = 1; i <= size; i++) {
+      posts.add(new AuditionPost(i % 10 + 1, i, "title of post " + i,
+          "body of post " + i + "\nspanning more than one line of text"));
+    }
+    json = reflective.writeValueAsBytes(posts);
+  }
+
+  @Benchmark
+  public byte[] serializeSpecialised() throws Exception {
+    return specialised.writeValueAsBytes(posts);
+  }
+
+  @Benchmark
+  public byte[] serializeReflective() throws Exception {
+    return reflective.writeValueAsBytes(posts);
+  }
+
+  @Benchmark
+  public AuditionPost[] deserializeSpecialised() throws Exception {
+    return specialised.readValue(json, AuditionPost[].class);
+  }
+
+  @Benchmark
+  public AuditionPost[] deserializeReflective() throws Exception {
+    return reflective.readValue(json, AuditionPost[].class);
+  }
+}
@@ -0,0 +1,85 @@
+package com.audition.common.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded set of keys known to be missing at the source of truth, each remembered for a fixed
+ * time.
+ *
+ * <p>Entries share one TTL, so insertion order is also expiry order: the oldest entry is the
+ * first to expire and the first evicted when the bound is reached.
+ *
+ * @param <K> key type
+ */
+public class NegativeCache<K> {
+
+  private final Duration ttl;
+  private final Clock clock;
+  private final Map<K, Instant> expiries;
+
+  /**
+   * Constructor for NegativeCache.
+   *
+   * @param ttl        how long a key is remembered as missing
+   * @param maxEntries most keys remembered at once
+   * @param clock      time source for expiry
+   */
+  public NegativeCache(final Duration ttl, final int maxEntries, final Clock clock) {
+    this.ttl = ttl;
+    this.clock = clock;
+    this.expiries = new LinkedHashMap<>() {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<K, Instant> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Remembers {@code key} as missing for the TTL, restarting it if already present.
+   *
+   * @param key the missing key
+   */
+  public synchronized void put(final K key) {
+    expiries.remove(key);
+    expiries.put(key, clock.instant().plus(ttl));
+  }
+
+  /**
+   * Returns whether {@code key} is remembered as missing and not yet expired.
+   *
+   * @param key the key
+   * @return {@code true} if the key is known to be missing
+   */
+  public synchronized boolean contains(final K key) {
+    final Instant expiry = expiries.get(key);
+    if (expiry == null) {
+      return false;
+    }
+    if (!expiry.isAfter(clock.instant())) {
+      expiries.remove(key);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Forgets every key, for example once a new snapshot of the source is available.
+   */
+  public synchronized void clear() {
+    expiries.clear();
+  }
+
+  /**
+   * Returns the number of remembered keys, including expired ones not yet dropped.
+   */
+  public synchronized int size() {
+    return expiries.size();
+  }
+}
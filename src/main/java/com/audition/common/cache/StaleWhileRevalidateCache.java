@@ -0,0 +1,319 @@
+package com.audition.common.cache;
+
+import com.audition.common.concurrent.Futures;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Single-value cache with stale-while-revalidate and stale-if-error semantics.
+ *
+ * <ul>
+ *   <li>Within {@code ttl} the snapshot is served as fresh.</li>
+ *   <li>Up to {@code ttl + staleWhileRevalidate} the stale snapshot is served immediately and
+ *   one background refresh is started.</li>
+ *   <li>Beyond that, callers wait for a refresh; if it fails and the snapshot is younger than
+ *   {@code ttl + staleIfError}, the stale snapshot is served instead of the error.</li>
+ * </ul>
+ *
+ * <p>At most one load runs at a time. Each successful load publishes a new immutable
+ * {@link Snapshot} with a monotonically increasing version, so readers never lock. A load that
+ * returns the cached value itself, as a revalidated upstream response does, only restarts the
+ * snapshot's age: the version stays and listeners are not called.
+ *
+ * @param <T> cached value type
+ */
+@Slf4j
+public class StaleWhileRevalidateCache<T> {
+
+  private static final String METRIC_PREFIX = "audition.cache";
+  private static final String CACHE_TAG = "cache";
+
+  private final String name;
+  private final Supplier<T> loader;
+  private final Policy policy;
+  private final Executor refreshExecutor;
+  private final Clock clock;
+
+  private volatile Snapshot<T> snapshot;
+  private final AtomicReference<CompletableFuture<Snapshot<T>>> refreshing =
+      new AtomicReference<>();
+  private final AtomicLong versions = new AtomicLong();
+  private final List<Consumer<Snapshot<T>>> listeners = new CopyOnWriteArrayList<>();
+
+  private final Counter hits;
+  private final Counter staleHits;
+  private final Counter misses;
+  private final Counter staleIfErrorHits;
+  private final Counter revalidations;
+  private final Timer refreshSuccess;
+  private final Timer refreshFailure;
+
+  /**
+   * Constructor for StaleWhileRevalidateCache.
+   *
+   * @param name            cache name, used as the metric tag
+   * @param loader          loads a fresh value from the source of truth
+   * @param policy          freshness and staleness bounds
+   * @param refreshExecutor runs background refreshes
+   * @param clock           time source for snapshot ages
+   * @param meterRegistry   registry receiving the cache metrics
+   */
+  public StaleWhileRevalidateCache(final String name, final Supplier<T> loader,
+      final Policy policy, final Executor refreshExecutor, final Clock clock,
+      final MeterRegistry meterRegistry) {
+    this.name = name;
+    this.loader = loader;
+    this.policy = policy;
+    this.refreshExecutor = refreshExecutor;
+    this.clock = clock;
+
+    this.hits = requests("hit", meterRegistry);
+    this.staleHits = requests("stale", meterRegistry);
+    this.misses = requests("miss", meterRegistry);
+    this.staleIfErrorHits = requests("stale-if-error", meterRegistry);
+    this.revalidations = Counter.builder(METRIC_PREFIX + ".revalidated")
+        .description("Loads that confirmed the cached value instead of replacing it")
+        .tag(CACHE_TAG, name)
+        .register(meterRegistry);
+    this.refreshSuccess = refreshTimer("success", meterRegistry);
+    this.refreshFailure = refreshTimer("failure", meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".staleness", this, StaleWhileRevalidateCache::stalenessSeconds)
+        .description("Age of the cached snapshot")
+        .baseUnit("seconds")
+        .tag(CACHE_TAG, name)
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".version", versions, AtomicLong::get)
+        .description("Version of the cached snapshot")
+        .tag(CACHE_TAG, name)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the cached value, loading or refreshing it according to the policy.
+   */
+  public T get() {
+    return getSnapshot().value();
+  }
+
+  /**
+   * Returns the cached snapshot, loading or refreshing it according to the policy.
+   */
+  public Snapshot<T> getSnapshot() {
+    final Snapshot<T> current = snapshot;
+    if (current == null) {
+      misses.increment();
+      return Futures.await(refresh(false));
+    }
+    final Duration age = ageOf(current);
+    if (age.compareTo(policy.ttl()) <= 0) {
+      hits.increment();
+      return current;
+    }
+    if (age.compareTo(policy.ttl().plus(policy.staleWhileRevalidate())) <= 0) {
+      staleHits.increment();
+      refresh(true);
+      return current;
+    }
+    try {
+      misses.increment();
+      return Futures.await(refresh(false));
+    } catch (RuntimeException e) {
+      if (age.compareTo(policy.ttl().plus(policy.staleIfError())) <= 0) {
+        staleIfErrorHits.increment();
+        log.warn("Serving stale '{}' snapshot v{} aged {} after refresh failure: {}", name,
+            current.version(), age, e.getMessage());
+        return current;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Publishes {@code value}, restored from outside the loader, as a snapshot loaded at
+   * {@code loadedAt} and starts a background refresh. The policy applies to its real age: it is
+   * served at once while within {@code ttl + staleWhileRevalidate}, and only within
+   * {@code ttl + staleIfError} if the refresh fails. It is replaced as soon as the loader
+   * succeeds. Listeners are not called, and nothing happens if a snapshot is already cached.
+   *
+   * @param value    the restored value
+   * @param loadedAt when the value was loaded from the source of truth; a future time counts as
+   *                 now
+   * @return whether the value was seeded
+   */
+  public boolean seed(final T value, final Instant loadedAt) {
+    if (snapshot != null) {
+      return false;
+    }
+    final Instant now = clock.instant();
+    snapshot = new Snapshot<>(value, versions.incrementAndGet(),
+        loadedAt.isAfter(now) ? now : loadedAt);
+    refresh(true);
+    return true;
+  }
+
+  /**
+   * Returns the current snapshot without loading, or {@code null} when nothing is cached.
+   */
+  public Snapshot<T> peek() {
+    return snapshot;
+  }
+
+  /**
+   * Returns the snapshot {@link #get} would serve without loading, starting a background refresh
+   * when it is stale, or {@code null} when serving would require a blocking load.
+   */
+  public Snapshot<T> getIfServable() {
+    final Snapshot<T> current = snapshot;
+    if (current == null) {
+      return null;
+    }
+    final Duration age = ageOf(current);
+    if (age.compareTo(policy.ttl()) <= 0) {
+      return current;
+    }
+    if (age.compareTo(policy.ttl().plus(policy.staleWhileRevalidate())) <= 0) {
+      refresh(true);
+      return current;
+    }
+    return null;
+  }
+
+  /**
+   * Returns whether a snapshot younger than the TTL is cached.
+   */
+  public boolean isFresh() {
+    final Snapshot<T> current = snapshot;
+    return current != null && ageOf(current).compareTo(policy.ttl()) <= 0;
+  }
+
+  /**
+   * Registers a callback invoked with every newly published snapshot.
+   *
+   * @param listener the callback
+   */
+  public void addListener(final Consumer<Snapshot<T>> listener) {
+    listeners.add(listener);
+  }
+
+  private CompletableFuture<Snapshot<T>> refresh(final boolean async) {
+    while (true) {
+      final CompletableFuture<Snapshot<T>> inFlight = refreshing.get();
+      if (inFlight != null) {
+        return inFlight;
+      }
+      final CompletableFuture<Snapshot<T>> mine = new CompletableFuture<>();
+      if (refreshing.compareAndSet(null, mine)) {
+        if (!async) {
+          load(mine);
+        } else {
+          try {
+            refreshExecutor.execute(() -> load(mine));
+          } catch (RejectedExecutionException e) {
+            refreshing.compareAndSet(mine, null);
+            mine.completeExceptionally(e);
+          }
+        }
+        return mine;
+      }
+    }
+  }
+
+  private void load(final CompletableFuture<Snapshot<T>> result) {
+    final long start = System.nanoTime();
+    try {
+      final T value = loader.get();
+      final Snapshot<T> current = snapshot;
+      final Snapshot<T> loaded = current != null && current.value() == value
+          ? revalidate(current, clock.instant()) : publish(value, clock.instant());
+      refreshSuccess.record(Duration.ofNanos(System.nanoTime() - start));
+      result.complete(loaded);
+    } catch (RuntimeException e) {
+      refreshFailure.record(Duration.ofNanos(System.nanoTime() - start));
+      log.warn("Refreshing '{}' snapshot failed: {}", name, e.getMessage());
+      result.completeExceptionally(e);
+    } finally {
+      refreshing.compareAndSet(result, null);
+    }
+  }
+
+  private Snapshot<T> publish(final T value, final Instant loadedAt) {
+    final Snapshot<T> published = new Snapshot<>(value, versions.incrementAndGet(), loadedAt);
+    snapshot = published;
+    for (final Consumer<Snapshot<T>> listener : listeners) {
+      try {
+        listener.accept(published);
+      } catch (RuntimeException e) {
+        log.warn("Listener on '{}' snapshot v{} failed", name, published.version(), e);
+      }
+    }
+    return published;
+  }
+
+  private Snapshot<T> revalidate(final Snapshot<T> current, final Instant loadedAt) {
+    final Snapshot<T> revalidated = new Snapshot<>(current.value(), current.version(), loadedAt);
+    snapshot = revalidated;
+    revalidations.increment();
+    return revalidated;
+  }
+
+  private Duration ageOf(final Snapshot<T> current) {
+    return Duration.between(current.loadedAt(), clock.instant());
+  }
+
+  private double stalenessSeconds() {
+    final Snapshot<T> current = snapshot;
+    return current == null ? 0 : ageOf(current).toMillis() / 1000.0;
+  }
+
+  private Counter requests(final String result, final MeterRegistry meterRegistry) {
+    return Counter.builder(METRIC_PREFIX + ".requests")
+        .description("Cache lookups by result")
+        .tag(CACHE_TAG, name)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private Timer refreshTimer(final String outcome, final MeterRegistry meterRegistry) {
+    return Timer.builder(METRIC_PREFIX + ".refresh")
+        .description("Latency of loads from the source of truth")
+        .tag(CACHE_TAG, name)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Immutable cached value with its version and load time.
+   *
+   * @param value    the cached value
+   * @param version  monotonically increasing snapshot version
+   * @param loadedAt when the value was loaded
+   * @param <T>      cached value type
+   */
+  public record Snapshot<T>(T value, long version, Instant loadedAt) {
+  }
+
+  /**
+   * Freshness and staleness bounds.
+   *
+   * @param ttl                  how long a snapshot is fresh
+   * @param staleWhileRevalidate how long past the TTL a snapshot is served during a refresh
+   * @param staleIfError         how long past the TTL a snapshot is served if refresh fails
+   */
+  public record Policy(Duration ttl, Duration staleWhileRevalidate, Duration staleIfError) {
+  }
+}
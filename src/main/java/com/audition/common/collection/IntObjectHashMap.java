@@ -0,0 +1,185 @@
+package com.audition.common.collection;
+
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Open-addressing hash map keyed by primitive {@code int}, avoiding Integer boxing and entry
+ * objects on both writes and lookups.
+ *
+ * <p>Uses linear probing over power-of-two sized parallel arrays. The map is not thread-safe;
+ * it is meant to be fully built by one thread and then published read-only.
+ *
+ * @param <V> value type
+ */
+public final class IntObjectHashMap<V> {
+
+  private static final float LOAD_FACTOR = 0.5f;
+  private static final int MIN_CAPACITY = 8;
+
+  private int[] keys;
+  private Object[] values;
+  private boolean[] used;
+  private int size;
+  private int mask;
+
+  /**
+   * Creates an empty map.
+   */
+  public IntObjectHashMap() {
+    this(MIN_CAPACITY);
+  }
+
+  /**
+   * Creates a map sized to hold {@code expectedSize} entries without resizing.
+   *
+   * @param expectedSize expected number of entries
+   */
+  public IntObjectHashMap(final int expectedSize) {
+    allocate(capacityFor(expectedSize));
+  }
+
+  /**
+   * Returns the value mapped to {@code key}, or {@code null}.
+   *
+   * @param key the key
+   * @return the mapped value or null
+   */
+  @SuppressWarnings("unchecked")
+  public V get(final int key) {
+    int slot = mix(key) & mask;
+    while (used[slot]) {
+      if (keys[slot] == key) {
+        return (V) values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return null;
+  }
+
+  /**
+   * Returns whether {@code key} is mapped.
+   *
+   * @param key the key
+   * @return true if a mapping exists
+   */
+  public boolean containsKey(final int key) {
+    int slot = mix(key) & mask;
+    while (used[slot]) {
+      if (keys[slot] == key) {
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  /**
+   * Maps {@code key} to {@code value}, replacing any previous mapping.
+   *
+   * @param key   the key
+   * @param value the value
+   * @return the previous value or null
+   */
+  @SuppressWarnings("unchecked")
+  public V put(final int key, final V value) {
+    int slot = mix(key) & mask;
+    while (used[slot]) {
+      if (keys[slot] == key) {
+        final V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+    used[slot] = true;
+    keys[slot] = key;
+    values[slot] = value;
+    if (++size > keys.length * LOAD_FACTOR) {
+      rehash(keys.length << 1);
+    }
+    return null;
+  }
+
+  /**
+   * Returns the value for {@code key}, creating and storing it first if absent.
+   *
+   * @param key     the key
+   * @param factory creates the value for an absent key
+   * @return the existing or newly created value
+   */
+  public V computeIfAbsent(final int key, final IntFunction<V> factory) {
+    final V existing = get(key);
+    if (existing != null) {
+      return existing;
+    }
+    final V created = factory.apply(key);
+    put(key, created);
+    return created;
+  }
+
+  /**
+   * Applies {@code action} to every value in place.
+   *
+   * @param action maps each value to its replacement
+   */
+  @SuppressWarnings("unchecked")
+  public void replaceAll(final UnaryOperator<V> action) {
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (used[slot]) {
+        values[slot] = action.apply((V) values[slot]);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of mappings.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether the map has no mappings.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  private void rehash(final int newCapacity) {
+    final int[] oldKeys = keys;
+    final Object[] oldValues = values;
+    final boolean[] oldUsed = used;
+    allocate(newCapacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldUsed[i]) {
+        int slot = mix(oldKeys[i]) & mask;
+        while (used[slot]) {
+          slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(final int capacity) {
+    keys = new int[capacity];
+    values = new Object[capacity];
+    used = new boolean[capacity];
+    mask = capacity - 1;
+  }
+
+  private static int capacityFor(final int expectedSize) {
+    final int needed = (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR) + 1;
+    return Math.max(MIN_CAPACITY, Integer.highestOneBit(needed - 1) << 1);
+  }
+
+  private static int mix(final int key) {
+    // Fibonacci hashing (multiply by 2^32 / golden ratio) then folding the high bits into the low
+    // ones spreads sequential ids across the table.
+    final int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
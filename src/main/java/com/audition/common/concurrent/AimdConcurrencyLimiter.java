@@ -0,0 +1,161 @@
+package com.audition.common.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit using additive increase / multiplicative decrease.
+ *
+ * <p>Every completed call is a sample. A failed call, or one slower than the latency threshold,
+ * multiplies the limit by the backoff ratio; a fast success grows it by one, but only while at
+ * least half of the current limit is in use so idle periods do not inflate it. Calls beyond the
+ * limit are rejected immediately rather than queued.
+ */
+public class AimdConcurrencyLimiter {
+
+  private static final String METRIC_PREFIX = "audition.upstream.limiter";
+
+  private final String name;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final long latencyThresholdNanos;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile int limit;
+
+  private final Counter rejected;
+
+  /**
+   * Constructor for AimdConcurrencyLimiter.
+   *
+   * @param name             limiter name, used as the {@code operation} metric tag
+   * @param initialLimit     limit before any samples
+   * @param minLimit         floor for the limit
+   * @param maxLimit         ceiling for the limit
+   * @param backoffRatio     factor applied to the limit on a drop, in (0, 1)
+   * @param latencyThreshold calls slower than this count as drops
+   * @param meterRegistry    registry receiving the limiter metrics
+   */
+  public AimdConcurrencyLimiter(final String name, final int initialLimit, final int minLimit,
+      final int maxLimit, final double backoffRatio, final Duration latencyThreshold,
+      final MeterRegistry meterRegistry) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+    }
+    if (backoffRatio <= 0 || backoffRatio >= 1) {
+      throw new IllegalArgumentException("Backoff ratio must be in (0, 1)");
+    }
+    this.name = name;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.backoffRatio = backoffRatio;
+    this.latencyThresholdNanos = latencyThreshold.toNanos();
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+    this.rejected = Counter.builder(METRIC_PREFIX + ".rejected")
+        .description("Calls rejected by the adaptive concurrency limit")
+        .tag("operation", name)
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".limit", this, AimdConcurrencyLimiter::getLimit)
+        .description("Current adaptive concurrency limit")
+        .tag("operation", name)
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".inflight", inFlight, AtomicInteger::get)
+        .description("Calls currently holding a limiter permit")
+        .tag("operation", name)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Takes a permit, or fails fast when the limit is reached.
+   *
+   * @return the permit, which must be released exactly once
+   * @throws ConcurrencyLimitExceededException if no capacity is left
+   */
+  public Permit acquire() {
+    while (true) {
+      final int current = inFlight.get();
+      final int currentLimit = limit;
+      if (current >= currentLimit) {
+        rejected.increment();
+        throw new ConcurrencyLimitExceededException(name, currentLimit);
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return new Permit(current + 1);
+      }
+    }
+  }
+
+  /**
+   * Returns the current limit.
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Returns the number of permits currently held.
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  private synchronized void onSample(final long rttNanos, final int inFlightAtStart,
+      final boolean dropped) {
+    if (dropped || rttNanos > latencyThresholdNanos) {
+      limit = Math.max(minLimit, (int) (limit * backoffRatio));
+    } else if (inFlightAtStart * 2 >= limit) {
+      limit = Math.min(maxLimit, limit + 1);
+    }
+  }
+
+  /**
+   * A slot under the limit, released with the outcome of the call it guarded.
+   */
+  public final class Permit {
+
+    private final long startNanos = System.nanoTime();
+    private final int inFlightAtStart;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(final int inFlightAtStart) {
+      this.inFlightAtStart = inFlightAtStart;
+    }
+
+    /**
+     * Releases the permit after a successful call, sampling its latency.
+     */
+    public void onSuccess() {
+      release(true, false);
+    }
+
+    /**
+     * Releases the permit after a failure that indicates upstream overload.
+     */
+    public void onDropped() {
+      release(true, true);
+    }
+
+    /**
+     * Releases the permit without sampling, e.g. on cancellation.
+     */
+    public void onIgnore() {
+      release(false, false);
+    }
+
+    private void release(final boolean sample, final boolean dropped) {
+      if (!released.compareAndSet(false, true)) {
+        return;
+      }
+      inFlight.decrementAndGet();
+      if (sample) {
+        onSample(System.nanoTime() - startNanos, inFlightAtStart, dropped);
+      }
+    }
+  }
+}
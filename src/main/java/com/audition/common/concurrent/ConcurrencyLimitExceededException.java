@@ -0,0 +1,19 @@
+package com.audition.common.concurrent;
+
+/**
+ * Thrown when an {@link AimdConcurrencyLimiter} has no capacity left for another call.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+  private static final long serialVersionUID = 4103816437765251470L;
+
+  /**
+   * Constructor for ConcurrencyLimitExceededException.
+   *
+   * @param name  limiter name
+   * @param limit limit in force when the call was rejected
+   */
+  public ConcurrencyLimitExceededException(final String name, final int limit) {
+    super("Concurrency limit of " + limit + " reached for '" + name + "'");
+  }
+}
@@ -0,0 +1,55 @@
+package com.audition.common.concurrent;
+
+import java.time.Duration;
+
+/**
+ * A point in time by which a request must be answered, measured on the monotonic clock.
+ */
+public final class Deadline {
+
+  private final long expiresAtNanos;
+
+  private Deadline(final long expiresAtNanos) {
+    this.expiresAtNanos = expiresAtNanos;
+  }
+
+  /**
+   * Creates a deadline {@code timeout} from now.
+   *
+   * @param timeout the budget; zero or negative yields an already expired deadline
+   * @return the deadline
+   */
+  public static Deadline after(final Duration timeout) {
+    return new Deadline(System.nanoTime() + timeout.toNanos());
+  }
+
+  /**
+   * Returns the budget left, never negative.
+   *
+   * @return the remaining time
+   */
+  public Duration remaining() {
+    final long left = expiresAtNanos - System.nanoTime();
+    return left <= 0 ? Duration.ZERO : Duration.ofNanos(left);
+  }
+
+  /**
+   * Returns whether the budget is spent.
+   *
+   * @return true once the deadline has passed
+   */
+  public boolean isExpired() {
+    return expiresAtNanos - System.nanoTime() <= 0;
+  }
+
+  /**
+   * Caps {@code timeout} at the remaining budget.
+   *
+   * @param timeout a configured timeout
+   * @return the smaller of {@code timeout} and the remaining budget
+   */
+  public Duration cap(final Duration timeout) {
+    final Duration remaining = remaining();
+    return remaining.compareTo(timeout) < 0 ? remaining : timeout;
+  }
+}
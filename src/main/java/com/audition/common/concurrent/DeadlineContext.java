@@ -0,0 +1,103 @@
+package com.audition.common.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Carries the current request's {@link Deadline} on the thread serving it.
+ *
+ * <p>The context is thread-bound, so work handed to another thread must be wrapped with
+ * {@link #propagate(Supplier)} to keep the budget.
+ */
+public final class DeadlineContext {
+
+  private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+  private DeadlineContext() {
+  }
+
+  /**
+   * Returns the deadline of the request served by this thread.
+   *
+   * @return the deadline, or {@code null} when the thread has none
+   */
+  public static Deadline current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Binds {@code deadline} to this thread.
+   *
+   * @param deadline the deadline, or {@code null} to clear
+   */
+  public static void set(final Deadline deadline) {
+    if (deadline == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(deadline);
+    }
+  }
+
+  /**
+   * Removes the deadline from this thread.
+   */
+  public static void clear() {
+    CURRENT.remove();
+  }
+
+  /**
+   * Returns whether this thread's deadline has passed; false without a deadline.
+   *
+   * @return true when the budget is spent
+   */
+  public static boolean isExpired() {
+    final Deadline deadline = CURRENT.get();
+    return deadline != null && deadline.isExpired();
+  }
+
+  /**
+   * Wraps {@code task} so it runs under the caller's deadline on whichever thread executes it.
+   *
+   * @param task the task
+   * @param <T>  result type
+   * @return the wrapped task, or {@code task} itself when the caller has no deadline
+   */
+  public static <T> Supplier<T> propagate(final Supplier<T> task) {
+    final Deadline deadline = CURRENT.get();
+    if (deadline == null) {
+      return task;
+    }
+    return () -> {
+      final Deadline previous = CURRENT.get();
+      CURRENT.set(deadline);
+      try {
+        return task.get();
+      } finally {
+        set(previous);
+      }
+    };
+  }
+
+  /**
+   * {@link Callable} variant of {@link #propagate(Supplier)}.
+   *
+   * @param task the task
+   * @param <T>  result type
+   * @return the wrapped task
+   */
+  public static <T> Callable<T> propagate(final Callable<T> task) {
+    final Deadline deadline = CURRENT.get();
+    if (deadline == null) {
+      return task;
+    }
+    return () -> {
+      final Deadline previous = CURRENT.get();
+      CURRENT.set(deadline);
+      try {
+        return task.call();
+      } finally {
+        set(previous);
+      }
+    };
+  }
+}
@@ -0,0 +1,68 @@
+package com.audition.common.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Helpers for waiting on futures from blocking code.
+ */
+public final class Futures {
+
+  private Futures() {
+  }
+
+  /**
+   * Waits for {@code future} and returns its value, rethrowing an unchecked failure as-is so
+   * callers see the original SystemException rather than an ExecutionException wrapper.
+   *
+   * @param future the future to wait for
+   * @param <T>    value type
+   * @return the completed value
+   */
+  public static <T> T await(final Future<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for upstream result", e);
+    } catch (ExecutionException e) {
+      throw unwrap(e);
+    }
+  }
+
+  /**
+   * Waits at most {@code timeout} for {@code future}, rethrowing failures like
+   * {@link #await(Future)}.
+   *
+   * @param future  the future to wait for
+   * @param timeout the longest wait
+   * @param <T>     value type
+   * @return the completed value
+   * @throws TimeoutException if the future did not complete in time
+   */
+  public static <T> T await(final Future<T> future, final Duration timeout)
+      throws TimeoutException {
+    try {
+      return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for upstream result", e);
+    } catch (ExecutionException e) {
+      throw unwrap(e);
+    }
+  }
+
+  private static RuntimeException unwrap(final ExecutionException e) {
+    final Throwable cause = e.getCause();
+    if (cause instanceof RuntimeException runtimeException) {
+      return runtimeException;
+    }
+    if (cause instanceof Error error) {
+      throw error;
+    }
+    return new IllegalStateException(cause);
+  }
+}
@@ -0,0 +1,68 @@
+package com.audition.common.concurrent;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring of recent latencies with on-demand percentiles.
+ *
+ * <p>The window is small (a few hundred samples), so a percentile is computed by sorting a copy;
+ * callers that need it on every request should cache the result.
+ */
+public class LatencyWindow {
+
+  private final long[] samples;
+  private int next;
+  private int count;
+
+  /**
+   * Constructor for LatencyWindow.
+   *
+   * @param size number of most recent samples kept
+   */
+  public LatencyWindow(final int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Window size must be positive");
+    }
+    this.samples = new long[size];
+  }
+
+  /**
+   * Records one latency sample.
+   *
+   * @param nanos latency in nanoseconds
+   */
+  public synchronized void record(final long nanos) {
+    samples[next] = nanos;
+    next = (next + 1) % samples.length;
+    if (count < samples.length) {
+      count++;
+    }
+  }
+
+  /**
+   * Returns the number of samples currently held.
+   */
+  public synchronized int size() {
+    return count;
+  }
+
+  /**
+   * Returns the given percentile of the held samples, or {@code null} when empty.
+   *
+   * @param percentile value in (0, 1]
+   * @return the latency at that percentile
+   */
+  public Duration percentile(final double percentile) {
+    final long[] copy;
+    synchronized (this) {
+      if (count == 0) {
+        return null;
+      }
+      copy = Arrays.copyOf(samples, count);
+    }
+    Arrays.sort(copy);
+    final int index = (int) Math.ceil(percentile * copy.length) - 1;
+    return Duration.ofNanos(copy[Math.max(0, Math.min(copy.length - 1, index))]);
+  }
+}
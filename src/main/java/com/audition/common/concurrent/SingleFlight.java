@@ -0,0 +1,179 @@
+package com.audition.common.concurrent;
+
+import com.audition.common.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces identical concurrent calls so that only one of them does the work.
+ *
+ * <p>The first caller for a key becomes the leader and runs the call; callers arriving while it
+ * is in flight share the leader's future and receive the same result or exception. The key is
+ * released as soon as the call completes, so nothing is cached beyond the in-flight window.
+ *
+ * <p>A blocking follower waits no longer than its own {@link DeadlineContext} budget. When the
+ * leader fails only because its deadline passed, followers with budget left make the call again
+ * instead of inheriting that failure.
+ */
+@Component
+public class SingleFlight {
+
+  private static final String METRIC_PREFIX = "audition.singleflight";
+
+  private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  private final Map<String, OperationStats> stats = new ConcurrentHashMap<>();
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Constructor for SingleFlight.
+   *
+   * @param meterRegistry registry receiving the coalescing metrics
+   */
+  public SingleFlight(final MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Runs {@code call} unless an identical call is already in flight, in which case its outcome
+   * is shared.
+   *
+   * @param operation logical operation name, used as the metric tag
+   * @param key       argument identifying the call within the operation
+   * @param call      the blocking call to run when leading
+   * @param <T>       result type
+   * @return the call result
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T execute(final String operation, final String key, final Supplier<T> call) {
+    final String flightKey = operation + ':' + key;
+    final CompletableFuture<Object> mine = new CompletableFuture<>();
+    final CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, mine);
+    if (existing != null) {
+      statsFor(operation).followers.increment();
+      final Deadline deadline = DeadlineContext.current();
+      try {
+        return (T) follow(operation, existing, deadline);
+      } catch (DeadlineExceededException e) {
+        if (existing.isCompletedExceptionally() && (deadline == null || !deadline.isExpired())) {
+          // The leader ran out of its own budget; this caller still has some.
+          return execute(operation, key, call);
+        }
+        throw e;
+      }
+    }
+    statsFor(operation).leaders.increment();
+    try {
+      final T result = call.get();
+      mine.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(flightKey, mine);
+    }
+  }
+
+  /**
+   * Non-blocking variant of {@link #execute(String, String, Supplier)}.
+   *
+   * @param operation logical operation name, used as the metric tag
+   * @param key       argument identifying the call within the operation
+   * @param call      supplies the upstream publisher when leading
+   * @param <T>       result type
+   * @return a Mono sharing the in-flight result
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Mono<T> executeAsync(final String operation, final String key,
+      final Supplier<Mono<T>> call) {
+    return Mono.defer(() -> {
+      final String flightKey = operation + ':' + key;
+      final CompletableFuture<Object> mine = new CompletableFuture<>();
+      final CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, mine);
+      if (existing != null) {
+        statsFor(operation).followers.increment();
+        // copy() so a cancelled subscriber never cancels the shared future
+        return Mono.fromFuture(existing.copy()).map(value -> (T) value);
+      }
+      statsFor(operation).leaders.increment();
+      Mono.defer(call).toFuture().whenComplete((result, error) -> {
+        inFlight.remove(flightKey, mine);
+        if (error != null) {
+          mine.completeExceptionally(unwrap(error));
+        } else {
+          mine.complete(result);
+        }
+      });
+      return Mono.fromFuture(mine.copy()).map(value -> (T) value);
+    });
+  }
+
+  private static Object follow(final String operation, final CompletableFuture<Object> leader,
+      final Deadline deadline) {
+    if (deadline == null) {
+      return Futures.await(leader);
+    }
+    try {
+      return Futures.await(leader, deadline.remaining());
+    } catch (TimeoutException e) {
+      throw new DeadlineExceededException(
+          "Deadline exceeded while waiting for a coalesced " + operation + " call", e);
+    }
+  }
+
+  /**
+   * Returns the number of calls currently in flight.
+   */
+  public int inFlightCount() {
+    return inFlight.size();
+  }
+
+  private static Throwable unwrap(final Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause() : error;
+  }
+
+  private OperationStats statsFor(final String operation) {
+    return stats.computeIfAbsent(operation, op -> new OperationStats(op, meterRegistry));
+  }
+
+  /**
+   * Per-operation leader/follower counters and the derived coalesce ratio.
+   */
+  private static final class OperationStats {
+
+    private final Counter leaders;
+    private final Counter followers;
+
+    OperationStats(final String operation, final MeterRegistry meterRegistry) {
+      this.leaders = Counter.builder(METRIC_PREFIX + ".calls")
+          .description("Coalescable calls by role")
+          .tag("operation", operation)
+          .tag("role", "leader")
+          .register(meterRegistry);
+      this.followers = Counter.builder(METRIC_PREFIX + ".calls")
+          .description("Coalescable calls by role")
+          .tag("operation", operation)
+          .tag("role", "follower")
+          .register(meterRegistry);
+      Gauge.builder(METRIC_PREFIX + ".coalesce.ratio", this, OperationStats::ratio)
+          .description("Fraction of calls that were coalesced onto an in-flight call")
+          .tag("operation", operation)
+          .register(meterRegistry);
+    }
+
+    private double ratio() {
+      final double total = leaders.count() + followers.count();
+      return total == 0 ? 0 : followers.count() / total;
+    }
+  }
+}
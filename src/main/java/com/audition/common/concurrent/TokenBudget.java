@@ -0,0 +1,66 @@
+package com.audition.common.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that caps optional extra work (hedges, retries) at a fraction of regular work.
+ *
+ * <p>Every regular call deposits {@code ratio} of a token, up to {@code maxTokens}; every extra
+ * call must withdraw a whole token. Over time extra calls therefore cannot exceed
+ * {@code ratio} times the regular call rate, plus a burst of {@code maxTokens}.
+ */
+public class TokenBudget {
+
+  private static final long SCALE = 1000;
+
+  private final long depositPerCall;
+  private final long capacity;
+  private final AtomicLong balance;
+
+  /**
+   * Constructor for TokenBudget. The bucket starts full.
+   *
+   * @param ratio     fraction of a token deposited per regular call
+   * @param maxTokens bucket capacity in whole tokens
+   */
+  public TokenBudget(final double ratio, final int maxTokens) {
+    if (ratio < 0 || maxTokens < 0) {
+      throw new IllegalArgumentException("Ratio and capacity must not be negative");
+    }
+    this.depositPerCall = Math.round(ratio * SCALE);
+    this.capacity = maxTokens * SCALE;
+    this.balance = new AtomicLong(capacity);
+  }
+
+  /**
+   * Credits the budget for one regular call.
+   */
+  public void deposit() {
+    balance.accumulateAndGet(depositPerCall, (current, amount) -> Math.min(capacity,
+        current + amount));
+  }
+
+  /**
+   * Withdraws one token if available.
+   *
+   * @return whether the extra call may proceed
+   */
+  public boolean tryWithdraw() {
+    while (true) {
+      final long current = balance.get();
+      if (current < SCALE) {
+        return false;
+      }
+      if (balance.compareAndSet(current, current - SCALE)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of whole and fractional tokens available.
+   */
+  public double available() {
+    return balance.get() / (double) SCALE;
+  }
+}
@@ -0,0 +1,31 @@
+package com.audition.common.exception;
+
+/**
+ * Raised when a request's deadline passes before its upstream work could complete.
+ */
+public class DeadlineExceededException extends SystemException {
+
+  public static final long serialVersionUID = 3165204962514393447L;
+
+  /** Title of the problem returned to the caller. */
+  public static final String GATEWAY_TIMEOUT = "Gateway Timeout";
+
+  /**
+   * Constructor with detail.
+   *
+   * @param detail what could not be completed in time
+   */
+  public DeadlineExceededException(final String detail) {
+    super(detail, GATEWAY_TIMEOUT, 504);
+  }
+
+  /**
+   * Constructor with detail and cause.
+   *
+   * @param detail    what could not be completed in time
+   * @param exception the timeout that ended the upstream call
+   */
+  public DeadlineExceededException(final String detail, final Throwable exception) {
+    super(detail, GATEWAY_TIMEOUT, 504, exception);
+  }
+}
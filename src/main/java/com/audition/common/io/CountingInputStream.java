@@ -0,0 +1,59 @@
+package com.audition.common.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that passes bytes through untouched and counts them.
+ */
+public class CountingInputStream extends FilterInputStream {
+
+  private long count;
+
+  /**
+   * Constructor for CountingInputStream.
+   *
+   * @param in the stream to count
+   */
+  public CountingInputStream(final InputStream in) {
+    super(in);
+  }
+
+  @Override
+  public int read() throws IOException {
+    final int b = super.read();
+    if (b >= 0) {
+      count++;
+    }
+    return b;
+  }
+
+  @Override
+  public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+    final int read = super.read(buffer, offset, length);
+    if (read > 0) {
+      count += read;
+    }
+    return read;
+  }
+
+  @Override
+  public long skip(final long n) throws IOException {
+    final long skipped = super.skip(n);
+    count += skipped;
+    return skipped;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  /**
+   * Returns the number of bytes read or skipped so far.
+   */
+  public long getCount() {
+    return count;
+  }
+}
@@ -0,0 +1,134 @@
+package com.audition.common.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads a top-level JSON array element by element with Jackson's token parser.
+ *
+ * <p>Each object's tokens are copied into a small {@link TokenBuffer} while its integer fields
+ * are checked against the required values. An element is only bound to {@code T} once it has
+ * matched; on the first mismatching field the rest of the object is skipped without being
+ * buffered. Null and scalar elements are skipped, as they cannot bind to an object. Reading stops
+ * as soon as {@code limit} elements have matched.
+ */
+public final class JsonArrayStreamReader {
+
+  /** Limit meaning every matching element should be returned. */
+  public static final int UNLIMITED = Integer.MAX_VALUE;
+
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Constructor for JsonArrayStreamReader.
+   *
+   * @param objectMapper mapper used to bind matching elements
+   */
+  public JsonArrayStreamReader(final ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Reads every element of the array in {@code body}.
+   *
+   * @param body the JSON body
+   * @param type element type
+   * @param <T>  element type
+   * @return the elements in document order
+   * @throws IOException if the body cannot be read or is not an array
+   */
+  public <T> List<T> read(final InputStream body, final Class<T> type) throws IOException {
+    return read(body, type, Map.of(), UNLIMITED);
+  }
+
+  /**
+   * Reads the elements of the array in {@code body} whose integer fields equal
+   * {@code requiredFields}.
+   *
+   * <p>A required field missing from an element is treated as {@code 0}, the value it would bind
+   * to on a primitive {@code int} property.
+   *
+   * @param body           the JSON body
+   * @param type           element type
+   * @param requiredFields field name to required integer value; empty matches everything
+   * @param limit          stop after this many matches
+   * @param <T>            element type
+   * @return matching elements in document order
+   * @throws IOException if the body cannot be read, is not an array, or nests arrays
+   */
+  public <T> List<T> read(final InputStream body, final Class<T> type,
+      final Map<String, Integer> requiredFields, final int limit) throws IOException {
+    final List<T> matches = new ArrayList<>();
+    try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+      final JsonToken first = parser.nextToken();
+      if (first == null || first == JsonToken.VALUE_NULL) {
+        return matches;
+      }
+      if (first != JsonToken.START_ARRAY) {
+        throw new IOException("Expected a JSON array but found " + first);
+      }
+      while (matches.size() < limit) {
+        final JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+          break;
+        }
+        if (token == JsonToken.START_OBJECT) {
+          final TokenBuffer element = readIfMatching(parser, requiredFields);
+          if (element != null) {
+            try (JsonParser elementParser = element.asParser(objectMapper)) {
+              matches.add(objectMapper.readValue(elementParser, type));
+            }
+          }
+        } else if (token == null || !token.isScalarValue()) {
+          throw new IOException("Unexpected " + token + " in a JSON array of objects");
+        }
+      }
+    }
+    return matches;
+  }
+
+  private TokenBuffer readIfMatching(final JsonParser parser,
+      final Map<String, Integer> requiredFields) throws IOException {
+    final TokenBuffer element = new TokenBuffer(parser);
+    element.writeStartObject();
+    final Set<String> seen = requiredFields.isEmpty() ? Set.of() : new HashSet<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String field = parser.currentName();
+      final JsonToken value = parser.nextToken();
+      final Integer required = requiredFields.get(field);
+      if (required != null) {
+        if (!value.isScalarValue() || parser.getValueAsInt(0) != required) {
+          skipRest(parser);
+          return null;
+        }
+        seen.add(field);
+      }
+      element.writeFieldName(field);
+      element.copyCurrentStructure(parser);
+    }
+    for (final Map.Entry<String, Integer> entry : requiredFields.entrySet()) {
+      if (entry.getValue() != 0 && !seen.contains(entry.getKey())) {
+        return null;
+      }
+    }
+    element.writeEndObject();
+    return element;
+  }
+
+  private static void skipRest(final JsonParser parser) throws IOException {
+    parser.skipChildren();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      parser.nextToken();
+      parser.skipChildren();
+    }
+  }
+}
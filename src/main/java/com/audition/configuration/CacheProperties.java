@@ -0,0 +1,180 @@
+package com.audition.configuration;
+
+import com.audition.common.cache.StaleWhileRevalidateCache;
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Typed configuration for the in-memory upstream snapshots.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.cache")
+public class CacheProperties {
+
+  /**
+   * Snapshot of the full /posts collection.
+   */
+  private final Snapshot posts = new Snapshot();
+
+  /**
+   * Snapshot of the full /comments collection, partitioned by postId. Off unless enabled.
+   */
+  private final Snapshot comments = new Snapshot(false);
+
+  /**
+   * Short-circuiting of single-post lookups for ids known not to exist.
+   */
+  private final MissingPosts missingPosts = new MissingPosts();
+
+  /**
+   * Encoded JSON bodies of hot GET responses, reused while the posts snapshot is unchanged.
+   */
+  private final Responses responses = new Responses();
+
+  /**
+   * Strong ETags derived from the snapshot version behind a response.
+   */
+  private final EntityTags etags = new EntityTags();
+
+  /**
+   * On-disk copy of the snapshots, restored at startup. Off unless enabled.
+   */
+  private final Persistence persistence = new Persistence();
+
+  /**
+   * Stale-while-revalidate settings for one snapshot.
+   */
+  @Getter
+  @Setter
+  public static class Snapshot {
+
+    /**
+     * Serve from the snapshot instead of calling the upstream on every request.
+     */
+    private boolean enabled;
+
+    /**
+     * How long a snapshot is considered fresh.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * How long past the TTL a stale snapshot is served while a background refresh runs.
+     */
+    private Duration staleWhileRevalidate = Duration.ofMinutes(5);
+
+    /**
+     * How long past the TTL a stale snapshot is served when the upstream is failing.
+     */
+    private Duration staleIfError = Duration.ofMinutes(30);
+
+    /**
+     * Constructor for an enabled Snapshot.
+     */
+    public Snapshot() {
+      this(true);
+    }
+
+    /**
+     * Constructor for Snapshot.
+     *
+     * @param enabled whether the snapshot is used by default
+     */
+    public Snapshot(final boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    /**
+     * Returns these settings as a cache policy.
+     */
+    public StaleWhileRevalidateCache.Policy toPolicy() {
+      return new StaleWhileRevalidateCache.Policy(ttl, staleWhileRevalidate, staleIfError);
+    }
+  }
+
+  /**
+   * Settings for answering lookups of unknown post ids without an upstream call.
+   */
+  @Getter
+  @Setter
+  public static class MissingPosts {
+
+    /**
+     * Remember upstream 404s and reject ids absent from a fresh posts snapshot.
+     */
+    private boolean enabled;
+
+    /**
+     * How long an upstream 404 is remembered.
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * Most missing ids remembered at once; the oldest are dropped first.
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * Also reject ids absent from the id bitmap of a fresh posts snapshot.
+     */
+    private boolean idFilter = true;
+  }
+
+  /**
+   * Settings for the pre-serialized response cache.
+   */
+  @Getter
+  @Setter
+  public static class Responses {
+
+    /**
+     * Write cached JSON bytes instead of serializing snapshot-backed responses again.
+     */
+    private boolean enabled;
+
+    /**
+     * Most distinct requests whose bodies are kept at once; the least recently used is dropped.
+     */
+    private int maxEntries = 64;
+  }
+
+  /**
+   * Settings for snapshot-derived ETags.
+   */
+  @Getter
+  @Setter
+  public static class EntityTags {
+
+    /**
+     * Tag snapshot-backed responses and answer matching If-None-Match requests with 304.
+     */
+    private boolean enabled;
+  }
+
+  /**
+   * Settings for the on-disk snapshot file.
+   */
+  @Getter
+  @Setter
+  public static class Persistence {
+
+    /**
+     * Write each new snapshot to disk and serve the file's contents at startup.
+     */
+    private boolean enabled;
+
+    /**
+     * Snapshot file; written through a temporary file in the same directory.
+     */
+    private Path file = Path.of("data", "audition-snapshot.bin");
+
+    /**
+     * Oldest snapshot section restored at startup, by the time that section was written.
+     */
+    private Duration maxAge = Duration.ofDays(1);
+  }
+}
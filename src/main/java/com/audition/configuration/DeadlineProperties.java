@@ -0,0 +1,35 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Typed configuration for inbound request deadlines.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.deadline")
+public class DeadlineProperties {
+
+  /**
+   * Bound each request by a deadline that upstream calls inherit.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Request header carrying the caller's remaining budget in milliseconds.
+   */
+  private String header = "X-Request-Timeout";
+
+  /**
+   * Budget for endpoints without their own default.
+   */
+  private Duration defaultTimeout = Duration.ofSeconds(10);
+
+  /**
+   * Upper bound for budgets requested through the header.
+   */
+  private Duration maxTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,85 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Typed configuration for the HTTP client engine used by the upstream RestTemplate.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.connection")
+public class HttpClientProperties {
+
+  /**
+   * Request factory backing the RestTemplate.
+   */
+  private Engine engine = Engine.POOLED;
+
+  /**
+   * Maximum number of pooled connections across all routes.
+   */
+  private int maxTotal = 200;
+
+  /**
+   * Maximum number of pooled connections per route (host and port).
+   */
+  private int maxPerRoute = 50;
+
+  /**
+   * Time allowed to establish a TCP connection.
+   */
+  private Duration connectTimeout = Duration.ofSeconds(5);
+
+  /**
+   * Socket read timeout while waiting for response data.
+   */
+  private Duration readTimeout = Duration.ofSeconds(5);
+
+  /**
+   * Time a caller may wait to lease a connection from the pool.
+   */
+  private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+  /**
+   * Idle connections older than this are evicted from the pool.
+   */
+  private Duration idleTimeout = Duration.ofSeconds(30);
+
+  /**
+   * Maximum lifetime of a pooled connection, regardless of activity.
+   */
+  private Duration timeToLive = Duration.ofMinutes(5);
+
+  /**
+   * Negotiate HTTP/2 (falling back to HTTP/1.1) on the reactive WebClient engine.
+   */
+  private boolean http2;
+
+  /**
+   * Ask the upstream for gzip or deflate responses and decompress them while decoding.
+   */
+  private boolean compression;
+
+  /**
+   * Maximum number of response body bytes captured by the logging interceptor at DEBUG.
+   */
+  private DataSize maxLoggedBodySize = DataSize.ofKilobytes(4);
+
+  /**
+   * Available request factory implementations.
+   */
+  public enum Engine {
+    /**
+     * JDK HttpURLConnection, one connection per request, no pool.
+     */
+    SIMPLE,
+    /**
+     * Apache HttpClient 5 with a pooled keep-alive connection manager.
+     */
+    POOLED
+  }
+}
@@ -0,0 +1,101 @@
+package com.audition.configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.http.config.RegistryBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Pooling connection manager that exports pool utilisation and lease wait time to Micrometer.
+ */
+public class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+  private static final String METRIC_PREFIX = "audition.http.client.pool";
+
+  private final Timer leaseWaitTimer;
+  private final AtomicLong lastLeaseWaitNanos = new AtomicLong();
+
+  /**
+   * Constructor for InstrumentedConnectionManager.
+   *
+   * @param timeToLive    maximum lifetime of a pooled connection
+   * @param meterRegistry registry receiving the pool gauges
+   */
+  public InstrumentedConnectionManager(final TimeValue timeToLive,
+      final MeterRegistry meterRegistry) {
+    super(RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .register("https", SSLConnectionSocketFactory.getSocketFactory())
+            .build(),
+        PoolConcurrencyPolicy.STRICT, PoolReusePolicy.LIFO, timeToLive);
+
+    Gauge.builder(METRIC_PREFIX + ".leased", this, m -> m.getTotalStats().getLeased())
+        .description("Connections currently leased from the pool")
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".available", this, m -> m.getTotalStats().getAvailable())
+        .description("Idle connections available for reuse")
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".pending", this, m -> m.getTotalStats().getPending())
+        .description("Callers waiting to lease a connection")
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".max", this, m -> m.getTotalStats().getMax())
+        .description("Maximum number of pooled connections")
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".utilisation", this, InstrumentedConnectionManager::utilisation)
+        .description("Leased connections as a fraction of the pool maximum")
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".wait.last", lastLeaseWaitNanos,
+            nanos -> nanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1))
+        .description("Wait time of the most recent connection lease")
+        .baseUnit("milliseconds")
+        .register(meterRegistry);
+    this.leaseWaitTimer = Timer.builder(METRIC_PREFIX + ".wait")
+        .description("Time spent waiting to lease a connection from the pool")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public LeaseRequest lease(final String id, final HttpRoute route, final Timeout requestTimeout,
+      final Object state) {
+    final LeaseRequest delegate = super.lease(id, route, requestTimeout, state);
+    return new LeaseRequest() {
+      @Override
+      public ConnectionEndpoint get(final Timeout timeout)
+          throws InterruptedException, ExecutionException, TimeoutException {
+        final long start = System.nanoTime();
+        try {
+          return delegate.get(timeout);
+        } finally {
+          final long waited = System.nanoTime() - start;
+          lastLeaseWaitNanos.set(waited);
+          leaseWaitTimer.record(waited, TimeUnit.NANOSECONDS);
+        }
+      }
+
+      @Override
+      public boolean cancel() {
+        return delegate.cancel();
+      }
+    };
+  }
+
+  private double utilisation() {
+    final var stats = getTotalStats();
+    return stats.getMax() == 0 ? 0 : stats.getLeased() / (double) stats.getMax();
+  }
+}
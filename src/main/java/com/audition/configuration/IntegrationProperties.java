@@ -0,0 +1,186 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Typed configuration for how AuditionService reaches the upstream API.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.integration")
+public class IntegrationProperties {
+
+  /**
+   * Client used for upstream calls.
+   */
+  private Engine engine = Engine.BLOCKING;
+
+  /**
+   * Coalesce identical concurrent upstream calls into a single in-flight request.
+   */
+  private boolean coalesce = true;
+
+  /**
+   * Decode filtered /posts responses element by element instead of binding the whole array.
+   */
+  private boolean streamingDecode;
+
+  /**
+   * Send userId and id filters to the upstream when no fresh snapshot can answer them.
+   */
+  private boolean filterPushdown;
+
+  /**
+   * Micro-batching of single-post lookups into multi-id upstream requests.
+   */
+  private final Batch batch = new Batch();
+
+  /**
+   * Hedging of single-post and comment reads against slow upstream responses.
+   */
+  private final Hedge hedge = new Hedge();
+
+  /**
+   * Parallel upstream lookups made on behalf of a single inbound request.
+   */
+  private final FanOut fanOut = new FanOut();
+
+  /**
+   * Conditional refetches of list responses using the upstream's ETag and Last-Modified.
+   */
+  private final Revalidation revalidation = new Revalidation();
+
+  /**
+   * Available upstream client implementations.
+   */
+  public enum Engine {
+    /**
+     * RestTemplate based AuditionIntegrationClient.
+     */
+    BLOCKING,
+    /**
+     * WebClient based ReactiveAuditionIntegrationClient running on the Netty event loop.
+     */
+    REACTIVE
+  }
+
+  /**
+   * Settings for the getPostById micro-batcher.
+   */
+  @Getter
+  @Setter
+  public static class Batch {
+
+    /**
+     * Hold getPostById calls and issue them as one /posts?id=..&id=.. request.
+     */
+    private boolean enabled;
+
+    /**
+     * How long the first request of a batch waits for others to join.
+     */
+    private Duration window = Duration.ofMillis(2);
+
+    /**
+     * A batch is flushed immediately once it holds this many distinct ids.
+     */
+    private int maxSize = 20;
+
+    /**
+     * Threads used to flush batches to the upstream.
+     */
+    private int flushThreads = 4;
+  }
+
+  /**
+   * Settings for hedged upstream reads.
+   */
+  @Getter
+  @Setter
+  public static class Hedge {
+
+    /**
+     * Send a second identical request when the first is slower than the hedge delay.
+     */
+    private boolean enabled;
+
+    /**
+     * Latency percentile of recent calls used as the hedge delay.
+     */
+    private double percentile = 0.95;
+
+    /**
+     * Lower bound for the hedge delay.
+     */
+    private Duration minDelay = Duration.ofMillis(10);
+
+    /**
+     * Upper bound for the hedge delay, also used until enough samples exist.
+     */
+    private Duration maxDelay = Duration.ofMillis(500);
+
+    /**
+     * Samples needed before the percentile is trusted.
+     */
+    private int minSamples = 20;
+
+    /**
+     * Recent latencies kept per operation.
+     */
+    private int windowSize = 256;
+
+    /**
+     * Maximum extra load from hedges as a fraction of hedgeable calls.
+     */
+    private double budgetRatio = 0.05;
+
+    /**
+     * Hedges that may be sent in a burst before the ratio applies.
+     */
+    private int budgetBurst = 10;
+
+    /**
+     * Threads running hedged attempts on the blocking engine; unused with virtual threads.
+     */
+    private int threads = 64;
+  }
+
+  /**
+   * Settings for lookups fanned out from one inbound request.
+   */
+  @Getter
+  @Setter
+  public static class FanOut {
+
+    /**
+     * Lookups of one request allowed in flight at the same time.
+     */
+    private int concurrency = 8;
+
+    /**
+     * Largest number of ids accepted by a batch lookup.
+     */
+    private int maxIds = 100;
+  }
+
+  /**
+   * Settings for conditional upstream GETs.
+   */
+  @Getter
+  @Setter
+  public static class Revalidation {
+
+    /**
+     * Keep validators with list responses and send If-None-Match / If-Modified-Since on refetch.
+     */
+    private boolean enabled;
+
+    /**
+     * Most responses kept for revalidation; the least recently used are dropped first.
+     */
+    private int maxEntries = 1024;
+  }
+}
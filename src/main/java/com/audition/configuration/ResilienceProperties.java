@@ -0,0 +1,178 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Typed configuration for the per-operation circuit breakers, bulkheads and adaptive
+ * concurrency limits guarding upstream calls.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.resilience")
+public class ResilienceProperties {
+
+  /**
+   * Guard upstream calls at all.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Circuit breaker applied to each upstream operation.
+   */
+  private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+  /**
+   * Semaphore bulkhead applied to each upstream operation.
+   */
+  private final Bulkhead bulkhead = new Bulkhead();
+
+  /**
+   * Adaptive concurrency limit applied to each upstream operation.
+   */
+  private final Limiter limiter = new Limiter();
+
+  /**
+   * Retries of transient upstream failures.
+   */
+  private final Retry retry = new Retry();
+
+  /**
+   * Circuit breaker settings.
+   */
+  @Getter
+  @Setter
+  public static class CircuitBreaker {
+
+    /**
+     * Failure percentage in the sliding window that opens the circuit.
+     */
+    private float failureRateThreshold = 50;
+
+    /**
+     * Percentage of slow calls in the sliding window that opens the circuit.
+     */
+    private float slowCallRateThreshold = 80;
+
+    /**
+     * Calls slower than this count as slow.
+     */
+    private Duration slowCallDurationThreshold = Duration.ofSeconds(3);
+
+    /**
+     * Number of calls in the count-based sliding window.
+     */
+    private int slidingWindowSize = 50;
+
+    /**
+     * Calls needed before rates are evaluated.
+     */
+    private int minimumNumberOfCalls = 20;
+
+    /**
+     * How long the circuit stays open before probing.
+     */
+    private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+    /**
+     * Probe calls allowed while half-open.
+     */
+    private int permittedCallsInHalfOpenState = 5;
+  }
+
+  /**
+   * Semaphore bulkhead settings.
+   */
+  @Getter
+  @Setter
+  public static class Bulkhead {
+
+    /**
+     * Concurrent calls allowed per operation.
+     */
+    private int maxConcurrentCalls = 50;
+
+    /**
+     * How long a call may wait for a permit before failing.
+     */
+    private Duration maxWaitDuration = Duration.ZERO;
+  }
+
+  /**
+   * Additive-increase / multiplicative-decrease concurrency limit settings.
+   */
+  @Getter
+  @Setter
+  public static class Limiter {
+
+    /**
+     * Apply the adaptive limit on top of the static bulkhead.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Limit before any samples have been taken.
+     */
+    private int initialLimit = 20;
+
+    /**
+     * Floor the limit never shrinks below.
+     */
+    private int minLimit = 4;
+
+    /**
+     * Ceiling the limit never grows above.
+     */
+    private int maxLimit = 50;
+
+    /**
+     * Factor applied to the limit when a call fails or is slower than the latency threshold.
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * Calls slower than this shrink the limit.
+     */
+    private Duration latencyThreshold = Duration.ofSeconds(1);
+  }
+
+  /**
+   * Retry settings for idempotent upstream reads.
+   */
+  @Getter
+  @Setter
+  public static class Retry {
+
+    /**
+     * Retry connect/reset failures and 502, 503 and 504 responses.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Attempts per call including the first one.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Backoff cap for the first retry; doubled for each further retry.
+     */
+    private Duration baseDelay = Duration.ofMillis(50);
+
+    /**
+     * Upper bound for any backoff.
+     */
+    private Duration maxDelay = Duration.ofSeconds(1);
+
+    /**
+     * Retries allowed as a fraction of first attempts, shared by all operations.
+     */
+    private double budgetRatio = 0.1;
+
+    /**
+     * Retries that may be sent in a burst before the ratio applies.
+     */
+    private int budgetBurst = 10;
+  }
+}
@@ -1,39 +1,118 @@
 package com.audition.configuration;
 
+import com.audition.common.concurrent.Deadline;
+import com.audition.common.concurrent.DeadlineContext;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.interceptor.CompressionInterceptor;
+import com.audition.interceptor.DeadlineInterceptor;
 import com.audition.interceptor.LoggingInterceptor;
+import com.audition.interceptor.SnapshotETagInterceptor;
+import com.audition.model.json.ModelJsonModule;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import lombok.Getter;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.function.Resolver;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.BufferingClientHttpRequestFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 /**
  * Configuration class for web services.
  */
 @Configuration
+@EnableConfigurationProperties({HttpClientProperties.class, IntegrationProperties.class,
+    CacheProperties.class, ResilienceProperties.class, DeadlineProperties.class})
 @Getter
 public class WebServiceConfiguration implements WebMvcConfigurer {
 
   private static final String YEAR_MONTH_DAY_PATTERN = "yyyy-MM-dd";
+  private static final int MAX_IN_MEMORY_SIZE = 16 * 1024 * 1024;
 
   /**
    * List of interceptors.
    */
   List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
 
+  /**
+   * Starts the deadline of each inbound request; absent outside a web context.
+   */
+  private DeadlineInterceptor deadlineInterceptor;
+
+  /**
+   * Answers conditional requests from snapshot versions; resolved lazily because it depends on
+   * the snapshot caches, which in turn need the beans declared here.
+   */
+  private ObjectProvider<SnapshotETagInterceptor> snapshotETagInterceptor;
+
+  /**
+   * Set the interceptor that starts inbound request deadlines.
+   */
+  @Autowired(required = false)
+  public void setDeadlineInterceptor(DeadlineInterceptor deadlineInterceptor) {
+    this.deadlineInterceptor = deadlineInterceptor;
+  }
+
+  /**
+   * Set the interceptor that answers conditional requests from snapshot versions.
+   */
+  @Autowired
+  public void setSnapshotETagInterceptor(
+      ObjectProvider<SnapshotETagInterceptor> snapshotETagInterceptor) {
+    this.snapshotETagInterceptor = snapshotETagInterceptor;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    if (deadlineInterceptor != null) {
+      registry.addInterceptor(deadlineInterceptor);
+    }
+    if (snapshotETagInterceptor != null) {
+      snapshotETagInterceptor.ifAvailable(registry::addInterceptor);
+    }
+  }
+
   /**
    * Create a bean for MappingJackson2HttpMessageConverter.
    */
@@ -67,6 +146,7 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
         JsonInclude.Include.NON_EMPTY); // 4. Exclude null & empty values
     objectMapper.disable(
         SerializationFeature.WRITE_DATES_AS_TIMESTAMPS); // 5. Prevent timestamp writing
+    objectMapper.registerModule(new ModelJsonModule()); // Non-reflective model codecs
     return objectMapper;
   }
 
@@ -75,21 +155,205 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
    */
   @Bean
   public RestTemplate restTemplate(
-      MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter) {
-    final RestTemplate restTemplate = new RestTemplate(
-        new BufferingClientHttpRequestFactory(createClientFactory()));
+      MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter,
+      ClientHttpRequestFactory upstreamRequestFactory, HttpClientProperties properties,
+      MeterRegistry meterRegistry) {
+    // No BufferingClientHttpRequestFactory: response bodies are decoded straight from the
+    // socket stream and LoggingInterceptor only tees a bounded prefix when DEBUG is enabled.
+    final RestTemplate restTemplate = new RestTemplate(upstreamRequestFactory);
     // DONE use object mapper
     // DONE create a logging interceptor that logs request/response for rest template calls.
 
     restTemplate.getMessageConverters().add(0, mappingJackson2HttpMessageConverter);
-    interceptors.add(new LoggingInterceptor());
+    interceptors.add(
+        new LoggingInterceptor((int) properties.getMaxLoggedBodySize().toBytes()));
+    if (properties.isCompression()) {
+      // Added after the logger so it sits nearer the wire and the logger sees decoded text.
+      interceptors.add(new CompressionInterceptor(meterRegistry));
+    }
     restTemplate.setInterceptors(interceptors);
     return restTemplate;
   }
 
-  private SimpleClientHttpRequestFactory createClientFactory() {
-    final SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-    requestFactory.setOutputStreaming(false);
+  /**
+   * Create the request factory (client engine) used by the upstream RestTemplate.
+   */
+  @Bean
+  public ClientHttpRequestFactory upstreamRequestFactory(HttpClientProperties properties,
+      MeterRegistry meterRegistry) {
+    if (properties.getEngine() == HttpClientProperties.Engine.SIMPLE) {
+      return createSimpleClientFactory(properties);
+    }
+    final RequestConfig requestConfig = createRequestConfig(properties);
+    return new DeadlineBoundHttpComponentsRequestFactory(
+        createPooledHttpClient(properties, requestConfig, meterRegistry), requestConfig);
+  }
+
+  /**
+   * Create a bean for the non-blocking upstream WebClient, sharing the configured ObjectMapper.
+   */
+  @Bean
+  public WebClient upstreamWebClient(ObjectMapper objectMapper, HttpClientProperties properties) {
+    final ConnectionProvider connectionProvider = ConnectionProvider.builder("audition-upstream")
+        .maxConnections(properties.getMaxTotal())
+        .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+        .maxIdleTime(properties.getIdleTimeout())
+        .maxLifeTime(properties.getTimeToLive())
+        .evictInBackground(properties.getIdleTimeout())
+        .build();
+    HttpClient httpClient = HttpClient.create(connectionProvider)
+        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+            (int) properties.getConnectTimeout().toMillis())
+        .responseTimeout(properties.getReadTimeout())
+        .compress(properties.isCompression());
+    if (properties.isHttp2()) {
+      httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+    }
+
+    final ExchangeStrategies strategies = ExchangeStrategies.builder()
+        .codecs(codecs -> {
+          codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+          codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+          codecs.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE);
+        })
+        .build();
+
+    return WebClient.builder()
+        .baseUrl(AuditionIntegrationClient.BASE_URL)
+        .clientConnector(new ReactorClientHttpConnector(httpClient))
+        .exchangeStrategies(strategies)
+        .build();
+  }
+
+  private SimpleClientHttpRequestFactory createSimpleClientFactory(
+      HttpClientProperties properties) {
+    final SimpleClientHttpRequestFactory requestFactory = new DeadlineBoundSimpleRequestFactory();
+    requestFactory.setConnectTimeout((int) properties.getConnectTimeout().toMillis());
+    requestFactory.setReadTimeout((int) properties.getReadTimeout().toMillis());
     return requestFactory;
   }
+
+  private CloseableHttpClient createPooledHttpClient(HttpClientProperties properties,
+      RequestConfig requestConfig, MeterRegistry meterRegistry) {
+    final InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager(
+        TimeValue.ofMilliseconds(properties.getTimeToLive().toMillis()), meterRegistry);
+    connectionManager.setMaxTotal(properties.getMaxTotal());
+    connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+    connectionManager.setDefaultSocketConfig(SocketConfig.custom()
+        .setSoKeepAlive(true)
+        .setSoTimeout(Timeout.ofMilliseconds(properties.getReadTimeout().toMillis()))
+        .build());
+    connectionManager.setConnectionConfigResolver(new DeadlineBoundConnectionConfigResolver(
+        ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeout().toMillis()))
+            .build()));
+
+    final HttpClientBuilder builder = HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(requestConfig)
+        .evictExpiredConnections()
+        .evictIdleConnections(TimeValue.ofMilliseconds(properties.getIdleTimeout().toMillis()));
+    if (properties.isCompression()) {
+      // CompressionInterceptor negotiates and decodes for both engines and counts the bytes.
+      builder.disableContentCompression();
+    }
+    return builder.build();
+  }
+
+  private static RequestConfig createRequestConfig(HttpClientProperties properties) {
+    // The connect timeout is a ConnectionConfig setting of the pool since HttpClient 5.2.
+    return RequestConfig.custom()
+        .setResponseTimeout(Timeout.ofMilliseconds(properties.getReadTimeout().toMillis()))
+        .setConnectionRequestTimeout(
+            Timeout.ofMilliseconds(properties.getConnectionRequestTimeout().toMillis()))
+        .build();
+  }
+
+  /**
+   * Returns the configured timeout capped at the remaining request budget; never zero, since
+   * both engines treat zero as "no timeout".
+   */
+  private static long boundedMillis(Deadline deadline, long configuredMillis) {
+    return Math.max(1, Math.min(configuredMillis, deadline.remaining().toMillis()));
+  }
+
+  private static Timeout bounded(Deadline deadline, Timeout configured) {
+    return Timeout.ofMilliseconds(boundedMillis(deadline, configured.toMilliseconds()));
+  }
+
+  /**
+   * Apache HttpClient factory that shortens each request's response and connection-request
+   * timeouts to the calling request's remaining deadline; the connect timeout is capped by
+   * {@link DeadlineBoundConnectionConfigResolver}.
+   */
+  static final class DeadlineBoundHttpComponentsRequestFactory
+      extends HttpComponentsClientHttpRequestFactory {
+
+    private final RequestConfig defaults;
+
+    DeadlineBoundHttpComponentsRequestFactory(CloseableHttpClient httpClient,
+        RequestConfig defaults) {
+      super(httpClient);
+      this.defaults = defaults;
+    }
+
+    @Override
+    protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+      final Deadline deadline = DeadlineContext.current();
+      if (deadline == null) {
+        return super.createHttpContext(httpMethod, uri);
+      }
+      final HttpClientContext context = HttpClientContext.create();
+      context.setRequestConfig(RequestConfig.copy(defaults)
+          .setConnectionRequestTimeout(bounded(deadline, defaults.getConnectionRequestTimeout()))
+          .setResponseTimeout(bounded(deadline, defaults.getResponseTimeout()))
+          .build());
+      return context;
+    }
+  }
+
+  /**
+   * Resolves the pool's connection settings for each connect, shortening the connect timeout to
+   * the calling request's remaining deadline. The classic client leases and connects on the
+   * calling thread, so the deadline bound there is that request's.
+   */
+  static final class DeadlineBoundConnectionConfigResolver
+      implements Resolver<HttpRoute, ConnectionConfig> {
+
+    private final ConnectionConfig defaults;
+
+    DeadlineBoundConnectionConfigResolver(ConnectionConfig defaults) {
+      this.defaults = defaults;
+    }
+
+    @Override
+    public ConnectionConfig resolve(HttpRoute route) {
+      final Deadline deadline = DeadlineContext.current();
+      if (deadline == null) {
+        return defaults;
+      }
+      return ConnectionConfig.copy(defaults)
+          .setConnectTimeout(bounded(deadline, defaults.getConnectTimeout()))
+          .build();
+    }
+  }
+
+  /**
+   * HttpURLConnection factory that shortens each request's timeouts to the calling request's
+   * remaining deadline.
+   */
+  static final class DeadlineBoundSimpleRequestFactory extends SimpleClientHttpRequestFactory {
+
+    @Override
+    protected void prepareConnection(HttpURLConnection connection, String httpMethod)
+        throws IOException {
+      super.prepareConnection(connection, httpMethod);
+      final Deadline deadline = DeadlineContext.current();
+      if (deadline != null) {
+        connection.setConnectTimeout(
+            (int) boundedMillis(deadline, connection.getConnectTimeout()));
+        connection.setReadTimeout((int) boundedMillis(deadline, connection.getReadTimeout()));
+      }
+    }
+  }
 }
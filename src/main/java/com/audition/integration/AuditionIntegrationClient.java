@@ -1,15 +1,27 @@
 package com.audition.integration;
 
+import com.audition.common.concurrent.DeadlineContext;
+import com.audition.common.exception.DeadlineExceededException;
 import com.audition.common.exception.SystemException;
+import com.audition.common.io.CountingInputStream;
+import com.audition.common.json.JsonArrayStreamReader;
 import com.audition.model.AuditionPost;
 import com.audition.model.Comment;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.constraints.NotNull;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
@@ -28,19 +40,31 @@ public class AuditionIntegrationClient {
   /** Endpoint for fetching comments. */
   public static final String COMMENTS_ENDPOINT = "/comments";
   /** Base URL for JSONPlaceholder API. */
-  private static final String BASE_URL = "https://jsonplaceholder.typicode.com";
+  public static final String BASE_URL = "https://jsonplaceholder.typicode.com";
   /** Endpoint for fetching posts. */
-  private static final String POSTS_ENDPOINT = "/posts";
+  public static final String POSTS_ENDPOINT = "/posts";
   /** RestTemplate for making HTTP requests. */
   private final RestTemplate restTemplate;
+  /** Token-level reader for streamed array responses. */
+  private final JsonArrayStreamReader jsonArrayStreamReader;
+  /** Mapper used for conditionally fetched responses. */
+  private final ObjectMapper objectMapper;
+  /** Stored responses and validators for conditional refetches. */
+  private final ConditionalGetCache conditionalGetCache;
 
   /**
-   * Constructor to inject RestTemplate dependency.
+   * Constructor to inject RestTemplate, ObjectMapper and conditional GET dependencies.
    *
-   * @param restTemplate the RestTemplate instance
+   * @param restTemplate        the RestTemplate instance
+   * @param objectMapper        the mapper used for streamed and conditional decoding
+   * @param conditionalGetCache stored responses and validators for conditional refetches
    */
-  public AuditionIntegrationClient(RestTemplate restTemplate) {
+  public AuditionIntegrationClient(RestTemplate restTemplate, ObjectMapper objectMapper,
+      ConditionalGetCache conditionalGetCache) {
     this.restTemplate = restTemplate;
+    this.jsonArrayStreamReader = new JsonArrayStreamReader(objectMapper);
+    this.objectMapper = objectMapper;
+    this.conditionalGetCache = conditionalGetCache;
   }
 
   /**
@@ -50,23 +74,95 @@ public class AuditionIntegrationClient {
    */
   public List<AuditionPost> getPosts() {
     // DONE make RestTemplate call to get Posts from https://jsonplaceholder.typicode.com/posts
+    ensureBudget("posts");
     try {
       String url = BASE_URL + POSTS_ENDPOINT;
       log.debug("Fetching all posts from {}", url);
 
-      AuditionPost[] posts = restTemplate.getForObject(url, AuditionPost[].class);
-      return posts == null ? Collections.emptyList() : Arrays.asList(posts);
+      return getList(url, AuditionPost[].class, UpstreamOperation.POSTS);
     } catch (HttpClientErrorException e) {
       log.error("Client Error fetching posts", e);
       throw new SystemException("Error fetching posts", "Client Error", e.getStatusCode().value(),
           e);
     } catch (RestClientException e) {
+      throwIfDeadlineExceeded("posts", e);
       log.error("Unexpected error fetching posts", e);
       throw new SystemException("Failed to retrieve posts", INTEGRATION_ERROR,
           HttpStatus.INTERNAL_SERVER_ERROR.value(), e);
     }
   }
 
+  /**
+   * Fetches the posts matching the optional filters, decoding the upstream array element by
+   * element so non-matching posts are never bound. With an id filter, decoding stops at the
+   * first match.
+   *
+   * @param userId optional author id
+   * @param id     optional post id
+   * @return matching posts in upstream order
+   */
+  public List<AuditionPost> streamPosts(final Integer userId, final Integer id) {
+    final Map<String, Integer> requiredFields = new LinkedHashMap<>();
+    if (id != null) {
+      requiredFields.put("id", id);
+    }
+    if (userId != null) {
+      requiredFields.put("userId", userId);
+    }
+    final int limit = id == null ? JsonArrayStreamReader.UNLIMITED : 1;
+    ensureBudget("posts");
+    try {
+      String url = BASE_URL + POSTS_ENDPOINT;
+      log.debug("Streaming posts from {} with filters {}", url, requiredFields);
+
+      List<AuditionPost> posts = restTemplate.execute(url, HttpMethod.GET,
+          request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+          response -> jsonArrayStreamReader.read(response.getBody(), AuditionPost.class,
+              requiredFields, limit));
+      return posts == null ? Collections.emptyList() : posts;
+    } catch (HttpClientErrorException e) {
+      log.error("Client Error streaming posts", e);
+      throw new SystemException("Error fetching posts", "Client Error", e.getStatusCode().value(),
+          e);
+    } catch (RestClientException e) {
+      throwIfDeadlineExceeded("posts", e);
+      log.error("Unexpected error streaming posts", e);
+      throw new SystemException("Failed to retrieve posts", INTEGRATION_ERROR,
+          HttpStatus.INTERNAL_SERVER_ERROR.value(), e);
+    }
+  }
+
+  /**
+   * Fetches the posts matching the optional filters, letting the upstream apply them as
+   * {@code userId} and {@code id} query parameters.
+   *
+   * @param userId optional author id
+   * @param id     optional post id
+   * @return matching posts in upstream order
+   */
+  public List<AuditionPost> getPostsFiltered(final Integer userId, final Integer id) {
+    ensureBudget("posts");
+    try {
+      String url = UriComponentsBuilder.fromHttpUrl(BASE_URL + POSTS_ENDPOINT)
+          .queryParamIfPresent("userId", Optional.ofNullable(userId))
+          .queryParamIfPresent("id", Optional.ofNullable(id))
+          .toUriString();
+      log.debug("Fetching filtered posts from {}", url);
+
+      AuditionPost[] posts = restTemplate.getForObject(url, AuditionPost[].class);
+      return posts == null ? Collections.emptyList() : Arrays.asList(posts);
+    } catch (HttpClientErrorException e) {
+      log.error("Client Error fetching filtered posts", e);
+      throw new SystemException("Error fetching posts", "Client Error", e.getStatusCode().value(),
+          e);
+    } catch (RestClientException e) {
+      throwIfDeadlineExceeded("posts", e);
+      log.error("Unexpected error fetching filtered posts", e);
+      throw new SystemException("Failed to retrieve posts", INTEGRATION_ERROR,
+          HttpStatus.INTERNAL_SERVER_ERROR.value(), e);
+    }
+  }
+
   /**
    * Fetches a post by its ID.
    *
@@ -77,24 +173,95 @@ public class AuditionIntegrationClient {
     // DONE get post by post ID call from https://jsonplaceholder.typicode.com/posts/
     String url = BASE_URL + POSTS_ENDPOINT + "/" + id;
     log.debug("Fetching post with id: {} from {}", id, url);
+    ensureBudget("post " + id);
     try {
       var post = restTemplate.getForObject(url, AuditionPost.class);
       return post == null ? new AuditionPost() : post;
     } catch (final HttpClientErrorException e) {
-      log.error("Error getting post by id: {}", id, e);
       if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+        // Unknown ids are routine (and bots probe for them); no stack trace at error level.
+        log.debug("Post not found upstream: {}", id);
         throw new SystemException("Cannot find a Post with id " + id, "Resource Not Found", 404, e);
       } else {
+        log.error("Error getting post by id: {}", id, e);
         throw new SystemException("Error while fetching post with id " + id, e.getStatusText(),
             e.getStatusCode().value(), e);
       }
     } catch (RestClientException e) {
+      throwIfDeadlineExceeded("post " + id, e);
       log.error("Unexpected error getting post by id: {}", id, e);
       throw new SystemException("Failed to retrieve post with id " + id,
           INTEGRATION_ERROR, HttpStatus.INTERNAL_SERVER_ERROR.value(), e);
     }
   }
 
+  /**
+   * Fetches several posts in one round trip using repeated {@code id} query parameters.
+   *
+   * @param ids the IDs of the posts
+   * @return the posts that exist, in upstream order; missing IDs are simply absent
+   */
+  public List<AuditionPost> getPostsByIds(final Collection<Integer> ids) {
+    if (ids.isEmpty()) {
+      return Collections.emptyList();
+    }
+    ensureBudget("posts " + ids);
+    try {
+      String url = UriComponentsBuilder.fromHttpUrl(BASE_URL + POSTS_ENDPOINT)
+          .queryParam("id", ids.toArray())
+          .toUriString();
+      log.debug("Fetching {} posts by id from {}", ids.size(), url);
+
+      AuditionPost[] posts = restTemplate.getForObject(url, AuditionPost[].class);
+      return posts == null ? Collections.emptyList() : Arrays.asList(posts);
+    } catch (HttpClientErrorException e) {
+      log.error("Client Error fetching posts by ids: {}", ids, e);
+      throw new SystemException("Error fetching posts", "Client Error", e.getStatusCode().value(),
+          e);
+    } catch (RestClientException e) {
+      throwIfDeadlineExceeded("posts " + ids, e);
+      log.error("Unexpected error fetching posts by ids: {}", ids, e);
+      throw new SystemException("Failed to retrieve posts", INTEGRATION_ERROR,
+          HttpStatus.INTERNAL_SERVER_ERROR.value(), e);
+    }
+  }
+
+  /**
+   * Fetches every comment from an external API.
+   *
+   * @return a list of comments
+   */
+  public List<Comment> getComments() {
+    ensureBudget("comments");
+    try {
+      String url = BASE_URL + COMMENTS_ENDPOINT;
+      log.debug("Fetching all comments from {}", url);
+
+      return getList(url, Comment[].class, UpstreamOperation.COMMENTS);
+    } catch (HttpClientErrorException e) {
+      log.error("Client Error fetching comments", e);
+      throw new SystemException("Error fetching comments", "Client Error",
+          e.getStatusCode().value(), e);
+    } catch (RestClientException e) {
+      throwIfDeadlineExceeded("comments", e);
+      log.error("Unexpected error fetching comments", e);
+      throw new SystemException("Failed to retrieve comments", INTEGRATION_ERROR,
+          HttpStatus.INTERNAL_SERVER_ERROR.value(), e);
+    }
+  }
+
+  /**
+   * Replaces the stored response of {@link #getComments()} with {@code compact}, so that the
+   * conditional GET cache holds the caller's compact copy instead of the decoded comments. A
+   * refetch answered with 304 then returns {@code compact}.
+   *
+   * @param decoded the list {@link #getComments()} returned
+   * @param compact an equivalent list to keep instead
+   */
+  public void replaceStoredComments(final List<Comment> decoded, final List<Comment> compact) {
+    conditionalGetCache.replaceBody(BASE_URL + COMMENTS_ENDPOINT, decoded, compact);
+  }
+
   // DONE Write a method GET comments for a post from
   // https://jsonplaceholder.typicode.com/posts/{postId}/comments - the comments must be returned as part of the post.
 
@@ -109,12 +276,12 @@ public class AuditionIntegrationClient {
    * @return a list of comments for the post
    */
   public List<Comment> getPostWithComments(@NotNull String postId) {
+    ensureBudget("comments for post " + postId);
     try {
       String url = BASE_URL + POSTS_ENDPOINT + "/" + postId + COMMENTS_ENDPOINT;
       log.debug("Fetching comments for post id: {} from {}", postId, url);
 
-      Comment[] comments = restTemplate.getForObject(url, Comment[].class);
-      return comments == null ? Collections.emptyList() : Arrays.asList(comments);
+      return getList(url, Comment[].class, UpstreamOperation.POST_COMMENTS);
 
     } catch (HttpClientErrorException e) {
       if (log.isErrorEnabled()) {
@@ -128,6 +295,7 @@ public class AuditionIntegrationClient {
       throw new SystemException("Error while fetching comments for post " + postId,
           e.getStatusText(), e.getStatusCode().value(), e);
     } catch (RestClientException e) {
+      throwIfDeadlineExceeded("comments for post " + postId, e);
       log.error("Unexpected error fetching comments for post id: {}", postId, e);
       throw new SystemException("Failed to retrieve comments for post " + postId,
           INTEGRATION_ERROR, HttpStatus.INTERNAL_SERVER_ERROR.value(), e);
@@ -141,6 +309,7 @@ public class AuditionIntegrationClient {
    * @return a list of comments for the post
    */
   public List<Comment> getCommentsByPostIdQueryParam(@NotNull String postId) {
+    ensureBudget("comments for post " + postId);
     try {
       /*
        * Addressing CVE-2024-22259.
@@ -152,8 +321,7 @@ public class AuditionIntegrationClient {
 
       log.debug("Fetching comments with query param for post id: {} from {}", postId, url);
 
-      Comment[] posts = restTemplate.getForObject(url, Comment[].class);
-      return posts == null ? Collections.emptyList() : Arrays.asList(posts);
+      return getList(url, Comment[].class, UpstreamOperation.COMMENTS_BY_QUERY);
     } catch (HttpClientErrorException e) {
       if (log.isErrorEnabled()) {
         log.error(
@@ -168,9 +336,62 @@ public class AuditionIntegrationClient {
           e.getStatusText(),
           e.getStatusCode().value(), e);
     } catch (RestClientException e) {
+      throwIfDeadlineExceeded("comments for post " + postId, e);
       log.error("Unexpected error fetching comments with query param for post id: {}", postId, e);
       throw new SystemException("Failed to retrieve comments for post " + postId, INTEGRATION_ERROR,
           HttpStatus.INTERNAL_SERVER_ERROR.value(), e);
     }
   }
+
+  /**
+   * Fetches a JSON array. With revalidation enabled, the validators of the stored response are
+   * sent along and a 304 is answered from the stored list, which is returned as the same
+   * instance so callers can tell nothing changed.
+   */
+  private <T> List<T> getList(final String url, final Class<T[]> type,
+      final UpstreamOperation operation) {
+    if (!conditionalGetCache.isEnabled()) {
+      T[] body = restTemplate.getForObject(url, type);
+      return body == null ? Collections.emptyList() : Arrays.asList(body);
+    }
+    final ConditionalGetCache.Entry<List<T>> cached = conditionalGetCache.get(url);
+    List<T> list = restTemplate.execute(url, HttpMethod.GET, request -> {
+      request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+      if (cached != null) {
+        cached.applyTo(request.getHeaders());
+      }
+    }, response -> {
+      if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+        return conditionalGetCache.notModified(operation, cached);
+      }
+      final CountingInputStream body = new CountingInputStream(response.getBody());
+      final T[] decoded;
+      try (JsonParser parser = objectMapper.createParser(body)) {
+        decoded = parser.nextToken() == null ? null : objectMapper.readValue(parser, type);
+      }
+      return conditionalGetCache.modified(operation, url, response.getHeaders(),
+          decoded == null ? Collections.emptyList() : Arrays.asList(decoded), body.getCount(),
+          cached != null);
+    });
+    return list == null ? Collections.emptyList() : list;
+  }
+
+  /**
+   * Rejects the call before any I/O when the calling request's deadline has already passed.
+   * The timeouts of calls that do go out are capped at the remaining budget by the request
+   * factory.
+   */
+  private static void ensureBudget(final String resource) {
+    if (DeadlineContext.isExpired()) {
+      throw new DeadlineExceededException("Deadline exceeded before fetching " + resource);
+    }
+  }
+
+  private static void throwIfDeadlineExceeded(final String resource,
+      final RestClientException e) {
+    if (DeadlineContext.isExpired()) {
+      log.warn("Deadline exceeded while fetching {}", resource);
+      throw new DeadlineExceededException("Deadline exceeded while fetching " + resource, e);
+    }
+  }
 }
@@ -0,0 +1,178 @@
+package com.audition.integration;
+
+import com.audition.configuration.IntegrationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded store of upstream responses with their ETag and Last-Modified validators, used to
+ * refetch them conditionally.
+ *
+ * <p>A 304 answers the refetch from the stored body, so an unchanged resource costs a round trip
+ * but no payload. Conditional refetches are counted per operation by result, which gives the
+ * revalidation hit rate, and the payload bytes each 304 avoided are counted as saved.
+ */
+@Component
+public class ConditionalGetCache {
+
+  private static final String METRIC_NAME = "audition.upstream.revalidation";
+  private static final String OPERATION_TAG = "operation";
+
+  private final boolean enabled;
+  private final Map<String, Entry<?>> entries;
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Constructor for ConditionalGetCache.
+   *
+   * @param integrationProperties revalidation settings
+   * @param meterRegistry         registry receiving the revalidation metrics
+   */
+  public ConditionalGetCache(final IntegrationProperties integrationProperties,
+      final MeterRegistry meterRegistry) {
+    final IntegrationProperties.Revalidation settings = integrationProperties.getRevalidation();
+    final int maxEntries = settings.getMaxEntries();
+    this.enabled = settings.isEnabled() && maxEntries > 0;
+    this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, Entry<?>> eldest) {
+        return size() > maxEntries;
+      }
+    });
+    this.meterRegistry = meterRegistry;
+    Gauge.builder(METRIC_NAME + ".entries", entries, Map::size)
+        .description("Upstream responses held for conditional refetch")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns a cache that keeps nothing, for clients built without one.
+   */
+  public static ConditionalGetCache disabled() {
+    return new ConditionalGetCache(new IntegrationProperties(), new SimpleMeterRegistry());
+  }
+
+  /**
+   * Returns whether responses should be kept and refetched conditionally.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the stored response for {@code url}, or {@code null}.
+   *
+   * @param url the upstream URL
+   * @param <T> body type stored for the URL
+   * @return the stored response with its validators
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Entry<T> get(final String url) {
+    return enabled ? (Entry<T>) entries.get(url) : null;
+  }
+
+  /**
+   * Records a 304 for a conditional refetch and returns the stored body.
+   *
+   * @param operation the upstream operation
+   * @param entry     the stored response whose validators were sent
+   * @param <T>       body type
+   * @return the stored body
+   */
+  public <T> T notModified(final UpstreamOperation operation, final Entry<T> entry) {
+    revalidations(operation, "not-modified").increment();
+    Counter.builder(METRIC_NAME + ".saved")
+        .description("Response payload not transferred thanks to a 304")
+        .baseUnit("bytes")
+        .tag(OPERATION_TAG, operation.getTag())
+        .register(meterRegistry)
+        .increment(entry.bytes());
+    return entry.body();
+  }
+
+  /**
+   * Stores a full response with the validators it carried, replacing any earlier one. Responses
+   * without validators are not kept.
+   *
+   * @param operation   the upstream operation
+   * @param url         the upstream URL
+   * @param headers     the response headers
+   * @param body        the decoded body
+   * @param bytes       size of the transferred payload
+   * @param conditional whether validators were sent with the request
+   * @param <T>         body type
+   * @return {@code body}
+   */
+  public <T> T modified(final UpstreamOperation operation, final String url,
+      final HttpHeaders headers, final T body, final long bytes, final boolean conditional) {
+    if (conditional) {
+      revalidations(operation, "modified").increment();
+    }
+    final String etag = headers.getETag();
+    final String lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+    if (etag == null && lastModified == null) {
+      entries.remove(url);
+    } else {
+      entries.put(url, new Entry<>(body, etag, lastModified, bytes));
+    }
+    return body;
+  }
+
+  /**
+   * Swaps the stored body for {@code url} to {@code replacement} if it is still {@code body},
+   * keeping its validators. Lets a caller that keeps its own compact copy of a response drop the
+   * decoded one; a later 304 then hands back the replacement.
+   *
+   * @param url         the upstream URL
+   * @param body        the body the caller received
+   * @param replacement the body to store in its place
+   * @param <T>         body type
+   */
+  public <T> void replaceBody(final String url, final T body, final T replacement) {
+    entries.computeIfPresent(url, (key, entry) -> entry.body() == body
+        ? new Entry<>(replacement, entry.etag(), entry.lastModified(), entry.bytes()) : entry);
+  }
+
+  private Counter revalidations(final UpstreamOperation operation, final String result) {
+    return Counter.builder(METRIC_NAME)
+        .description("Conditional upstream refetches by result")
+        .tag(OPERATION_TAG, operation.getTag())
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Stored response with the validators it was served with.
+   *
+   * @param body         the decoded body
+   * @param etag         the ETag header, or {@code null}
+   * @param lastModified the Last-Modified header, or {@code null}
+   * @param bytes        size of the payload as transferred
+   * @param <T>          body type
+   */
+  public record Entry<T>(T body, String etag, String lastModified, long bytes) {
+
+    /**
+     * Adds the conditional request headers matching these validators.
+     *
+     * @param headers the outgoing request headers
+     */
+    public void applyTo(final HttpHeaders headers) {
+      if (etag != null) {
+        headers.setIfNoneMatch(etag);
+      }
+      if (lastModified != null) {
+        headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+      }
+    }
+  }
+}
@@ -0,0 +1,176 @@
+package com.audition.integration;
+
+import static com.audition.integration.AuditionIntegrationClient.COMMENTS_ENDPOINT;
+import static com.audition.integration.AuditionIntegrationClient.INTEGRATION_ERROR;
+import static com.audition.integration.AuditionIntegrationClient.POSTS_ENDPOINT;
+
+import com.audition.common.exception.SystemException;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import jakarta.validation.constraints.NotNull;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking twin of {@link AuditionIntegrationClient} built on WebClient.
+ *
+ * <p>Every method maps failures to the same {@link SystemException} detail, title and status as
+ * the blocking client, so callers can switch engines without changing error handling.
+ */
+@Component
+@Slf4j
+@Getter
+public class ReactiveAuditionIntegrationClient {
+
+  private static final String RESOURCE_NOT_FOUND = "Resource Not Found";
+
+  /** WebClient for making non-blocking HTTP requests. */
+  private final WebClient webClient;
+
+  /**
+   * Constructor to inject WebClient dependency.
+   *
+   * @param upstreamWebClient the WebClient instance configured for the upstream API
+   */
+  public ReactiveAuditionIntegrationClient(WebClient upstreamWebClient) {
+    this.webClient = upstreamWebClient;
+  }
+
+  /**
+   * Fetches all posts from an external API.
+   *
+   * @return a stream of posts
+   */
+  public Flux<AuditionPost> getPosts() {
+    return webClient.get()
+        .uri(POSTS_ENDPOINT)
+        .retrieve()
+        .bodyToFlux(AuditionPost.class)
+        .onErrorMap(e -> !(e instanceof SystemException), e -> {
+          if (isClientError(e)) {
+            log.error("Client Error fetching posts", e);
+            return new SystemException("Error fetching posts", "Client Error", statusOf(e), e);
+          }
+          log.error("Unexpected error fetching posts", e);
+          return new SystemException("Failed to retrieve posts", INTEGRATION_ERROR,
+              HttpStatus.INTERNAL_SERVER_ERROR.value(), e);
+        });
+  }
+
+  /**
+   * Fetches the posts matching the optional filters, letting the upstream apply them as
+   * {@code userId} and {@code id} query parameters.
+   *
+   * @param userId optional author id
+   * @param id     optional post id
+   * @return a stream of matching posts
+   */
+  public Flux<AuditionPost> getPostsFiltered(final Integer userId, final Integer id) {
+    return webClient.get()
+        .uri(builder -> builder.path(POSTS_ENDPOINT)
+            .queryParamIfPresent("userId", Optional.ofNullable(userId))
+            .queryParamIfPresent("id", Optional.ofNullable(id))
+            .build())
+        .retrieve()
+        .bodyToFlux(AuditionPost.class)
+        .onErrorMap(e -> !(e instanceof SystemException), e -> {
+          if (isClientError(e)) {
+            log.error("Client Error fetching filtered posts", e);
+            return new SystemException("Error fetching posts", "Client Error", statusOf(e), e);
+          }
+          log.error("Unexpected error fetching filtered posts", e);
+          return new SystemException("Failed to retrieve posts", INTEGRATION_ERROR,
+              HttpStatus.INTERNAL_SERVER_ERROR.value(), e);
+        });
+  }
+
+  /**
+   * Fetches a post by its ID.
+   *
+   * @param id the ID of the post
+   * @return the retrieved post
+   */
+  public Mono<AuditionPost> getPostById(final String id) {
+    return webClient.get()
+        .uri(POSTS_ENDPOINT + "/{id}", id)
+        .retrieve()
+        .bodyToMono(AuditionPost.class)
+        .defaultIfEmpty(new AuditionPost())
+        .onErrorMap(e -> !(e instanceof SystemException), e -> {
+          if (isClientError(e)) {
+            final WebClientResponseException wcre = (WebClientResponseException) e;
+            if (wcre.getStatusCode() == HttpStatus.NOT_FOUND) {
+              log.debug("Post not found upstream: {}", id);
+              return new SystemException("Cannot find a Post with id " + id, RESOURCE_NOT_FOUND,
+                  404, e);
+            }
+            log.error("Error getting post by id: {}", id, e);
+            return new SystemException("Error while fetching post with id " + id,
+                wcre.getStatusText(), wcre.getStatusCode().value(), e);
+          }
+          log.error("Unexpected error getting post by id: {}", id, e);
+          return new SystemException("Failed to retrieve post with id " + id,
+              INTEGRATION_ERROR, HttpStatus.INTERNAL_SERVER_ERROR.value(), e);
+        });
+  }
+
+  /**
+   * Fetches comments associated with a specific post.
+   *
+   * @param postId the ID of the post
+   * @return a stream of comments for the post
+   */
+  public Flux<Comment> getPostWithComments(@NotNull String postId) {
+    return mapCommentErrors(webClient.get()
+        .uri(POSTS_ENDPOINT + "/{postId}" + COMMENTS_ENDPOINT, postId)
+        .retrieve()
+        .bodyToFlux(Comment.class), postId);
+  }
+
+  /**
+   * Fetches comments for a specific post using a query parameter.
+   *
+   * @param postId the ID of the post
+   * @return a stream of comments for the post
+   */
+  public Flux<Comment> getCommentsByPostIdQueryParam(@NotNull String postId) {
+    return mapCommentErrors(webClient.get()
+        .uri(builder -> builder.path(COMMENTS_ENDPOINT).queryParam("postId", postId).build())
+        .retrieve()
+        .bodyToFlux(Comment.class), postId);
+  }
+
+  private Flux<Comment> mapCommentErrors(final Flux<Comment> comments, final String postId) {
+    return comments
+        .onErrorResume(e -> isClientError(e) && statusOf(e) == HttpStatus.NOT_FOUND.value(), e -> {
+          log.error("Error fetching comments for post id: {}, status: {}", postId, statusOf(e), e);
+          return Flux.empty();
+        })
+        .onErrorMap(e -> !(e instanceof SystemException), e -> {
+          if (isClientError(e)) {
+            log.error("Error fetching comments for post id: {}, status: {}", postId, statusOf(e),
+                e);
+            return new SystemException("Error while fetching comments for post " + postId,
+                ((WebClientResponseException) e).getStatusText(), statusOf(e), e);
+          }
+          log.error("Unexpected error fetching comments for post id: {}", postId, e);
+          return new SystemException("Failed to retrieve comments for post " + postId,
+              INTEGRATION_ERROR, HttpStatus.INTERNAL_SERVER_ERROR.value(), e);
+        });
+  }
+
+  private static boolean isClientError(final Throwable e) {
+    return e instanceof WebClientResponseException wcre && wcre.getStatusCode().is4xxClientError();
+  }
+
+  private static int statusOf(final Throwable e) {
+    return ((WebClientResponseException) e).getStatusCode().value();
+  }
+}
@@ -0,0 +1,231 @@
+package com.audition.integration;
+
+import com.audition.common.concurrent.AimdConcurrencyLimiter;
+import com.audition.common.concurrent.ConcurrencyLimitExceededException;
+import com.audition.common.exception.DeadlineExceededException;
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.ResilienceProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Wraps upstream calls in a per-operation circuit breaker, semaphore bulkhead and adaptive
+ * concurrency limit.
+ *
+ * <p>The circuit breaker is outermost so an open circuit fails before taking any permit. Only
+ * upstream failures (non-{@link SystemException}s and SystemExceptions with a 5xx status) are
+ * recorded against the circuit; client errors such as 404 count as successes, and local
+ * rejections and expired request deadlines are ignored, since they say nothing about upstream
+ * health. Every rejection surfaces as a 503 SystemException immediately rather
+ * than as a slow timeout.
+ */
+@Component
+@Slf4j
+public class UpstreamGuard {
+
+  /** Title of the SystemException raised when a call is rejected. */
+  public static final String SERVICE_UNAVAILABLE = "Service Unavailable";
+
+  private static final String METRIC_PREFIX = "audition.upstream";
+
+  private final boolean enabled;
+  private final Map<UpstreamOperation, Guard> guards = new EnumMap<>(UpstreamOperation.class);
+
+  /**
+   * Constructor for UpstreamGuard.
+   *
+   * @param properties    circuit breaker, bulkhead and limiter settings
+   * @param meterRegistry registry receiving the resilience metrics
+   */
+  public UpstreamGuard(final ResilienceProperties properties, final MeterRegistry meterRegistry) {
+    this.enabled = properties.isEnabled();
+    final CircuitBreakerRegistry circuitBreakers =
+        CircuitBreakerRegistry.of(circuitBreakerConfig(properties.getCircuitBreaker()));
+    final BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+        .maxConcurrentCalls(properties.getBulkhead().getMaxConcurrentCalls())
+        .maxWaitDuration(properties.getBulkhead().getMaxWaitDuration())
+        .build());
+    final ResilienceProperties.Limiter limiter = properties.getLimiter();
+    for (final UpstreamOperation operation : UpstreamOperation.values()) {
+      final String tag = operation.getTag();
+      guards.put(operation, new Guard(
+          circuitBreakers.circuitBreaker(tag),
+          bulkheads.bulkhead(tag),
+          limiter.isEnabled() ? new AimdConcurrencyLimiter(tag, limiter.getInitialLimit(),
+              limiter.getMinLimit(), limiter.getMaxLimit(), limiter.getBackoffRatio(),
+              limiter.getLatencyThreshold(), meterRegistry) : null,
+          Counter.builder(METRIC_PREFIX + ".rejected")
+              .description("Upstream calls failed fast by the resilience guard")
+              .tag("operation", tag)
+              .register(meterRegistry)));
+    }
+    TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+    TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+  }
+
+  /**
+   * Runs a blocking upstream call under the operation's guard.
+   *
+   * @param operation the upstream operation
+   * @param call      the blocking call
+   * @param <T>       result type
+   * @return the call result
+   * @throws SystemException with status 503 when the call is rejected
+   */
+  public <T> T call(final UpstreamOperation operation, final Supplier<T> call) {
+    if (!enabled) {
+      return call.get();
+    }
+    final Guard guard = guards.get(operation);
+    try {
+      return guard.circuitBreaker.executeSupplier(
+          () -> guard.bulkhead.executeSupplier(() -> limited(guard, call)));
+    } catch (CallNotPermittedException | BulkheadFullException
+             | ConcurrencyLimitExceededException e) {
+      throw rejected(operation, guard, e);
+    }
+  }
+
+  /**
+   * Non-blocking variant of {@link #call(UpstreamOperation, Supplier)}.
+   *
+   * @param operation the upstream operation
+   * @param call      supplies the upstream publisher
+   * @param <T>       result type
+   * @return a Mono guarded on subscription
+   */
+  public <T> Mono<T> callAsync(final UpstreamOperation operation,
+      final Supplier<Mono<T>> call) {
+    if (!enabled) {
+      return Mono.defer(call);
+    }
+    final Guard guard = guards.get(operation);
+    return Mono.defer(() -> limitedAsync(guard, call))
+        .transformDeferred(BulkheadOperator.of(guard.bulkhead))
+        .transformDeferred(CircuitBreakerOperator.of(guard.circuitBreaker))
+        .onErrorMap(e -> e instanceof CallNotPermittedException
+                || e instanceof BulkheadFullException
+                || e instanceof ConcurrencyLimitExceededException,
+            e -> rejected(operation, guard, e));
+  }
+
+  /**
+   * Returns the circuit breaker guarding {@code operation}.
+   *
+   * @param operation the upstream operation
+   * @return the circuit breaker
+   */
+  public CircuitBreaker circuitBreaker(final UpstreamOperation operation) {
+    return guards.get(operation).circuitBreaker;
+  }
+
+  /**
+   * Returns the adaptive limiter guarding {@code operation}, or {@code null} when disabled.
+   *
+   * @param operation the upstream operation
+   * @return the limiter or null
+   */
+  public AimdConcurrencyLimiter limiter(final UpstreamOperation operation) {
+    return guards.get(operation).limiter;
+  }
+
+  private static <T> T limited(final Guard guard, final Supplier<T> call) {
+    if (guard.limiter == null) {
+      return call.get();
+    }
+    final AimdConcurrencyLimiter.Permit permit = guard.limiter.acquire();
+    try {
+      final T result = call.get();
+      permit.onSuccess();
+      return result;
+    } catch (RuntimeException | Error e) {
+      release(permit, e);
+      throw e;
+    }
+  }
+
+  private static <T> Mono<T> limitedAsync(final Guard guard, final Supplier<Mono<T>> call) {
+    if (guard.limiter == null) {
+      return call.get();
+    }
+    final AimdConcurrencyLimiter.Permit permit = guard.limiter.acquire();
+    return Mono.defer(call)
+        .doOnSuccess(result -> permit.onSuccess())
+        .doOnError(e -> release(permit, e))
+        .doOnCancel(permit::onIgnore);
+  }
+
+  private static void release(final AimdConcurrencyLimiter.Permit permit, final Throwable e) {
+    if (e instanceof DeadlineExceededException) {
+      permit.onIgnore();
+    } else if (isUpstreamFailure(e)) {
+      permit.onDropped();
+    } else {
+      permit.onSuccess();
+    }
+  }
+
+  private static boolean isUpstreamFailure(final Throwable e) {
+    if (e instanceof SystemException systemException) {
+      final Integer status = systemException.getStatusCode();
+      return status == null || status >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+    return true;
+  }
+
+  private static CircuitBreakerConfig circuitBreakerConfig(
+      final ResilienceProperties.CircuitBreaker settings) {
+    return CircuitBreakerConfig.custom()
+        .failureRateThreshold(settings.getFailureRateThreshold())
+        .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+        .slowCallDurationThreshold(settings.getSlowCallDurationThreshold())
+        .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+        .slidingWindowSize(settings.getSlidingWindowSize())
+        .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+        .waitDurationInOpenState(settings.getWaitDurationInOpenState())
+        .permittedNumberOfCallsInHalfOpenState(settings.getPermittedCallsInHalfOpenState())
+        .recordException(UpstreamGuard::isUpstreamFailure)
+        .ignoreExceptions(BulkheadFullException.class, ConcurrencyLimitExceededException.class,
+            DeadlineExceededException.class)
+        .build();
+  }
+
+  private static SystemException rejected(final UpstreamOperation operation, final Guard guard,
+      final Throwable cause) {
+    guard.rejected.increment();
+    final String reason;
+    if (cause instanceof CallNotPermittedException) {
+      reason = "circuit breaker is open";
+    } else if (cause instanceof BulkheadFullException) {
+      reason = "bulkhead is full";
+    } else {
+      reason = "concurrency limit reached";
+    }
+    log.warn("Rejected upstream '{}' call: {}", operation.getTag(), reason);
+    return new SystemException("Upstream " + operation.getTag() + " unavailable: " + reason,
+        SERVICE_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE.value(), cause);
+  }
+
+  private record Guard(CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                       AimdConcurrencyLimiter limiter, Counter rejected) {
+  }
+}
@@ -0,0 +1,321 @@
+package com.audition.integration;
+
+import com.audition.common.concurrent.DeadlineContext;
+import com.audition.common.concurrent.Futures;
+import com.audition.common.concurrent.LatencyWindow;
+import com.audition.common.concurrent.TokenBudget;
+import com.audition.configuration.IntegrationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hedges slow upstream reads by sending a second identical request once the first has been
+ * outstanding for longer than a recent latency percentile.
+ *
+ * <p>The first successful response wins and the other attempt is cancelled. A failing or empty
+ * hedge never wins; a failing or empty primary is returned as-is, just as without hedging, since
+ * retrying failures is not the hedge's job. Callers guard the primary and its hedge together, so
+ * that a hedged read takes one {@link UpstreamGuard} permit and one limiter sample.
+ * Hedges draw from a {@link TokenBudget} shared by all operations, so they add at most
+ * {@code budgetRatio} extra load. On the blocking engine the attempts run on a dedicated pool;
+ * cancelling a loser interrupts its thread, but a socket read already in progress finishes and
+ * its result is discarded. Pool threads run under the caller's request deadline. With
+ * {@code spring.threads.virtual.enabled} each attempt gets its own virtual thread instead, and
+ * concurrency is bounded by {@link UpstreamGuard} alone.
+ */
+@Component
+public class UpstreamHedger {
+
+  private static final String METRIC_PREFIX = "audition.hedge";
+  private static final int DELAY_REFRESH_INTERVAL = 32;
+
+  private final IntegrationProperties.Hedge settings;
+  private final TokenBudget budget;
+  private final ExecutorService executor;
+  private final Map<UpstreamOperation, OperationHedge> hedges =
+      new EnumMap<>(UpstreamOperation.class);
+
+  /**
+   * Constructor for UpstreamHedger.
+   *
+   * @param integrationProperties hedge settings
+   * @param meterRegistry         registry receiving the hedge metrics
+   */
+  public UpstreamHedger(final IntegrationProperties integrationProperties,
+      final MeterRegistry meterRegistry) {
+    this(integrationProperties, meterRegistry, false);
+  }
+
+  /**
+   * Constructor for UpstreamHedger choosing the thread type of the attempts.
+   *
+   * @param integrationProperties hedge settings
+   * @param meterRegistry         registry receiving the hedge metrics
+   * @param virtualThreads        run attempts on virtual threads instead of a bounded pool
+   */
+  @Autowired
+  public UpstreamHedger(final IntegrationProperties integrationProperties,
+      final MeterRegistry meterRegistry,
+      @Value("${spring.threads.virtual.enabled:false}") final boolean virtualThreads) {
+    this.settings = integrationProperties.getHedge();
+    this.budget = new TokenBudget(settings.getBudgetRatio(), settings.getBudgetBurst());
+    this.executor = virtualThreads
+        ? Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("upstream-hedge-", 0).factory())
+        : platformExecutor(settings.getThreads());
+    for (final UpstreamOperation operation : UpstreamOperation.values()) {
+      hedges.put(operation, new OperationHedge(operation.getTag(), meterRegistry));
+    }
+    Gauge.builder(METRIC_PREFIX + ".budget", budget, TokenBudget::available)
+        .description("Hedge tokens currently available")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Runs a blocking read, hedging it when it is slower than the current hedge delay.
+   *
+   * @param operation the upstream operation
+   * @param call      the blocking read; must be idempotent
+   * @param <T>       result type
+   * @return the first successful result
+   */
+  public <T> T call(final UpstreamOperation operation, final Supplier<T> call) {
+    if (!settings.isEnabled()) {
+      return call.get();
+    }
+    final OperationHedge hedge = hedges.get(operation);
+    hedge.calls.increment();
+    budget.deposit();
+
+    final Supplier<T> attempt = DeadlineContext.propagate(call);
+    final CompletableFuture<Outcome<T>> winner = new CompletableFuture<>();
+    final Future<?> primary;
+    try {
+      primary = launch(attempt, hedge, winner, false);
+    } catch (RejectedExecutionException e) {
+      // Pool saturated: run unhedged on the caller's thread.
+      return call.get();
+    }
+    Future<?> secondary = null;
+    try {
+      if (!awaitWithin(winner, hedge.delay())) {
+        secondary = launchHedge(attempt, hedge, winner);
+      }
+      final Outcome<T> outcome = Futures.await(winner);
+      if (outcome.hedged()) {
+        hedge.wins.increment();
+      }
+      return outcome.value();
+    } finally {
+      primary.cancel(true);
+      if (secondary != null) {
+        secondary.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * Non-blocking variant of {@link #call(UpstreamOperation, Supplier)}.
+   *
+   * @param operation the upstream operation
+   * @param call      supplies the upstream read; must be idempotent
+   * @param <T>       result type
+   * @return a Mono emitting the first successful result
+   */
+  public <T> Mono<T> callAsync(final UpstreamOperation operation,
+      final Supplier<Mono<T>> call) {
+    if (!settings.isEnabled()) {
+      return Mono.defer(call);
+    }
+    final OperationHedge hedge = hedges.get(operation);
+    return Mono.defer(() -> {
+      hedge.calls.increment();
+      budget.deposit();
+      final Mono<T> primary = timed(call, hedge);
+      final Mono<T> secondary = Mono.delay(hedge.delay()).flatMap(tick -> {
+        if (!budget.tryWithdraw()) {
+          hedge.budgetExhausted.increment();
+          return Mono.<T>never();
+        }
+        hedge.sent.increment();
+        return timed(call, hedge)
+            .doOnNext(value -> hedge.wins.increment())
+            .onErrorResume(e -> Mono.never())
+            .switchIfEmpty(Mono.never());
+      });
+      // The first signal wins and cancels the other subscriber.
+      return Mono.firstWithSignal(primary, secondary);
+    });
+  }
+
+  /**
+   * Returns the delay after which {@code operation} is currently hedged.
+   *
+   * @param operation the upstream operation
+   * @return the hedge delay
+   */
+  public Duration delay(final UpstreamOperation operation) {
+    return hedges.get(operation).delay();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private static ExecutorService platformExecutor(final int threads) {
+    final CustomizableThreadFactory threadFactory =
+        new CustomizableThreadFactory("upstream-hedge-");
+    threadFactory.setDaemon(true);
+    return new ThreadPoolExecutor(0, threads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+        threadFactory);
+  }
+
+  private <T> Future<?> launchHedge(final Supplier<T> call, final OperationHedge hedge,
+      final CompletableFuture<Outcome<T>> winner) {
+    if (!budget.tryWithdraw()) {
+      hedge.budgetExhausted.increment();
+      return null;
+    }
+    try {
+      final Future<?> secondary = launch(call, hedge, winner, true);
+      hedge.sent.increment();
+      return secondary;
+    } catch (RejectedExecutionException e) {
+      return null;
+    }
+  }
+
+  private <T> Future<?> launch(final Supplier<T> call, final OperationHedge hedge,
+      final CompletableFuture<Outcome<T>> winner, final boolean isHedge) {
+    return executor.submit(() -> {
+      final long start = System.nanoTime();
+      try {
+        final T value = call.get();
+        hedge.record(System.nanoTime() - start);
+        winner.complete(new Outcome<>(value, isHedge));
+      } catch (RuntimeException | Error e) {
+        if (!isHedge) {
+          winner.completeExceptionally(e);
+        }
+      }
+    });
+  }
+
+  private static <T> Mono<T> timed(final Supplier<Mono<T>> call, final OperationHedge hedge) {
+    return Mono.defer(() -> {
+      final long start = System.nanoTime();
+      return Mono.defer(call).doOnNext(value -> hedge.record(System.nanoTime() - start));
+    });
+  }
+
+  private static boolean awaitWithin(final CompletableFuture<?> future, final Duration delay) {
+    try {
+      future.get(delay.toNanos(), TimeUnit.NANOSECONDS);
+      return true;
+    } catch (TimeoutException e) {
+      return false;
+    } catch (ExecutionException e) {
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return true;
+    }
+  }
+
+  private record Outcome<T>(T value, boolean hedged) {
+  }
+
+  /**
+   * Per-operation latency window, derived hedge delay and counters.
+   */
+  private final class OperationHedge {
+
+    private final LatencyWindow latencies = new LatencyWindow(settings.getWindowSize());
+    private final AtomicInteger sinceRefresh = new AtomicInteger();
+    private volatile Duration delay = settings.getMaxDelay();
+
+    private final Counter calls;
+    private final Counter sent;
+    private final Counter wins;
+    private final Counter budgetExhausted;
+
+    OperationHedge(final String operation, final MeterRegistry meterRegistry) {
+      this.calls = counter(".calls", "Hedgeable upstream reads", operation, meterRegistry);
+      this.sent = counter(".sent", "Hedge requests sent", operation, meterRegistry);
+      this.wins = counter(".wins", "Hedge requests that answered first", operation,
+          meterRegistry);
+      this.budgetExhausted = counter(".budget.exhausted",
+          "Hedges skipped because the budget was empty", operation, meterRegistry);
+      Gauge.builder(METRIC_PREFIX + ".rate", this, OperationHedge::rate)
+          .description("Fraction of reads that sent a hedge")
+          .tag("operation", operation)
+          .register(meterRegistry);
+      Gauge.builder(METRIC_PREFIX + ".delay", this, h -> h.delay().toNanos() / 1e9)
+          .description("Current hedge delay")
+          .baseUnit("seconds")
+          .tag("operation", operation)
+          .register(meterRegistry);
+    }
+
+    Duration delay() {
+      return delay;
+    }
+
+    void record(final long nanos) {
+      latencies.record(nanos);
+      if (sinceRefresh.incrementAndGet() >= DELAY_REFRESH_INTERVAL) {
+        sinceRefresh.set(0);
+        refreshDelay();
+      }
+    }
+
+    private void refreshDelay() {
+      if (latencies.size() < settings.getMinSamples()) {
+        return;
+      }
+      final Duration observed = latencies.percentile(settings.getPercentile());
+      Duration bounded = observed.compareTo(settings.getMinDelay()) < 0
+          ? settings.getMinDelay() : observed;
+      if (bounded.compareTo(settings.getMaxDelay()) > 0) {
+        bounded = settings.getMaxDelay();
+      }
+      delay = bounded;
+    }
+
+    private double rate() {
+      final double total = calls.count();
+      return total == 0 ? 0 : sent.count() / total;
+    }
+
+    private Counter counter(final String suffix, final String description,
+        final String operation, final MeterRegistry meterRegistry) {
+      return Counter.builder(METRIC_PREFIX + suffix)
+          .description(description)
+          .tag("operation", operation)
+          .register(meterRegistry);
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.audition.integration;
+
+import lombok.Getter;
+
+/**
+ * Upstream operations exposed by the integration clients, used as metric tags and coalescing
+ * keys.
+ */
+@Getter
+public enum UpstreamOperation {
+
+  POSTS("posts"),
+  POST_BY_ID("post-by-id"),
+  POST_COMMENTS("post-comments"),
+  COMMENTS_BY_QUERY("comments-by-query"),
+  COMMENTS("comments");
+
+  /**
+   * Value used for the {@code operation} metric tag.
+   */
+  private final String tag;
+
+  UpstreamOperation(final String tag) {
+    this.tag = tag;
+  }
+}
@@ -0,0 +1,240 @@
+package com.audition.integration;
+
+import com.audition.common.concurrent.Deadline;
+import com.audition.common.concurrent.DeadlineContext;
+import com.audition.common.concurrent.TokenBudget;
+import com.audition.configuration.ResilienceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.core5.http.NoHttpResponseException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.PrematureCloseException;
+import reactor.util.retry.Retry;
+
+/**
+ * Retries idempotent upstream reads that failed for a transient reason.
+ *
+ * <p>Only connect and connection-reset failures and 502, 503 and 504 responses are retried;
+ * everything else, including our own 503 rejections from {@link UpstreamGuard}, fails at once.
+ * Backoff is exponential with full jitter: the n-th retry waits a uniformly random time between
+ * zero and {@code min(maxDelay, baseDelay * 2^(n-1))}. Retries draw from a {@link TokenBudget}
+ * shared by all operations, so during an outage retries shrink to a small fraction of traffic
+ * instead of multiplying it. A retry whose backoff would outlast the calling request's
+ * {@link Deadline} is not attempted.
+ */
+@Component
+@Slf4j
+public class UpstreamRetrier {
+
+  private static final String METRIC_PREFIX = "audition.retry";
+  private static final Set<Integer> RETRYABLE_STATUSES = Set.of(502, 503, 504);
+
+  private final ResilienceProperties.Retry settings;
+  private final TokenBudget budget;
+  private final Map<UpstreamOperation, OperationRetries> retries =
+      new EnumMap<>(UpstreamOperation.class);
+
+  /**
+   * Constructor for UpstreamRetrier.
+   *
+   * @param properties    retry settings
+   * @param meterRegistry registry receiving the retry metrics
+   */
+  public UpstreamRetrier(final ResilienceProperties properties, final MeterRegistry meterRegistry) {
+    this.settings = properties.getRetry();
+    this.budget = new TokenBudget(settings.getBudgetRatio(), settings.getBudgetBurst());
+    for (final UpstreamOperation operation : UpstreamOperation.values()) {
+      retries.put(operation, new OperationRetries(operation.getTag(), meterRegistry));
+    }
+    Gauge.builder(METRIC_PREFIX + ".budget", budget, TokenBudget::available)
+        .description("Retry tokens currently available")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Runs a blocking read, retrying transient failures.
+   *
+   * @param operation the upstream operation
+   * @param call      the blocking read; must be idempotent
+   * @param <T>       result type
+   * @return the first successful result
+   */
+  public <T> T call(final UpstreamOperation operation, final Supplier<T> call) {
+    if (!settings.isEnabled()) {
+      return call.get();
+    }
+    final OperationRetries stats = retries.get(operation);
+    final Deadline deadline = DeadlineContext.current();
+    budget.deposit();
+    int attempt = 1;
+    while (true) {
+      try {
+        final T result = call.get();
+        if (attempt > 1) {
+          stats.recovered.increment();
+        }
+        return result;
+      } catch (RuntimeException e) {
+        final Duration delay = backoff(attempt);
+        if (!shouldRetry(operation, stats, attempt, e, delay, deadline)) {
+          throw e;
+        }
+        sleep(delay, e);
+        attempt++;
+      }
+    }
+  }
+
+  /**
+   * Non-blocking variant of {@link #call(UpstreamOperation, Supplier)}.
+   *
+   * @param operation the upstream operation
+   * @param call      supplies the upstream read; must be idempotent
+   * @param <T>       result type
+   * @return a Mono that resubscribes to the read on transient failures
+   */
+  public <T> Mono<T> callAsync(final UpstreamOperation operation,
+      final Supplier<Mono<T>> call) {
+    if (!settings.isEnabled()) {
+      return Mono.defer(call);
+    }
+    final OperationRetries stats = retries.get(operation);
+    // Captured on the calling thread; retry signals arrive on timer threads without the context.
+    final Deadline deadline = DeadlineContext.current();
+    return Mono.defer(() -> {
+      budget.deposit();
+      final AtomicBoolean retried = new AtomicBoolean();
+      return Mono.defer(call)
+          .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+            final int attempt = (int) signal.totalRetries() + 1;
+            final Duration delay = backoff(attempt);
+            if (!shouldRetry(operation, stats, attempt, signal.failure(), delay, deadline)) {
+              return Mono.error(signal.failure());
+            }
+            retried.set(true);
+            return Mono.delay(delay);
+          })))
+          .doOnSuccess(result -> {
+            if (retried.get()) {
+              stats.recovered.increment();
+            }
+          });
+    });
+  }
+
+  /**
+   * Returns whether {@code error} is a transient failure worth retrying.
+   *
+   * @param error the failure
+   * @return true for connect/reset failures and 502, 503 and 504 responses
+   */
+  public static boolean isRetryable(final Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof HttpStatusCodeException statusException) {
+        return RETRYABLE_STATUSES.contains(statusException.getStatusCode().value());
+      }
+      if (cause instanceof WebClientResponseException responseException) {
+        return RETRYABLE_STATUSES.contains(responseException.getStatusCode().value());
+      }
+      if (cause instanceof ConnectException || cause instanceof NoRouteToHostException
+          || cause instanceof NoHttpResponseException
+          || cause instanceof PrematureCloseException) {
+        return true;
+      }
+      if (cause instanceof SocketException && cause.getMessage() != null
+          && cause.getMessage().toLowerCase(Locale.ROOT).contains("reset")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean shouldRetry(final UpstreamOperation operation, final OperationRetries stats,
+      final int attempt, final Throwable error, final Duration delay, final Deadline deadline) {
+    if (!isRetryable(error)) {
+      return false;
+    }
+    if (attempt >= settings.getMaxAttempts()) {
+      stats.exhausted.increment();
+      return false;
+    }
+    if (deadline != null && deadline.remaining().compareTo(delay) <= 0) {
+      stats.deadline.increment();
+      return false;
+    }
+    if (!budget.tryWithdraw()) {
+      stats.budgetExhausted.increment();
+      return false;
+    }
+    stats.retries.increment();
+    log.debug("Retrying upstream '{}' after attempt {}: {}", operation.getTag(), attempt,
+        error.getMessage());
+    return true;
+  }
+
+  private Duration backoff(final int attempt) {
+    final long base = settings.getBaseDelay().toNanos();
+    final long cap = settings.getMaxDelay().toNanos();
+    final int shift = Math.min(attempt - 1, 30);
+    final long ceiling = base > (cap >> shift) ? cap : Math.min(cap, base << shift);
+    return Duration.ofNanos(ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1));
+  }
+
+  private static void sleep(final Duration delay, final RuntimeException failure) {
+    try {
+      Thread.sleep(delay.toMillis(), (int) (delay.toNanos() % 1_000_000));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw failure;
+    }
+  }
+
+  /**
+   * Per-operation retry counters.
+   */
+  private static final class OperationRetries {
+
+    private final Counter retries;
+    private final Counter recovered;
+    private final Counter exhausted;
+    private final Counter budgetExhausted;
+    private final Counter deadline;
+
+    OperationRetries(final String operation, final MeterRegistry meterRegistry) {
+      this.retries = counter(".retries", "Retries sent", operation, meterRegistry);
+      this.recovered = counter(".recovered", "Calls that succeeded after at least one retry",
+          operation, meterRegistry);
+      this.exhausted = counter(".exhausted", "Calls that failed after the last attempt",
+          operation, meterRegistry);
+      this.budgetExhausted = counter(".budget.exhausted",
+          "Retries skipped because the budget was empty", operation, meterRegistry);
+      this.deadline = counter(".deadline",
+          "Retries skipped because the backoff would outlast the request deadline", operation,
+          meterRegistry);
+    }
+
+    private static Counter counter(final String suffix, final String description,
+        final String operation, final MeterRegistry meterRegistry) {
+      return Counter.builder(METRIC_PREFIX + suffix)
+          .description(description)
+          .tag("operation", operation)
+          .register(meterRegistry);
+    }
+  }
+}
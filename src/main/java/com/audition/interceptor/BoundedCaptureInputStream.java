@@ -0,0 +1,99 @@
+package com.audition.interceptor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Input stream that passes bytes through untouched while copying at most {@code limit} of them
+ * aside. When the stream is closed the captured prefix is handed to a callback exactly once.
+ */
+class BoundedCaptureInputStream extends FilterInputStream {
+
+  private final int limit;
+  private final ByteArrayOutputStream capture;
+  private final Consumer<BoundedCaptureInputStream> onClose;
+  private long totalBytes;
+  private boolean closed;
+
+  BoundedCaptureInputStream(final InputStream in, final int limit,
+      final Consumer<BoundedCaptureInputStream> onClose) {
+    super(in);
+    this.limit = Math.max(0, limit);
+    this.capture = new ByteArrayOutputStream(Math.min(this.limit, 1024));
+    this.onClose = onClose;
+  }
+
+  @Override
+  public int read() throws IOException {
+    final int b = super.read();
+    if (b >= 0) {
+      totalBytes++;
+      if (capture.size() < limit) {
+        capture.write(b);
+      }
+    }
+    return b;
+  }
+
+  @Override
+  public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+    final int read = super.read(buffer, offset, length);
+    if (read > 0) {
+      totalBytes += read;
+      final int room = limit - capture.size();
+      if (room > 0) {
+        capture.write(buffer, offset, Math.min(room, read));
+      }
+    }
+    return read;
+  }
+
+  @Override
+  public long skip(final long n) throws IOException {
+    final long skipped = super.skip(n);
+    totalBytes += skipped;
+    return skipped;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      super.close();
+    } finally {
+      if (!closed) {
+        closed = true;
+        onClose.accept(this);
+      }
+    }
+  }
+
+  /**
+   * Returns the captured prefix decoded as UTF-8.
+   */
+  String capturedText() {
+    return capture.toString(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Returns the total number of bytes that flowed through the stream.
+   */
+  long totalBytes() {
+    return totalBytes;
+  }
+
+  /**
+   * Returns the number of bytes read but not captured because the budget was exhausted.
+   */
+  long truncatedBytes() {
+    return Math.max(0, totalBytes - capture.size());
+  }
+}
@@ -0,0 +1,205 @@
+package com.audition.interceptor;
+
+import com.audition.common.io.CountingInputStream;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.URI;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Interceptor that asks the upstream for gzip or deflate responses and decompresses them while
+ * they are read.
+ *
+ * <p>The body is inflated through a stream wrapper, so the message converters parse straight
+ * from the decompressing stream and the response is never held inflated in memory. Bytes on the
+ * wire and bytes after decoding are counted per upstream endpoint and content encoding when the
+ * response is closed.
+ * A corrupt body fails while it is read, as a truncated one does, and surfaces through the
+ * usual RestClientException handling.
+ */
+@Slf4j
+public class CompressionInterceptor implements ClientHttpRequestInterceptor {
+
+  /** Encodings advertised in Accept-Encoding. */
+  public static final String ACCEPTED_ENCODINGS = "gzip, deflate";
+
+  private static final String METRIC_NAME = "audition.upstream.response.bytes";
+  private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Constructor for CompressionInterceptor.
+   *
+   * @param meterRegistry registry receiving the response byte counters
+   */
+  public CompressionInterceptor(final MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+      ClientHttpRequestExecution execution) throws IOException {
+    if (!request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+      request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, ACCEPTED_ENCODINGS);
+    }
+    return new DecompressingClientHttpResponse(execution.execute(request, body),
+        endpoint(request.getURI()));
+  }
+
+  /**
+   * Returns the request path with numeric segments replaced by {@code {id}}, keeping the
+   * endpoint tag's cardinality bounded.
+   */
+  static String endpoint(final URI uri) {
+    final String path = uri.getPath();
+    return path == null || path.isEmpty()
+        ? "/" : NUMERIC_SEGMENT.matcher(path).replaceAll("/{id}");
+  }
+
+  private void record(final String endpoint, final String encoding, final String form,
+      final long bytes) {
+    Counter.builder(METRIC_NAME)
+        .description("Upstream response body bytes, as transferred and after decompression")
+        .baseUnit("bytes")
+        .tag("endpoint", endpoint)
+        .tag("encoding", encoding)
+        .tag("form", form)
+        .register(meterRegistry)
+        .increment(bytes);
+  }
+
+  /**
+   * Opens a zlib-wrapped deflate stream, or a raw one for servers that send deflate without the
+   * zlib header.
+   */
+  private static InputStream inflate(final InputStream in) throws IOException {
+    final PushbackInputStream pushback = new PushbackInputStream(in, 2);
+    final int cmf = pushback.read();
+    final int flg = cmf < 0 ? -1 : pushback.read();
+    if (flg >= 0) {
+      pushback.unread(flg);
+    }
+    if (cmf >= 0) {
+      pushback.unread(cmf);
+    }
+    final boolean zlib = flg >= 0 && (cmf & 0x0f) == 8 && ((cmf << 8) | flg) % 31 == 0;
+    final Inflater inflater = new Inflater(!zlib);
+    return new InflaterInputStream(pushback, inflater) {
+      @Override
+      public void close() throws IOException {
+        try {
+          super.close();
+        } finally {
+          inflater.end();
+        }
+      }
+    };
+  }
+
+  /**
+   * Response decorator that decodes a compressed body on the fly and drops the headers that
+   * only describe the encoded form.
+   */
+  private final class DecompressingClientHttpResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse delegate;
+    private final String endpoint;
+    private final String encoding;
+    private HttpHeaders headers;
+    private CountingInputStream wire;
+    private CountingInputStream decoded;
+
+    DecompressingClientHttpResponse(final ClientHttpResponse delegate, final String endpoint) {
+      this.delegate = delegate;
+      this.endpoint = endpoint;
+      final String contentEncoding = delegate.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+      this.encoding = contentEncoding == null
+          ? null : contentEncoding.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+      return delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+      return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      if (headers == null) {
+        if (isCompressed()) {
+          final HttpHeaders copy = new HttpHeaders();
+          copy.putAll(delegate.getHeaders());
+          copy.remove(HttpHeaders.CONTENT_ENCODING);
+          copy.remove(HttpHeaders.CONTENT_LENGTH);
+          headers = HttpHeaders.readOnlyHttpHeaders(copy);
+        } else {
+          headers = delegate.getHeaders();
+        }
+      }
+      return headers;
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+      if (decoded == null) {
+        wire = new CountingInputStream(delegate.getBody());
+        decoded = new CountingInputStream(decode(wire));
+      }
+      return decoded;
+    }
+
+    @Override
+    public void close() {
+      try {
+        if (decoded != null) {
+          final String tag = isCompressed() ? encoding : "identity";
+          record(endpoint, tag, "compressed", wire.getCount());
+          record(endpoint, tag, "uncompressed", decoded.getCount());
+          // Releases the native inflater along with the connection's stream.
+          decoded.close();
+        }
+      } catch (IOException e) {
+        log.debug("Failed to close decompressed response body", e);
+      } finally {
+        delegate.close();
+      }
+    }
+
+    private boolean isCompressed() {
+      return "gzip".equals(encoding) || "x-gzip".equals(encoding) || "deflate".equals(encoding);
+    }
+
+    private InputStream decode(final InputStream in) throws IOException {
+      if (!isCompressed()) {
+        return in;
+      }
+      // An empty body (HEAD, 204, 304) carries no compression header to read.
+      final PushbackInputStream body = new PushbackInputStream(in, 1);
+      final int first = body.read();
+      if (first < 0) {
+        return body;
+      }
+      body.unread(first);
+      return "deflate".equals(encoding) ? inflate(body) : new GZIPInputStream(body);
+    }
+  }
+}
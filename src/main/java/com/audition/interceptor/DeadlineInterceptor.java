@@ -0,0 +1,128 @@
+package com.audition.interceptor;
+
+import com.audition.common.concurrent.Deadline;
+import com.audition.common.concurrent.DeadlineContext;
+import com.audition.common.exception.DeadlineExceededException;
+import com.audition.configuration.DeadlineProperties;
+import com.audition.web.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Starts the deadline of each inbound request and binds it to the serving thread.
+ *
+ * <p>The budget comes from the configured header when the caller sends one, capped at the
+ * configured maximum, and otherwise from the handler's {@link RequestDeadline} or the global
+ * default. A request that arrives with no budget left is rejected with a 504 before any upstream
+ * I/O. Requests that finish after their deadline are counted per endpoint.
+ *
+ * <p>An asynchronous handler keeps the deadline started by the first dispatch; the serving thread
+ * is unbound as soon as it is released, and the deadline is bound again for the dispatch that
+ * writes the result.
+ */
+@Component
+@Slf4j
+public class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+  private static final String METRIC_NAME = "audition.deadline.exceeded";
+  private static final String DEADLINE_ATTRIBUTE =
+      DeadlineInterceptor.class.getName() + ".deadline";
+
+  private final DeadlineProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Constructor for DeadlineInterceptor.
+   *
+   * @param properties    header, default and maximum budget
+   * @param meterRegistry registry receiving the deadline-exceeded counters
+   */
+  public DeadlineInterceptor(final DeadlineProperties properties,
+      final MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+      final Object handler) {
+    if (!properties.isEnabled()) {
+      return true;
+    }
+    if (request.getDispatcherType() == DispatcherType.ASYNC) {
+      if (request.getAttribute(DEADLINE_ATTRIBUTE) instanceof Deadline deadline) {
+        DeadlineContext.set(deadline);
+      }
+      return true;
+    }
+    final Deadline deadline = Deadline.after(budget(request, handler));
+    if (deadline.isExpired()) {
+      exceeded(request, "inbound").increment();
+      throw new DeadlineExceededException(
+          "Request deadline already exceeded on arrival at " + endpoint(request));
+    }
+    request.setAttribute(DEADLINE_ATTRIBUTE, deadline);
+    DeadlineContext.set(deadline);
+    return true;
+  }
+
+  @Override
+  public void afterConcurrentHandlingStarted(final HttpServletRequest request,
+      final HttpServletResponse response, final Object handler) {
+    DeadlineContext.clear();
+  }
+
+  @Override
+  public void afterCompletion(final HttpServletRequest request,
+      final HttpServletResponse response, final Object handler, final Exception ex) {
+    DeadlineContext.clear();
+    if (request.getAttribute(DEADLINE_ATTRIBUTE) instanceof Deadline deadline
+        && deadline.isExpired()) {
+      exceeded(request, "in-flight").increment();
+    }
+  }
+
+  private Duration budget(final HttpServletRequest request, final Object handler) {
+    final String requested = request.getHeader(properties.getHeader());
+    if (StringUtils.isNotBlank(requested)) {
+      try {
+        final Duration budget = Duration.ofMillis(Long.parseLong(requested.trim()));
+        return budget.compareTo(properties.getMaxTimeout()) > 0
+            ? properties.getMaxTimeout() : budget;
+      } catch (NumberFormatException e) {
+        log.debug("Ignoring malformed {} header: {}", properties.getHeader(), requested);
+      }
+    }
+    if (handler instanceof HandlerMethod handlerMethod) {
+      final RequestDeadline annotation = handlerMethod.getMethodAnnotation(RequestDeadline.class);
+      if (annotation != null) {
+        return Duration.ofMillis(annotation.millis());
+      }
+    }
+    return properties.getDefaultTimeout();
+  }
+
+  private Counter exceeded(final HttpServletRequest request, final String stage) {
+    return Counter.builder(METRIC_NAME)
+        .description("Requests whose deadline passed before they were answered")
+        .tag("endpoint", endpoint(request))
+        .tag("stage", stage)
+        .register(meterRegistry);
+  }
+
+  private static String endpoint(final HttpServletRequest request) {
+    final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    // Raw URIs would give the counter unbounded cardinality.
+    return pattern == null ? "UNKNOWN" : pattern.toString();
+  }
+}
@@ -1,28 +1,55 @@
 package com.audition.interceptor;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.util.StreamUtils;
 
 /**
  * Interceptor to log request and response details.
+ *
+ * <p>The response body is never buffered. When DEBUG is enabled the body stream is teed and at
+ * most {@code maxBodyBytes} are captured for logging; otherwise the response is returned as-is
+ * and the message converters decode straight from the socket stream.
  */
 @Slf4j
 public class LoggingInterceptor implements ClientHttpRequestInterceptor {
 
+  /** Default capture budget for logged response bodies. */
+  public static final int DEFAULT_MAX_BODY_BYTES = 4096;
+
   private static final String OUTBOUND_REQUEST_LOG_PREFIX = "\n=== OUTBOUND REQUEST ===\n";
   private static final String INBOUND_RESPONSE_LOG_PREFIX = "\n=== INBOUND RESPONSE ===\n";
   private static final String METHOD_FORMAT = "Method: {}";
   private static final String URI_FORMAT = "URI: {}";
   private static final String HEADERS_FORMAT = "Headers: {}";
   private static final String BODY_FORMAT = "Body: {}";
+  private static final String TRUNCATED_BODY_FORMAT = "Body ({} of {} bytes, {} truncated): {}";
   private static final String STATUS_FORMAT = "Status: {} {}";
 
+  private final int maxBodyBytes;
+
+  /**
+   * Constructor using the default capture budget.
+   */
+  public LoggingInterceptor() {
+    this(DEFAULT_MAX_BODY_BYTES);
+  }
+
+  /**
+   * Constructor for LoggingInterceptor.
+   *
+   * @param maxBodyBytes maximum number of response body bytes captured for logging
+   */
+  public LoggingInterceptor(final int maxBodyBytes) {
+    this.maxBodyBytes = maxBodyBytes;
+  }
 
   @Override
   public ClientHttpResponse intercept(HttpRequest request, byte[] body,
@@ -30,8 +57,11 @@ public class LoggingInterceptor implements ClientHttpRequestInterceptor {
       throws IOException {
     logRequest(request, body);
     ClientHttpResponse response = execution.execute(request, body);
+    if (!log.isDebugEnabled()) {
+      return response;
+    }
     logResponse(response);
-    return response;
+    return new CapturingClientHttpResponse(response, maxBodyBytes);
   }
 
 
@@ -48,14 +78,20 @@ public class LoggingInterceptor implements ClientHttpRequestInterceptor {
   }
 
   private void logResponse(ClientHttpResponse response) throws IOException {
-    if (log.isDebugEnabled()) {
-      log.debug(INBOUND_RESPONSE_LOG_PREFIX);
-      log.debug(STATUS_FORMAT, response.getStatusCode(), response.getStatusText());
-      log.debug(HEADERS_FORMAT, getHeaders(response));
+    log.debug(INBOUND_RESPONSE_LOG_PREFIX);
+    log.debug(STATUS_FORMAT, response.getStatusCode(), response.getStatusText());
+    log.debug(HEADERS_FORMAT, getHeaders(response));
+  }
+
+  private static void logCapturedBody(BoundedCaptureInputStream captured) {
+    if (captured.totalBytes() == 0) {
+      return;
     }
-    String body = StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
-    if (!body.isEmpty()) {
-      log.info(BODY_FORMAT, body);
+    if (captured.truncatedBytes() > 0) {
+      log.debug(TRUNCATED_BODY_FORMAT, captured.totalBytes() - captured.truncatedBytes(),
+          captured.totalBytes(), captured.truncatedBytes(), captured.capturedText());
+    } else {
+      log.debug(BODY_FORMAT, captured.capturedText());
     }
   }
 
@@ -79,4 +115,56 @@ public class LoggingInterceptor implements ClientHttpRequestInterceptor {
         formattedHeaders.length() - 2) : "";
   }
 
+  /**
+   * Response decorator whose body is teed into a bounded capture buffer and logged on close.
+   */
+  private static final class CapturingClientHttpResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse delegate;
+    private final int maxBodyBytes;
+    private BoundedCaptureInputStream body;
+
+    CapturingClientHttpResponse(final ClientHttpResponse delegate, final int maxBodyBytes) {
+      this.delegate = delegate;
+      this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+      return delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+      return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return delegate.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+      if (body == null) {
+        body = new BoundedCaptureInputStream(delegate.getBody(), maxBodyBytes,
+            LoggingInterceptor::logCapturedBody);
+      }
+      return body;
+    }
+
+    @Override
+    public void close() {
+      try {
+        if (body != null) {
+          body.close();
+        }
+      } catch (IOException e) {
+        log.debug("Failed to close captured response body", e);
+      } finally {
+        delegate.close();
+      }
+    }
+  }
+
 }
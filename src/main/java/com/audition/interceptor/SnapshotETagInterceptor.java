@@ -0,0 +1,178 @@
+package com.audition.interceptor;
+
+import com.audition.configuration.CacheProperties;
+import com.audition.service.CommentsSnapshotCache;
+import com.audition.service.PostsQueryPlanner;
+import com.audition.service.PostsSnapshotCache;
+import com.audition.web.SnapshotETag;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Locale;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Answers conditional GETs of {@link SnapshotETag} handlers from the snapshot version alone.
+ *
+ * <p>When the request would be served from a snapshot that needs no blocking load, its strong
+ * ETag is the snapshot name, an epoch chosen at startup and the snapshot version. A request
+ * whose If-None-Match carries that tag, or its gzip variant, gets a 304 without running the
+ * handler, so nothing is serialized and the upstream is not called. Otherwise the tag is left
+ * on the request for the response body advice to send. The epoch keeps versions of an earlier
+ * process, which restart at 1, from matching.
+ *
+ * <p>The tag is chosen once per request: the dispatch that writes the result of an asynchronous
+ * handler keeps it, so the counters are not incremented twice.
+ */
+@Component
+public class SnapshotETagInterceptor implements HandlerInterceptor {
+
+  private static final String METRIC_NAME = "audition.response.etag";
+  private static final String ETAG_ATTRIBUTE = SnapshotETagInterceptor.class.getName() + ".etag";
+  private static final String GZIP_SUFFIX = "-gzip";
+  private static final String WEAK_PREFIX = "W/";
+
+  private final CacheProperties.EntityTags settings;
+  private final PostsSnapshotCache postsSnapshotCache;
+  private final CommentsSnapshotCache commentsSnapshotCache;
+  private final PostsQueryPlanner postsQueryPlanner;
+  private final MeterRegistry meterRegistry;
+  private final String epoch =
+      Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+  /**
+   * Constructor for SnapshotETagInterceptor.
+   *
+   * @param cacheProperties       ETag settings
+   * @param postsSnapshotCache    snapshot behind /posts
+   * @param commentsSnapshotCache snapshot behind the comment endpoints
+   * @param postsQueryPlanner     decides whether a /posts query is answered from the snapshot
+   * @param meterRegistry         registry receiving the conditional request counters
+   */
+  public SnapshotETagInterceptor(final CacheProperties cacheProperties,
+      final PostsSnapshotCache postsSnapshotCache,
+      final CommentsSnapshotCache commentsSnapshotCache,
+      final PostsQueryPlanner postsQueryPlanner, final MeterRegistry meterRegistry) {
+    this.settings = cacheProperties.getEtags();
+    this.postsSnapshotCache = postsSnapshotCache;
+    this.commentsSnapshotCache = commentsSnapshotCache;
+    this.postsQueryPlanner = postsQueryPlanner;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Returns the ETag chosen for {@code request}, or {@code null} when its response is untagged.
+   *
+   * @param request the current request
+   * @return the strong ETag to send
+   */
+  public static String entityTag(final HttpServletRequest request) {
+    return request.getAttribute(ETAG_ATTRIBUTE) instanceof String tag ? tag : null;
+  }
+
+  /**
+   * Returns the tag of the gzip-encoded representation of the response tagged {@code tag}.
+   *
+   * @param tag a quoted strong ETag
+   * @return the tag with a gzip suffix inside the quotes
+   */
+  public static String gzipVariant(final String tag) {
+    return tag.substring(0, tag.length() - 1) + GZIP_SUFFIX + '"';
+  }
+
+  @Override
+  public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+      final Object handler) {
+    if (!settings.isEnabled() || !HttpMethod.GET.matches(request.getMethod())
+        || request.getDispatcherType() == DispatcherType.ASYNC
+        || !(handler instanceof HandlerMethod handlerMethod)) {
+      return true;
+    }
+    final SnapshotETag annotation = handlerMethod.getMethodAnnotation(SnapshotETag.class);
+    if (annotation == null) {
+      return true;
+    }
+    final OptionalLong version = version(annotation.value(), request);
+    if (version.isEmpty()) {
+      outcome(annotation.value(), "untagged").increment();
+      return true;
+    }
+    final String tag = '"' + annotation.value().name().toLowerCase(Locale.ROOT) + '-' + epoch
+        + '-' + version.getAsLong() + '"';
+    final String matched = match(request.getHeader(HttpHeaders.IF_NONE_MATCH), tag);
+    if (matched != null) {
+      outcome(annotation.value(), "not-modified").increment();
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      response.setHeader(HttpHeaders.ETAG, matched);
+      response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+      return false;
+    }
+    outcome(annotation.value(), "tagged").increment();
+    request.setAttribute(ETAG_ATTRIBUTE, tag);
+    return true;
+  }
+
+  private OptionalLong version(final SnapshotETag.Source source,
+      final HttpServletRequest request) {
+    if (source == SnapshotETag.Source.COMMENTS) {
+      return commentsSnapshotCache.isEnabled()
+          ? commentsSnapshotCache.currentVersion() : OptionalLong.empty();
+    }
+    final Integer userId;
+    final Integer id;
+    try {
+      userId = parameter(request, "userId");
+      id = parameter(request, "id");
+    } catch (NumberFormatException e) {
+      // Left to the handler, which rejects the request.
+      return OptionalLong.empty();
+    }
+    return postsQueryPlanner.servesFromSnapshot(userId, id)
+        ? postsSnapshotCache.currentVersion() : OptionalLong.empty();
+  }
+
+  private static Integer parameter(final HttpServletRequest request, final String name) {
+    final String value = request.getParameter(name);
+    return value == null ? null : Integer.valueOf(value.trim());
+  }
+
+  /**
+   * Returns the tag from {@code ifNoneMatch} that names the current representation, plain or
+   * gzip, or {@code null} if none does. If-None-Match uses weak comparison.
+   */
+  private static String match(final String ifNoneMatch, final String tag) {
+    if (ifNoneMatch == null) {
+      return null;
+    }
+    final String gzipTag = gzipVariant(tag);
+    for (final String candidate : ifNoneMatch.split(",")) {
+      String trimmed = candidate.trim();
+      if ("*".equals(trimmed)) {
+        return tag;
+      }
+      if (trimmed.startsWith(WEAK_PREFIX)) {
+        trimmed = trimmed.substring(WEAK_PREFIX.length());
+      }
+      if (tag.equals(trimmed) || gzipTag.equals(trimmed)) {
+        return trimmed;
+      }
+    }
+    return null;
+  }
+
+  private Counter outcome(final SnapshotETag.Source source, final String result) {
+    return Counter.builder(METRIC_NAME)
+        .description("Requests to snapshot-tagged endpoints by conditional outcome")
+        .tag("source", source.name().toLowerCase(Locale.ROOT))
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
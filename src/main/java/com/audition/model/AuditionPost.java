@@ -1,22 +1,27 @@
 package com.audition.model;
 
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
+import lombok.ToString;
 
 /**
  * Represents a post in the Audition system.
+ *
+ * <p>Immutable, so snapshot indexes and cached response bytes can share instances safely. The
+ * shared ObjectMapper reads and writes it through {@link com.audition.model.json.ModelJsonModule}.
  */
 @Getter
-@Setter
+@EqualsAndHashCode
+@ToString
 @AllArgsConstructor
-@NoArgsConstructor
+@NoArgsConstructor(force = true)
 public class AuditionPost {
 
-  private int userId;
-  private int id;
-  private String title;
-  private String body;
+  private final int userId;
+  private final int id;
+  private final String title;
+  private final String body;
 
 }
@@ -1,24 +1,29 @@
 package com.audition.model;
 
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
+import lombok.ToString;
 
 
 /**
  * Represents a comment in the Audition system.
+ *
+ * <p>Immutable, like {@link AuditionPost}, and read and written by the shared ObjectMapper
+ * through {@link com.audition.model.json.ModelJsonModule}.
  */
 @Getter
-@Setter
+@EqualsAndHashCode
+@ToString
 @AllArgsConstructor
-@NoArgsConstructor
+@NoArgsConstructor(force = true)
 public class Comment {
 
-  private int postId;
-  private int id;
-  private String name;
-  private String email;
-  private String body;
+  private final int postId;
+  private final int id;
+  private final String name;
+  private final String email;
+  private final String body;
 
 }
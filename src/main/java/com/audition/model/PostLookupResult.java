@@ -0,0 +1,22 @@
+package com.audition.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of looking up one id in a batch post lookup.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostLookupResult {
+
+  private String id;
+  private int status;
+  private AuditionPost post;
+  private String error;
+
+}
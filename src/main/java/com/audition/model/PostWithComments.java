@@ -0,0 +1,31 @@
+package com.audition.model;
+
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A post together with its comments, returned by the composite post lookup.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@NoArgsConstructor(force = true)
+public class PostWithComments extends AuditionPost {
+
+  private final List<Comment> comments;
+
+  /**
+   * Constructor combining a post with its comments.
+   *
+   * @param post     the post
+   * @param comments the comments of the post
+   */
+  public PostWithComments(final AuditionPost post, final List<Comment> comments) {
+    super(post.getUserId(), post.getId(), post.getTitle(), post.getBody());
+    this.comments = comments;
+  }
+
+}
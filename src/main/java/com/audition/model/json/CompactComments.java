@@ -0,0 +1,234 @@
+package com.audition.model.json;
+
+import com.audition.model.Comment;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Compact, immutable store of a comment corpus.
+ *
+ * <p>All text lives as UTF-8 byte slices in one shared arena and each comment is a row of int
+ * columns pointing into it, so a cached comment costs five ints plus its text bytes instead of a
+ * {@link Comment} and three Strings. Names and emails repeat across comments and are stored
+ * once. Slices of the store are read-only {@link List}s that materialize a {@link Comment} only
+ * when an element is asked for; {@link ModelJsonModule} writes them as JSON straight from the
+ * arena bytes.
+ */
+public final class CompactComments {
+
+  private static final int NULL_SLOT = -1;
+
+  private final byte[] text;
+  private final int[] slotOffsets;
+  private final int[] slotLengths;
+  private final int[] postIds;
+  private final int[] ids;
+  private final int[] names;
+  private final int[] emails;
+  private final int[] bodies;
+
+  private CompactComments(final Arena arena, final int[] postIds, final int[] ids,
+      final int[] names, final int[] emails, final int[] bodies) {
+    this.text = Arrays.copyOf(arena.bytes, arena.used);
+    this.slotOffsets = Arrays.copyOf(arena.offsets, arena.slots);
+    this.slotLengths = Arrays.copyOf(arena.lengths, arena.slots);
+    this.postIds = postIds;
+    this.ids = ids;
+    this.names = names;
+    this.emails = emails;
+    this.bodies = bodies;
+  }
+
+  /**
+   * Copies {@code comments} into a new store, keeping their order.
+   *
+   * @param comments the comments to store
+   * @return the store
+   */
+  public static CompactComments of(final List<Comment> comments) {
+    final int rows = comments.size();
+    final int[] postIds = new int[rows];
+    final int[] ids = new int[rows];
+    final int[] names = new int[rows];
+    final int[] emails = new int[rows];
+    final int[] bodies = new int[rows];
+    final Arena arena = new Arena(rows);
+    final Map<String, Integer> shared = new HashMap<>();
+    for (int row = 0; row < rows; row++) {
+      final Comment comment = comments.get(row);
+      postIds[row] = comment.getPostId();
+      ids[row] = comment.getId();
+      names[row] = arena.addShared(comment.getName(), shared);
+      emails[row] = arena.addShared(comment.getEmail(), shared);
+      bodies[row] = arena.add(comment.getBody());
+    }
+    return new CompactComments(arena, postIds, ids, names, emails, bodies);
+  }
+
+  /**
+   * Returns a read-only view of the comments in rows {@code from} (inclusive) to {@code to}
+   * (exclusive).
+   *
+   * @param from first row
+   * @param to   end row
+   * @return the comments in the range
+   */
+  public List<Comment> slice(final int from, final int to) {
+    Objects.checkFromToIndex(from, to, postIds.length);
+    return new Slice(this, from, to - from);
+  }
+
+  /**
+   * Returns the number of stored comments.
+   */
+  public int size() {
+    return postIds.length;
+  }
+
+  /**
+   * Returns the number of distinct text slices held in the arena.
+   */
+  public int slots() {
+    return slotOffsets.length;
+  }
+
+  /**
+   * Returns the size of the UTF-8 text arena in bytes.
+   */
+  public int textBytes() {
+    return text.length;
+  }
+
+  private String string(final int slot) {
+    return slot == NULL_SLOT ? null
+        : new String(text, slotOffsets[slot], slotLengths[slot], StandardCharsets.UTF_8);
+  }
+
+  private Comment comment(final int row) {
+    return new Comment(postIds[row], ids[row], string(names[row]), string(emails[row]),
+        string(bodies[row]));
+  }
+
+  private void writeRow(final int row, final JsonGenerator gen) throws IOException {
+    gen.writeStartObject();
+    gen.writeFieldName(ModelJsonModule.POST_ID);
+    gen.writeNumber(postIds[row]);
+    gen.writeFieldName(ModelJsonModule.ID);
+    gen.writeNumber(ids[row]);
+    writeText(gen, ModelJsonModule.NAME, names[row]);
+    writeText(gen, ModelJsonModule.EMAIL, emails[row]);
+    writeText(gen, ModelJsonModule.BODY, bodies[row]);
+    gen.writeEndObject();
+  }
+
+  /**
+   * Writes a text slot; null and empty text is left out. Byte-oriented generators get the
+   * arena bytes as is, escaped but not decoded, while character-oriented ones, which cannot take
+   * UTF-8 input, get a decoded String.
+   */
+  private void writeText(final JsonGenerator gen, final SerializableString name, final int slot)
+      throws IOException {
+    if (slot != NULL_SLOT && slotLengths[slot] > 0) {
+      gen.writeFieldName(name);
+      if (gen instanceof UTF8JsonGenerator) {
+        gen.writeUTF8String(text, slotOffsets[slot], slotLengths[slot]);
+      } else {
+        gen.writeString(string(slot));
+      }
+    }
+  }
+
+  /**
+   * Read-only run of consecutive rows of a store.
+   */
+  public static final class Slice extends AbstractList<Comment> implements RandomAccess {
+
+    private final CompactComments store;
+    private final int from;
+    private final int count;
+
+    Slice(final CompactComments store, final int from, final int count) {
+      this.store = store;
+      this.from = from;
+      this.count = count;
+    }
+
+    @Override
+    public Comment get(final int index) {
+      return store.comment(from + Objects.checkIndex(index, count));
+    }
+
+    @Override
+    public int size() {
+      return count;
+    }
+
+    void writeTo(final JsonGenerator gen) throws IOException {
+      gen.writeStartArray(this, count);
+      for (int row = from; row < from + count; row++) {
+        store.writeRow(row, gen);
+      }
+      gen.writeEndArray();
+    }
+  }
+
+  /**
+   * Growable UTF-8 arena with a table of slot offsets and lengths, used while building.
+   */
+  private static final class Arena {
+
+    private byte[] bytes;
+    private int used;
+    private int[] offsets;
+    private int[] lengths;
+    private int slots;
+
+    Arena(final int rows) {
+      this.bytes = new byte[Math.max(64, rows * 128)];
+      this.offsets = new int[Math.max(16, rows * 2)];
+      this.lengths = new int[offsets.length];
+    }
+
+    int addShared(final String value, final Map<String, Integer> shared) {
+      if (value == null) {
+        return NULL_SLOT;
+      }
+      final Integer slot = shared.get(value);
+      if (slot != null) {
+        return slot;
+      }
+      final int added = add(value);
+      shared.put(value, added);
+      return added;
+    }
+
+    int add(final String value) {
+      if (value == null) {
+        return NULL_SLOT;
+      }
+      final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+      if (used + utf8.length > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, used + utf8.length));
+      }
+      System.arraycopy(utf8, 0, bytes, used, utf8.length);
+      if (slots == offsets.length) {
+        offsets = Arrays.copyOf(offsets, slots * 2);
+        lengths = Arrays.copyOf(lengths, slots * 2);
+      }
+      offsets[slots] = used;
+      lengths[slots] = utf8.length;
+      used += utf8.length;
+      return slots++;
+    }
+  }
+}
@@ -0,0 +1,366 @@
+package com.audition.model.json;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.audition.model.PostWithComments;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Hand-written Jackson serializers and deserializers for the API models.
+ *
+ * <p>They read and write fields directly instead of going through bean introspection and
+ * reflective property access, with field names pre-encoded once. Output matches what the shared
+ * ObjectMapper writes reflectively: properties in declaration order, numbers always written and
+ * null or empty strings and lists left out. Unknown properties are skipped on read.
+ */
+public class ModelJsonModule extends SimpleModule {
+
+  private static final long serialVersionUID = 3021766395129472781L;
+
+  private static final SerializableString USER_ID = new SerializedString("userId");
+  static final SerializableString POST_ID = new SerializedString("postId");
+  static final SerializableString ID = new SerializedString("id");
+  private static final SerializableString TITLE = new SerializedString("title");
+  static final SerializableString NAME = new SerializedString("name");
+  static final SerializableString EMAIL = new SerializedString("email");
+  static final SerializableString BODY = new SerializedString("body");
+  private static final SerializableString COMMENTS = new SerializedString("comments");
+
+  /**
+   * Constructor for ModelJsonModule.
+   */
+  public ModelJsonModule() {
+    super(ModelJsonModule.class.getSimpleName());
+    addSerializer(AuditionPost.class, new PostSerializer());
+    // Registered separately: lookup by superclass would otherwise drop the comments.
+    addSerializer(PostWithComments.class, new PostWithCommentsSerializer());
+    addSerializer(Comment.class, new CommentSerializer());
+    addSerializer(CompactComments.Slice.class, new CompactCommentsSerializer());
+    // Declared List<Comment> types are bound to a collection serializer before the runtime class
+    // is seen, so slices reach the arena only through this wrapper.
+    setSerializerModifier(new CommentListSerializerModifier());
+    addDeserializer(AuditionPost.class, new PostDeserializer());
+    addDeserializer(Comment.class, new CommentDeserializer());
+  }
+
+  private static void writePostFields(final AuditionPost post, final JsonGenerator gen)
+      throws IOException {
+    gen.writeFieldName(USER_ID);
+    gen.writeNumber(post.getUserId());
+    gen.writeFieldName(ID);
+    gen.writeNumber(post.getId());
+    writeText(gen, TITLE, post.getTitle());
+    writeText(gen, BODY, post.getBody());
+  }
+
+  private static void writeComment(final Comment comment, final JsonGenerator gen)
+      throws IOException {
+    gen.writeStartObject(comment);
+    gen.writeFieldName(POST_ID);
+    gen.writeNumber(comment.getPostId());
+    gen.writeFieldName(ID);
+    gen.writeNumber(comment.getId());
+    writeText(gen, NAME, comment.getName());
+    writeText(gen, EMAIL, comment.getEmail());
+    writeText(gen, BODY, comment.getBody());
+    gen.writeEndObject();
+  }
+
+  private static void writeText(final JsonGenerator gen, final SerializableString name,
+      final String value) throws IOException {
+    if (value != null && !value.isEmpty()) {
+      gen.writeFieldName(name);
+      gen.writeString(value);
+    }
+  }
+
+  /**
+   * Advances to the first property of an object, failing as Jackson would on anything else.
+   */
+  private static JsonToken firstField(final JsonParser parser,
+      final DeserializationContext context, final Class<?> type) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.START_OBJECT) {
+      token = parser.nextToken();
+    }
+    if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+      context.handleUnexpectedToken(type, parser);
+    }
+    return token;
+  }
+
+  private static int readInt(final JsonParser parser, final DeserializationContext context)
+      throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+      return parser.getIntValue();
+    }
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return 0;
+    }
+    return context.readValue(parser, Integer.TYPE);
+  }
+
+  private static String readText(final JsonParser parser, final DeserializationContext context)
+      throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_STRING) {
+      return parser.getText();
+    }
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    return context.readValue(parser, String.class);
+  }
+
+  /**
+   * Writes an {@link AuditionPost}.
+   */
+  static final class PostSerializer extends StdSerializer<AuditionPost> {
+
+    private static final long serialVersionUID = -4645925829130166014L;
+
+    PostSerializer() {
+      super(AuditionPost.class);
+    }
+
+    @Override
+    public void serialize(final AuditionPost post, final JsonGenerator gen,
+        final SerializerProvider provider) throws IOException {
+      gen.writeStartObject(post);
+      writePostFields(post, gen);
+      gen.writeEndObject();
+    }
+  }
+
+  /**
+   * Writes a {@link PostWithComments}: the post's properties followed by its comments.
+   */
+  static final class PostWithCommentsSerializer extends StdSerializer<PostWithComments> {
+
+    private static final long serialVersionUID = 5190368702246914183L;
+
+    PostWithCommentsSerializer() {
+      super(PostWithComments.class);
+    }
+
+    @Override
+    public void serialize(final PostWithComments post, final JsonGenerator gen,
+        final SerializerProvider provider) throws IOException {
+      gen.writeStartObject(post);
+      writePostFields(post, gen);
+      final List<Comment> comments = post.getComments();
+      if (comments != null && !comments.isEmpty()) {
+        gen.writeFieldName(COMMENTS);
+        if (comments instanceof CompactComments.Slice slice) {
+          slice.writeTo(gen);
+          gen.writeEndObject();
+          return;
+        }
+        gen.writeStartArray(comments, comments.size());
+        for (final Comment comment : comments) {
+          if (comment == null) {
+            gen.writeNull();
+          } else {
+            writeComment(comment, gen);
+          }
+        }
+        gen.writeEndArray();
+      }
+      gen.writeEndObject();
+    }
+  }
+
+  /**
+   * Writes a {@link Comment}.
+   */
+  static final class CommentSerializer extends StdSerializer<Comment> {
+
+    private static final long serialVersionUID = 8391021563708245307L;
+
+    CommentSerializer() {
+      super(Comment.class);
+    }
+
+    @Override
+    public void serialize(final Comment comment, final JsonGenerator gen,
+        final SerializerProvider provider) throws IOException {
+      writeComment(comment, gen);
+    }
+  }
+
+  /**
+   * Writes a slice of {@link CompactComments} straight from its UTF-8 arena.
+   */
+  static final class CompactCommentsSerializer extends StdSerializer<CompactComments.Slice> {
+
+    private static final long serialVersionUID = -2873164407752195380L;
+
+    CompactCommentsSerializer() {
+      super(CompactComments.Slice.class);
+    }
+
+    @Override
+    public boolean isEmpty(final SerializerProvider provider, final CompactComments.Slice value) {
+      return value.isEmpty();
+    }
+
+    @Override
+    public void serialize(final CompactComments.Slice comments, final JsonGenerator gen,
+        final SerializerProvider provider) throws IOException {
+      comments.writeTo(gen);
+    }
+  }
+
+  /**
+   * Wraps the collection serializer Jackson builds for a declared collection of comments, such as
+   * a controller's {@code List<Comment>} return type, in a {@link CommentListSerializer}.
+   */
+  static final class CommentListSerializerModifier extends BeanSerializerModifier {
+
+    private static final long serialVersionUID = 6410975213869742251L;
+
+    @Override
+    public JsonSerializer<?> modifyCollectionSerializer(final SerializationConfig config,
+        final CollectionType valueType, final BeanDescription beanDesc,
+        final JsonSerializer<?> serializer) {
+      if (valueType.getContentType().hasRawClass(Comment.class)) {
+        return new CommentListSerializer(serializer);
+      }
+      return serializer;
+    }
+  }
+
+  /**
+   * Writes a {@link CompactComments.Slice} straight from its arena and any other collection of
+   * comments with the serializer Jackson built for it.
+   */
+  static final class CommentListSerializer extends StdSerializer<Collection<?>>
+      implements ContextualSerializer {
+
+    private static final long serialVersionUID = -1719036226472810375L;
+
+    private final JsonSerializer<Object> fallback;
+
+    @SuppressWarnings("unchecked")
+    CommentListSerializer(final JsonSerializer<?> fallback) {
+      super(Collection.class, false);
+      this.fallback = (JsonSerializer<Object>) fallback;
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(final SerializerProvider provider,
+        final BeanProperty property) throws JsonMappingException {
+      if (fallback instanceof ContextualSerializer contextual) {
+        final JsonSerializer<?> resolved = contextual.createContextual(provider, property);
+        if (resolved != fallback) {
+          return new CommentListSerializer(resolved);
+        }
+      }
+      return this;
+    }
+
+    @Override
+    public boolean isEmpty(final SerializerProvider provider, final Collection<?> value) {
+      return value.isEmpty();
+    }
+
+    @Override
+    public void serialize(final Collection<?> comments, final JsonGenerator gen,
+        final SerializerProvider provider) throws IOException {
+      if (comments instanceof CompactComments.Slice slice) {
+        slice.writeTo(gen);
+      } else {
+        fallback.serialize(comments, gen, provider);
+      }
+    }
+  }
+
+  /**
+   * Reads an {@link AuditionPost}.
+   */
+  static final class PostDeserializer extends StdDeserializer<AuditionPost> {
+
+    private static final long serialVersionUID = 2269318410512937644L;
+
+    PostDeserializer() {
+      super(AuditionPost.class);
+    }
+
+    @Override
+    public AuditionPost deserialize(final JsonParser parser,
+        final DeserializationContext context) throws IOException {
+      int userId = 0;
+      int id = 0;
+      String title = null;
+      String body = null;
+      for (JsonToken token = firstField(parser, context, AuditionPost.class);
+          token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+        final String field = parser.currentName();
+        parser.nextToken();
+        switch (field) {
+          case "userId" -> userId = readInt(parser, context);
+          case "id" -> id = readInt(parser, context);
+          case "title" -> title = readText(parser, context);
+          case "body" -> body = readText(parser, context);
+          default -> parser.skipChildren();
+        }
+      }
+      return new AuditionPost(userId, id, title, body);
+    }
+  }
+
+  /**
+   * Reads a {@link Comment}.
+   */
+  static final class CommentDeserializer extends StdDeserializer<Comment> {
+
+    private static final long serialVersionUID = -7152309843871196605L;
+
+    CommentDeserializer() {
+      super(Comment.class);
+    }
+
+    @Override
+    public Comment deserialize(final JsonParser parser, final DeserializationContext context)
+        throws IOException {
+      int postId = 0;
+      int id = 0;
+      String name = null;
+      String email = null;
+      String body = null;
+      for (JsonToken token = firstField(parser, context, Comment.class);
+          token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+        final String field = parser.currentName();
+        parser.nextToken();
+        switch (field) {
+          case "postId" -> postId = readInt(parser, context);
+          case "id" -> id = readInt(parser, context);
+          case "name" -> name = readText(parser, context);
+          case "email" -> email = readText(parser, context);
+          case "body" -> body = readText(parser, context);
+          default -> parser.skipChildren();
+        }
+      }
+      return new Comment(postId, id, name, email, body);
+    }
+  }
+}
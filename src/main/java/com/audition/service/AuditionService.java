@@ -1,13 +1,38 @@
 package com.audition.service;
 
+import com.audition.common.concurrent.Deadline;
+import com.audition.common.concurrent.DeadlineContext;
+import com.audition.common.concurrent.SingleFlight;
+import com.audition.common.exception.DeadlineExceededException;
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.IntegrationProperties;
 import com.audition.integration.AuditionIntegrationClient;
+import com.audition.integration.ReactiveAuditionIntegrationClient;
+import com.audition.integration.UpstreamGuard;
+import com.audition.integration.UpstreamHedger;
+import com.audition.integration.UpstreamOperation;
+import com.audition.integration.UpstreamRetrier;
 import com.audition.model.AuditionPost;
 import com.audition.model.Comment;
+import com.audition.model.PostLookupResult;
+import com.audition.model.PostWithComments;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Service class for Audition application.
@@ -18,23 +43,133 @@ public class AuditionService {
 
   public static final String USER_ID = "userId";
 
+  private static final int DEFAULT_OFFLOAD_THREADS = 200;
+
   /**
    * The AuditionIntegrationClient instance.
    */
 
   private final  AuditionIntegrationClient auditionIntegrationClient;
 
+  /**
+   * The non-blocking twin of the integration client.
+   */
+  private final ReactiveAuditionIntegrationClient reactiveAuditionIntegrationClient;
+
+  /**
+   * Selects the upstream engine.
+   */
+  private final IntegrationProperties integrationProperties;
+
+  /**
+   * Coalesces identical concurrent upstream calls.
+   */
+  private final SingleFlight singleFlight;
+
+  /**
+   * Micro-batches single-post lookups when enabled.
+   */
+  private final PostByIdBatcher postByIdBatcher;
+
+  /**
+   * Stale-while-revalidate snapshot of the full posts collection.
+   */
+  private final PostsSnapshotCache postsSnapshotCache;
+
+  /**
+   * Circuit breaker, bulkhead and adaptive limit around upstream calls.
+   */
+  private final UpstreamGuard upstreamGuard;
+
+  /**
+   * Hedges slow single-post and comment reads.
+   */
+  private final UpstreamHedger upstreamHedger;
+
+  /**
+   * Retries transient upstream failures.
+   */
+  private final UpstreamRetrier upstreamRetrier;
+
+  /**
+   * Chooses between the snapshot, upstream filtering and a local scan for filtered queries.
+   */
+  private final PostsQueryPlanner postsQueryPlanner;
+
+  /**
+   * Snapshot of the full /comments collection, partitioned by postId.
+   */
+  private final CommentsSnapshotCache commentsSnapshotCache;
+
+  /**
+   * Rejects lookups of post ids known not to exist.
+   */
+  private final MissingPostFilter missingPostFilter;
+
+  /**
+   * Runs the blocking upstream calls of the non-blocking variants, on as many threads as Tomcat
+   * serves requests with, or on virtual threads when those serve requests.
+   */
+  private final Scheduler offloadScheduler;
+
   /**
    * Constructor for AuditionService.
    *
    */
-  public AuditionService(AuditionIntegrationClient auditionIntegrationClient) {
+  public AuditionService(AuditionIntegrationClient auditionIntegrationClient,
+      ReactiveAuditionIntegrationClient reactiveAuditionIntegrationClient,
+      IntegrationProperties integrationProperties, SingleFlight singleFlight,
+      PostByIdBatcher postByIdBatcher, PostsSnapshotCache postsSnapshotCache,
+      UpstreamGuard upstreamGuard, UpstreamHedger upstreamHedger,
+      UpstreamRetrier upstreamRetrier, PostsQueryPlanner postsQueryPlanner,
+      CommentsSnapshotCache commentsSnapshotCache, MissingPostFilter missingPostFilter) {
+    this(auditionIntegrationClient, reactiveAuditionIntegrationClient, integrationProperties,
+        singleFlight, postByIdBatcher, postsSnapshotCache, upstreamGuard, upstreamHedger,
+        upstreamRetrier, postsQueryPlanner, commentsSnapshotCache, missingPostFilter, false,
+        DEFAULT_OFFLOAD_THREADS);
+  }
+
+  /**
+   * Constructor for AuditionService choosing the threads that run offloaded blocking calls.
+   *
+   * @param virtualThreads run offloaded calls on virtual threads
+   * @param offloadThreads platform threads for offloaded calls, Tomcat's request thread limit
+   */
+  @Autowired
+  public AuditionService(AuditionIntegrationClient auditionIntegrationClient,
+      ReactiveAuditionIntegrationClient reactiveAuditionIntegrationClient,
+      IntegrationProperties integrationProperties, SingleFlight singleFlight,
+      PostByIdBatcher postByIdBatcher, PostsSnapshotCache postsSnapshotCache,
+      UpstreamGuard upstreamGuard, UpstreamHedger upstreamHedger,
+      UpstreamRetrier upstreamRetrier, PostsQueryPlanner postsQueryPlanner,
+      CommentsSnapshotCache commentsSnapshotCache, MissingPostFilter missingPostFilter,
+      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+      @Value("${server.tomcat.threads.max:" + DEFAULT_OFFLOAD_THREADS + "}")
+      int offloadThreads) {
     this.auditionIntegrationClient = auditionIntegrationClient;
+    this.reactiveAuditionIntegrationClient = reactiveAuditionIntegrationClient;
+    this.integrationProperties = integrationProperties;
+    this.singleFlight = singleFlight;
+    this.postByIdBatcher = postByIdBatcher;
+    this.postsSnapshotCache = postsSnapshotCache;
+    this.upstreamGuard = upstreamGuard;
+    this.upstreamHedger = upstreamHedger;
+    this.upstreamRetrier = upstreamRetrier;
+    this.postsQueryPlanner = postsQueryPlanner;
+    this.commentsSnapshotCache = commentsSnapshotCache;
+    this.missingPostFilter = missingPostFilter;
+    this.offloadScheduler = offloadScheduler(virtualThreads, offloadThreads);
   }
 
 
   public List<AuditionPost> getPosts() {
-    return auditionIntegrationClient.getPosts();
+    if (postsSnapshotCache.isEnabled()) {
+      return postsSnapshotCache.get();
+    }
+    if (!isReactive()) {
+      return resilient(UpstreamOperation.POSTS, auditionIntegrationClient::getPosts);
+    }
+    return getPostsAsync().block();
   }
 
   /**
@@ -42,7 +177,45 @@ public class AuditionService {
    *
    */
   public AuditionPost getPostById(final String postId) {
-    return auditionIntegrationClient.getPostById(postId);
+    if (isReactive()) {
+      return getPostByIdAsync(postId).block();
+    }
+    if (missingPostFilter.isKnownMissing(postId)) {
+      throw MissingPostFilter.notFound(postId);
+    }
+    try {
+      return coalesce(UpstreamOperation.POST_BY_ID, postId, () -> fetchPostById(postId));
+    } catch (SystemException e) {
+      missingPostFilter.recordIfMissing(postId, e);
+      throw e;
+    }
+  }
+
+  /**
+   * Looks up several posts, answering from a fresh snapshot where possible and fetching the rest
+   * in parallel, at most {@code fanOut.concurrency} at a time.
+   *
+   * <p>Each id gets its own result, in request order; a failed lookup is reported with its
+   * status instead of failing the batch.
+   */
+  public List<PostLookupResult> getPostsByIds(final List<Integer> ids) {
+    return getPostsByIdsAsync(ids).block();
+  }
+
+  /**
+   * Non-blocking variant of {@link #getPostsByIds(List)}.
+   */
+  public Mono<List<PostLookupResult>> getPostsByIdsAsync(final List<Integer> ids) {
+    final PostIndex index = postsSnapshotCache.isEnabled() && postsSnapshotCache.isFresh()
+        ? postsSnapshotCache.index() : null;
+    // Assembled on the calling thread so every lookup captures the request deadline.
+    final List<Mono<PostLookupResult>> lookups = new ArrayList<>(ids.size());
+    for (final Integer id : ids) {
+      lookups.add(lookup(id, index));
+    }
+    return Flux.fromIterable(lookups)
+        .flatMapSequential(Function.identity(), integrationProperties.getFanOut().getConcurrency())
+        .collectList();
   }
 
   /**
@@ -50,7 +223,31 @@ public class AuditionService {
    *
    */
   public List<Comment> getPostWithComments(final String postId) {
-    return auditionIntegrationClient.getPostWithComments(postId);
+    final Integer snapshotPostId = snapshotPostId(postId);
+    if (snapshotPostId != null) {
+      return commentsSnapshotCache.byPostId(snapshotPostId);
+    }
+    if (!isReactive()) {
+      return coalesce(UpstreamOperation.POST_COMMENTS, postId,
+          () -> auditionIntegrationClient.getPostWithComments(postId));
+    }
+    return getPostWithCommentsAsync(postId).block();
+  }
+
+  /**
+   * Get the post and its comments in one call. Both are fetched concurrently, so the latency is
+   * that of the slower call; if either fails the other is cancelled and the failure is thrown.
+   */
+  public PostWithComments getPostWithCommentsById(final String postId) {
+    return getPostWithCommentsByIdAsync(postId).block();
+  }
+
+  /**
+   * Non-blocking variant of {@link #getPostWithCommentsById(String)}.
+   */
+  public Mono<PostWithComments> getPostWithCommentsByIdAsync(final String postId) {
+    return Mono.zip(getPostByIdAsync(postId), getPostWithCommentsAsync(postId),
+        PostWithComments::new);
   }
 
   /**
@@ -58,18 +255,258 @@ public class AuditionService {
    *
    */
   public List<Comment> getCommentsByPostIdQueryParam(final String postId) {
-    return auditionIntegrationClient.getCommentsByPostIdQueryParam(postId);
+    final Integer snapshotPostId = snapshotPostId(postId);
+    if (snapshotPostId != null) {
+      return commentsSnapshotCache.byPostId(snapshotPostId);
+    }
+    if (!isReactive()) {
+      return coalesce(UpstreamOperation.COMMENTS_BY_QUERY, postId,
+          () -> auditionIntegrationClient.getCommentsByPostIdQueryParam(postId));
+    }
+    return getCommentsByPostIdQueryParamAsync(postId).block();
+  }
+
+  /**
+   * Non-blocking variant of {@link #getPosts()}.
+   */
+  public Mono<List<AuditionPost>> getPostsAsync() {
+    if (postsSnapshotCache.isEnabled()) {
+      return Mono.fromCallable(postsSnapshotCache::get);
+    }
+    if (isReactive()) {
+      return withinDeadline(UpstreamOperation.POSTS, resilientAsync(UpstreamOperation.POSTS,
+          () -> reactiveAuditionIntegrationClient.getPosts().collectList()));
+    }
+    return offload(() -> resilient(UpstreamOperation.POSTS,
+        auditionIntegrationClient::getPosts));
+  }
+
+  /**
+   * Non-blocking variant of {@link #getPostById(String)}.
+   */
+  public Mono<AuditionPost> getPostByIdAsync(final String postId) {
+    if (isReactive()) {
+      if (missingPostFilter.isKnownMissing(postId)) {
+        return Mono.error(MissingPostFilter.notFound(postId));
+      }
+      return coalesceAsync(UpstreamOperation.POST_BY_ID, postId,
+          () -> reactiveAuditionIntegrationClient.getPostById(postId))
+          .doOnError(e -> missingPostFilter.recordIfMissing(postId, e));
+    }
+    return offload(() -> getPostById(postId));
+  }
+
+  /**
+   * Non-blocking variant of {@link #getPostWithComments(String)}.
+   */
+  public Mono<List<Comment>> getPostWithCommentsAsync(final String postId) {
+    final Integer snapshotPostId = snapshotPostId(postId);
+    if (snapshotPostId != null) {
+      return Mono.fromCallable(() -> commentsSnapshotCache.byPostId(snapshotPostId));
+    }
+    if (isReactive()) {
+      return coalesceAsync(UpstreamOperation.POST_COMMENTS, postId,
+          () -> reactiveAuditionIntegrationClient.getPostWithComments(postId).collectList());
+    }
+    return offload(() -> getPostWithComments(postId));
+  }
+
+  /**
+   * Non-blocking variant of {@link #getCommentsByPostIdQueryParam(String)}.
+   */
+  public Mono<List<Comment>> getCommentsByPostIdQueryParamAsync(final String postId) {
+    final Integer snapshotPostId = snapshotPostId(postId);
+    if (snapshotPostId != null) {
+      return Mono.fromCallable(() -> commentsSnapshotCache.byPostId(snapshotPostId));
+    }
+    if (isReactive()) {
+      return coalesceAsync(UpstreamOperation.COMMENTS_BY_QUERY, postId,
+          () -> reactiveAuditionIntegrationClient.getCommentsByPostIdQueryParam(postId)
+              .collectList());
+    }
+    return offload(() -> getCommentsByPostIdQueryParam(postId));
   }
 
   /**
    * Filters the posts based on the userId and id.
+   *
+   * <p>With the snapshot enabled the filters are answered from its indexes instead of a scan;
+   * otherwise streaming decode applies them while the upstream array is parsed.
    */
   public List<AuditionPost> applyFilters(Integer userId, Integer id) {
+    switch (postsQueryPlanner.plan(userId, id)) {
+      case SNAPSHOT:
+        return postsSnapshotCache.index().query(userId, id);
+      case PUSHDOWN:
+        return getPostsFiltered(userId, id);
+      case STREAM:
+        return resilient(UpstreamOperation.POSTS,
+            () -> auditionIntegrationClient.streamPosts(userId, id));
+      default:
+        return filter(getPosts(), userId, id);
+    }
+  }
+
+  /**
+   * Non-blocking variant of {@link #applyFilters(Integer, Integer)}.
+   */
+  public Mono<List<AuditionPost>> applyFiltersAsync(final Integer userId, final Integer id) {
+    switch (postsQueryPlanner.plan(userId, id)) {
+      case SNAPSHOT:
+        return Mono.fromCallable(() -> postsSnapshotCache.index().query(userId, id));
+      case PUSHDOWN:
+        return isReactive() ? getPostsFilteredAsync(userId, id)
+            : offload(() -> getPostsFiltered(userId, id));
+      case STREAM:
+        return offload(() -> resilient(UpstreamOperation.POSTS,
+            () -> auditionIntegrationClient.streamPosts(userId, id)));
+      default:
+        return getPostsAsync().map(posts -> filter(posts, userId, id));
+    }
+  }
 
-    return getPosts().stream()
+  private static List<AuditionPost> filter(final List<AuditionPost> posts, final Integer userId,
+      final Integer id) {
+    return posts.stream()
         .filter(post -> userId == null || post.getUserId() == userId)
         .filter(post -> id == null || post.getId() == id)
         .collect(Collectors.toList());
   }
 
-}
\ No newline at end of file
+  private List<AuditionPost> getPostsFiltered(final Integer userId, final Integer id) {
+    if (!isReactive()) {
+      return resilient(UpstreamOperation.POSTS,
+          () -> auditionIntegrationClient.getPostsFiltered(userId, id));
+    }
+    return getPostsFilteredAsync(userId, id).block();
+  }
+
+  private Mono<List<AuditionPost>> getPostsFilteredAsync(final Integer userId, final Integer id) {
+    return withinDeadline(UpstreamOperation.POSTS, resilientAsync(UpstreamOperation.POSTS,
+        () -> reactiveAuditionIntegrationClient.getPostsFiltered(userId, id).collectList()));
+  }
+
+  private Mono<PostLookupResult> lookup(final int id, final PostIndex index) {
+    final String postId = String.valueOf(id);
+    final AuditionPost cached = index == null ? null : index.byId(id);
+    if (cached != null) {
+      return Mono.just(new PostLookupResult(postId, HttpStatus.OK.value(), cached, null));
+    }
+    return getPostByIdAsync(postId)
+        .map(post -> new PostLookupResult(postId, HttpStatus.OK.value(), post, null))
+        .onErrorResume(e -> Mono.just(failedLookup(postId, e)));
+  }
+
+  private static PostLookupResult failedLookup(final String postId, final Throwable error) {
+    if (error instanceof SystemException systemException
+        && systemException.getStatusCode() != null) {
+      return new PostLookupResult(postId, systemException.getStatusCode(), null,
+          systemException.getMessage());
+    }
+    return new PostLookupResult(postId, HttpStatus.INTERNAL_SERVER_ERROR.value(), null,
+        "Failed to retrieve post with id " + postId);
+  }
+
+  private AuditionPost fetchPostById(final String postId) {
+    if (integrationProperties.getBatch().isEnabled()) {
+      try {
+        return postByIdBatcher.getPostById(Integer.parseInt(postId));
+      } catch (NumberFormatException e) {
+        // Not batchable; let the upstream answer for malformed ids as before.
+      }
+    }
+    return auditionIntegrationClient.getPostById(postId);
+  }
+
+  /**
+   * Returns the numeric post id when its comments are served from the snapshot, or
+   * {@code null} when they should be fetched from the upstream.
+   */
+  private Integer snapshotPostId(final String postId) {
+    if (!commentsSnapshotCache.isEnabled()) {
+      return null;
+    }
+    try {
+      return Integer.valueOf(postId);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private boolean isReactive() {
+    return integrationProperties.getEngine() == IntegrationProperties.Engine.REACTIVE;
+  }
+
+  private <T> T resilient(final UpstreamOperation operation, final Supplier<T> call) {
+    return upstreamRetrier.call(operation, () -> upstreamGuard.call(operation, call));
+  }
+
+  private <T> Mono<T> resilientAsync(final UpstreamOperation operation,
+      final Supplier<Mono<T>> call) {
+    return upstreamRetrier.callAsync(operation, () -> upstreamGuard.callAsync(operation, call));
+  }
+
+  private <T> T coalesce(final UpstreamOperation operation, final String key,
+      final Supplier<T> call) {
+    // A batched lookup is already shared by many callers; hedging it would duplicate the batch.
+    final boolean hedge = operation != UpstreamOperation.POST_BY_ID
+        || !integrationProperties.getBatch().isEnabled();
+    final Supplier<T> hedged = hedge ? () -> upstreamHedger.call(operation, call) : call;
+    // The guard holds one permit and takes one latency sample for a primary and its hedge.
+    final Supplier<T> guarded = () -> upstreamRetrier.call(operation,
+        () -> upstreamGuard.call(operation, hedged));
+    if (!integrationProperties.isCoalesce()) {
+      return guarded.get();
+    }
+    return singleFlight.execute(operation.getTag(), key, guarded);
+  }
+
+  private <T> Mono<T> coalesceAsync(final UpstreamOperation operation, final String key,
+      final Supplier<Mono<T>> call) {
+    final Supplier<Mono<T>> guarded = () -> upstreamRetrier.callAsync(operation,
+        () -> upstreamGuard.callAsync(operation,
+            () -> upstreamHedger.callAsync(operation, call)));
+    if (!integrationProperties.isCoalesce()) {
+      return withinDeadline(operation, Mono.defer(guarded));
+    }
+    return withinDeadline(operation, singleFlight.executeAsync(operation.getTag(), key, guarded));
+  }
+
+  /**
+   * Bounds a non-blocking call by the calling request's deadline. The deadline is applied around
+   * the whole call rather than per attempt, because retries and hedges resubscribe on threads
+   * that do not carry the request context.
+   */
+  private static <T> Mono<T> withinDeadline(final UpstreamOperation operation,
+      final Mono<T> call) {
+    final Deadline deadline = DeadlineContext.current();
+    if (deadline == null) {
+      return call;
+    }
+    return Mono.defer(() -> deadline.isExpired()
+        ? Mono.<T>error(new DeadlineExceededException(
+            "Deadline exceeded before calling upstream " + operation.getTag()))
+        : call.timeout(deadline.remaining(), Mono.<T>error(() -> new DeadlineExceededException(
+            "Deadline exceeded while calling upstream " + operation.getTag()))));
+  }
+
+  private <T> Mono<T> offload(final Callable<T> blockingCall) {
+    return Mono.fromCallable(DeadlineContext.propagate(blockingCall))
+        .subscribeOn(offloadScheduler);
+  }
+
+  private static Scheduler offloadScheduler(final boolean virtualThreads, final int threads) {
+    if (virtualThreads) {
+      return Schedulers.fromExecutorService(Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name("upstream-offload-", 0).factory()), "upstream-offload");
+    }
+    return Schedulers.newBoundedElastic(threads, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+        "upstream-offload", 60, true);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    offloadScheduler.dispose();
+  }
+
+}
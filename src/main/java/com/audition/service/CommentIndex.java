@@ -0,0 +1,80 @@
+package com.audition.service;
+
+import com.audition.common.collection.IntObjectHashMap;
+import com.audition.model.Comment;
+import com.audition.model.json.CompactComments;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable view of a comments snapshot partitioned by postId.
+ *
+ * <p>Built once per snapshot refresh and published as a whole, like {@link PostIndex}. The
+ * comments are copied into a {@link CompactComments} store, laid out post by post, and each
+ * post maps to its slice of it; the decoded {@link Comment} objects are not retained.
+ */
+public final class CommentIndex {
+
+  private final CompactComments store;
+  private final IntObjectHashMap<List<Comment>> byPostId;
+
+  private CommentIndex(final CompactComments store,
+      final IntObjectHashMap<List<Comment>> byPostId) {
+    this.store = store;
+    this.byPostId = byPostId;
+  }
+
+  /**
+   * Builds an index over {@code comments}, preserving upstream order within each post.
+   *
+   * @param comments the comments to index
+   * @return the index
+   */
+  public static CommentIndex of(final Collection<Comment> comments) {
+    final IntObjectHashMap<List<Comment>> grouped = new IntObjectHashMap<>();
+    final List<List<Comment>> posts = new ArrayList<>();
+    for (final Comment comment : comments) {
+      grouped.computeIfAbsent(comment.getPostId(), postId -> {
+        final List<Comment> post = new ArrayList<>();
+        posts.add(post);
+        return post;
+      }).add(comment);
+    }
+    final List<Comment> ordered = new ArrayList<>(comments.size());
+    posts.forEach(ordered::addAll);
+    final CompactComments store = CompactComments.of(ordered);
+    final IntObjectHashMap<List<Comment>> byPostId = new IntObjectHashMap<>(posts.size());
+    int from = 0;
+    for (final List<Comment> post : posts) {
+      byPostId.put(post.get(0).getPostId(), store.slice(from, from + post.size()));
+      from += post.size();
+    }
+    return new CommentIndex(store, byPostId);
+  }
+
+  /**
+   * Returns the comments on {@code postId}, in upstream order.
+   *
+   * @param postId the post id
+   * @return the comments, possibly empty
+   */
+  public List<Comment> byPostId(final int postId) {
+    final List<Comment> comments = byPostId.get(postId);
+    return comments == null ? List.of() : comments;
+  }
+
+  /**
+   * Returns every indexed comment, grouped by post in upstream order.
+   */
+  public List<Comment> all() {
+    return store.slice(0, store.size());
+  }
+
+  /**
+   * Returns the number of indexed comments.
+   */
+  public int size() {
+    return store.size();
+  }
+}
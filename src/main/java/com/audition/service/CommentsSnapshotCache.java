@@ -0,0 +1,130 @@
+package com.audition.service;
+
+import com.audition.common.cache.StaleWhileRevalidateCache;
+import com.audition.configuration.CacheProperties;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.integration.UpstreamGuard;
+import com.audition.integration.UpstreamOperation;
+import com.audition.integration.UpstreamRetrier;
+import com.audition.model.Comment;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stale-while-revalidate snapshot of the full upstream /comments collection, partitioned by
+ * postId.
+ *
+ * <p>Serving both comment lookups from one collection fetch per refresh replaces a call per post
+ * with a call per refresh interval. A refresh answered with 304 keeps the current index, as in
+ * {@link PostsSnapshotCache}.
+ */
+@Component
+public class CommentsSnapshotCache {
+
+  private final CacheProperties.Snapshot settings;
+  private final ExecutorService refreshExecutor;
+  private final AuditionIntegrationClient auditionIntegrationClient;
+  private final StaleWhileRevalidateCache<CommentIndex> cache;
+  // View over the current index's arena, stored in the conditional GET cache in place of the
+  // decoded list, so a 304 hands back this instance and nothing else keeps the decoded copy.
+  private volatile List<Comment> indexedComments;
+
+  /**
+   * Constructor for CommentsSnapshotCache.
+   *
+   * @param auditionIntegrationClient client used to load the collection
+   * @param upstreamGuard             circuit breaker and bulkhead around the load
+   * @param upstreamRetrier           retries transient load failures
+   * @param cacheProperties           snapshot settings
+   * @param meterRegistry             registry receiving the cache metrics
+   */
+  public CommentsSnapshotCache(AuditionIntegrationClient auditionIntegrationClient,
+      UpstreamGuard upstreamGuard, UpstreamRetrier upstreamRetrier,
+      CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+    this.settings = cacheProperties.getComments();
+    this.auditionIntegrationClient = auditionIntegrationClient;
+    final CustomizableThreadFactory threadFactory =
+        new CustomizableThreadFactory("comments-snapshot-refresh-");
+    threadFactory.setDaemon(true);
+    this.refreshExecutor = Executors.newSingleThreadExecutor(threadFactory);
+    this.cache = new StaleWhileRevalidateCache<>("comments",
+        () -> indexOf(upstreamRetrier.call(UpstreamOperation.COMMENTS,
+            () -> upstreamGuard.call(UpstreamOperation.COMMENTS,
+                auditionIntegrationClient::getComments))), settings.toPolicy(),
+        refreshExecutor, Clock.systemUTC(), meterRegistry);
+  }
+
+  /**
+   * Returns whether comment reads should be served from the snapshot.
+   */
+  public boolean isEnabled() {
+    return settings.isEnabled();
+  }
+
+  /**
+   * Returns the comments on {@code postId}, loading or refreshing the snapshot as needed.
+   *
+   * @param postId the post id
+   * @return the comments, possibly empty
+   */
+  public List<Comment> byPostId(final int postId) {
+    return cache.get().byPostId(postId);
+  }
+
+  /**
+   * Returns the version of the snapshot a read would be served from right now, or empty when
+   * the read would have to load it first.
+   */
+  public OptionalLong currentVersion() {
+    final StaleWhileRevalidateCache.Snapshot<CommentIndex> current = cache.getIfServable();
+    return current == null ? OptionalLong.empty() : OptionalLong.of(current.version());
+  }
+
+  /**
+   * Registers a callback invoked with every newly published index; revalidations that keep the
+   * current index are not reported.
+   *
+   * @param listener the callback
+   */
+  public void addListener(final Consumer<CommentIndex> listener) {
+    cache.addListener(snapshot -> listener.accept(snapshot.value()));
+  }
+
+  /**
+   * Serves {@code comments} restored from disk until the first refresh replaces them, unless a
+   * snapshot is already held. Their age counts from {@code writtenAt}.
+   *
+   * @param comments  the restored comments
+   * @param writtenAt when they were written to disk
+   * @return whether they were seeded
+   */
+  public boolean seed(final List<Comment> comments, final Instant writtenAt) {
+    return cache.seed(CommentIndex.of(comments), writtenAt);
+  }
+
+  private CommentIndex indexOf(final List<Comment> comments) {
+    final StaleWhileRevalidateCache.Snapshot<CommentIndex> current = cache.peek();
+    if (current != null && comments == indexedComments) {
+      return current.value();
+    }
+    final CommentIndex index = CommentIndex.of(comments);
+    final List<Comment> compact = index.all();
+    auditionIntegrationClient.replaceStoredComments(comments, compact);
+    indexedComments = compact;
+    return index;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    refreshExecutor.shutdownNow();
+  }
+}
@@ -0,0 +1,127 @@
+package com.audition.service;
+
+import com.audition.common.cache.NegativeCache;
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.CacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Answers single-post lookups for ids that do not exist without an upstream round trip.
+ *
+ * <p>Two sources can reject an id:
+ * <ul>
+ *   <li>A bounded negative cache of recent upstream 404s, each kept for the configured TTL.</li>
+ *   <li>The id bitmap of a fresh posts snapshot. The bitmap has no false negatives, so an id
+ *   missing from it is absent from the snapshot. It is consulted only while the snapshot is
+ *   fresh, which bounds how stale that answer can be.</li>
+ * </ul>
+ *
+ * <p>The negative cache is cleared whenever a new snapshot is published, so a post created
+ * upstream is not hidden longer than one refresh.
+ */
+@Component
+public class MissingPostFilter {
+
+  private static final String METRIC_NAME = "audition.posts.missing";
+
+  private final CacheProperties.MissingPosts settings;
+  private final PostsSnapshotCache postsSnapshotCache;
+  private final NegativeCache<Integer> notFound;
+  private final Counter negativeCacheHits;
+  private final Counter idFilterHits;
+
+  /**
+   * Constructor for MissingPostFilter.
+   *
+   * @param cacheProperties    negative cache and id filter settings
+   * @param postsSnapshotCache snapshot whose id bitmap rejects unknown ids
+   * @param meterRegistry      registry receiving the short-circuit counters
+   */
+  public MissingPostFilter(CacheProperties cacheProperties, PostsSnapshotCache postsSnapshotCache,
+      MeterRegistry meterRegistry) {
+    this.settings = cacheProperties.getMissingPosts();
+    this.postsSnapshotCache = postsSnapshotCache;
+    this.notFound = new NegativeCache<>(settings.getTtl(), settings.getMaxEntries(),
+        Clock.systemUTC());
+    this.negativeCacheHits = shortCircuits("negative-cache", meterRegistry);
+    this.idFilterHits = shortCircuits("id-filter", meterRegistry);
+    Gauge.builder(METRIC_NAME + ".cached", notFound, NegativeCache::size)
+        .description("Post ids remembered as missing upstream")
+        .register(meterRegistry);
+    if (settings.isEnabled()) {
+      postsSnapshotCache.addListener(index -> notFound.clear());
+    }
+  }
+
+  /**
+   * Returns whether {@code postId} is known not to exist.
+   *
+   * @param postId the requested id
+   * @return {@code true} if the lookup can be answered with a 404 right away
+   */
+  public boolean isKnownMissing(final String postId) {
+    final Integer id = settings.isEnabled() ? parse(postId) : null;
+    if (id == null) {
+      return false;
+    }
+    if (notFound.contains(id)) {
+      negativeCacheHits.increment();
+      return true;
+    }
+    if (settings.isIdFilter() && postsSnapshotCache.isEnabled() && postsSnapshotCache.isFresh()
+        && !postsSnapshotCache.index().containsId(id)) {
+      idFilterHits.increment();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Remembers {@code postId} as missing when {@code error} is an upstream 404.
+   *
+   * @param postId the requested id
+   * @param error  the failure of the lookup
+   */
+  public void recordIfMissing(final String postId, final Throwable error) {
+    if (!settings.isEnabled() || !(error instanceof SystemException systemException)
+        || systemException.getStatusCode() == null
+        || systemException.getStatusCode() != HttpStatus.NOT_FOUND.value()) {
+      return;
+    }
+    final Integer id = parse(postId);
+    if (id != null) {
+      notFound.put(id);
+    }
+  }
+
+  /**
+   * Returns the exception reported for a post known not to exist, matching the upstream 404.
+   *
+   * @param postId the requested id
+   * @return the 404 to throw
+   */
+  public static SystemException notFound(final String postId) {
+    return new SystemException("Cannot find a Post with id " + postId, "Resource Not Found",
+        HttpStatus.NOT_FOUND.value());
+  }
+
+  private static Integer parse(final String postId) {
+    try {
+      return Integer.valueOf(postId);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static Counter shortCircuits(final String source, final MeterRegistry meterRegistry) {
+    return Counter.builder(METRIC_NAME)
+        .description("Post lookups answered with 404 without an upstream call")
+        .tag("source", source)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,161 @@
+package com.audition.service;
+
+import com.audition.common.concurrent.Futures;
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.IntegrationProperties;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects getPostById calls for a short window and issues them as one multi-id upstream
+ * request, then hands each caller its own post.
+ *
+ * <p>A batch is flushed when the window of its first request elapses or when it reaches the
+ * configured number of distinct ids, whichever happens first; either way it is issued on the
+ * flush threads, outside any caller's deadline. Ids absent from the upstream response fail with
+ * the same "Resource Not Found" SystemException as a single lookup.
+ */
+@Component
+@Slf4j
+public class PostByIdBatcher {
+
+  private static final String METRIC_PREFIX = "audition.batch.post-by-id";
+
+  private final AuditionIntegrationClient auditionIntegrationClient;
+  private final IntegrationProperties.Batch settings;
+  private final ScheduledExecutorService scheduler;
+  private final DistributionSummary batchSize;
+  private final Timer batchWait;
+
+  private final Object lock = new Object();
+  private List<Pending> pending = new ArrayList<>();
+  private final Set<Integer> pendingIds = new LinkedHashSet<>();
+  private long generation;
+
+  /**
+   * Constructor for PostByIdBatcher.
+   *
+   * @param auditionIntegrationClient client used to issue the batched request
+   * @param integrationProperties     batching settings
+   * @param meterRegistry             registry receiving the batch histograms
+   */
+  public PostByIdBatcher(AuditionIntegrationClient auditionIntegrationClient,
+      IntegrationProperties integrationProperties, MeterRegistry meterRegistry) {
+    this.auditionIntegrationClient = auditionIntegrationClient;
+    this.settings = integrationProperties.getBatch();
+    final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("post-batcher-");
+    threadFactory.setDaemon(true);
+    this.scheduler = new ScheduledThreadPoolExecutor(settings.getFlushThreads(), threadFactory);
+    this.batchSize = DistributionSummary.builder(METRIC_PREFIX + ".size")
+        .description("Distinct ids per batched upstream request")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    this.batchWait = Timer.builder(METRIC_PREFIX + ".wait")
+        .description("Time a lookup waited for its batch to be flushed")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the post with the given id, fetched as part of a batch.
+   *
+   * @param id the ID of the post
+   * @return the retrieved post
+   */
+  public AuditionPost getPostById(final int id) {
+    final Pending request = new Pending(id, new CompletableFuture<>(), System.nanoTime());
+    List<Pending> ready = null;
+    synchronized (lock) {
+      pending.add(request);
+      pendingIds.add(id);
+      if (pendingIds.size() >= settings.getMaxSize()) {
+        ready = drain();
+      } else if (pending.size() == 1) {
+        final long scheduledGeneration = generation;
+        scheduler.schedule(() -> flushWindow(scheduledGeneration),
+            settings.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+      }
+    }
+    if (ready != null) {
+      // Issued on the flush threads like a window flush, so the batch is bounded by the client's
+      // own timeouts rather than the deadline of whichever caller happened to fill it.
+      final List<Pending> batch = ready;
+      scheduler.execute(() -> flush(batch));
+    }
+    return Futures.await(request.future());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  private void flushWindow(final long scheduledGeneration) {
+    final List<Pending> ready;
+    synchronized (lock) {
+      if (scheduledGeneration != generation || pending.isEmpty()) {
+        return;
+      }
+      ready = drain();
+    }
+    flush(ready);
+  }
+
+  private List<Pending> drain() {
+    final List<Pending> ready = pending;
+    pending = new ArrayList<>();
+    pendingIds.clear();
+    generation++;
+    return ready;
+  }
+
+  private void flush(final List<Pending> batch) {
+    final long now = System.nanoTime();
+    final Set<Integer> ids = new LinkedHashSet<>();
+    for (final Pending request : batch) {
+      batchWait.record(now - request.enqueuedNanos(), TimeUnit.NANOSECONDS);
+      ids.add(request.id());
+    }
+    batchSize.record(ids.size());
+    log.debug("Flushing batch of {} lookups for {} distinct post ids", batch.size(), ids.size());
+
+    final Map<Integer, AuditionPost> postsById = new HashMap<>();
+    try {
+      for (final AuditionPost post : auditionIntegrationClient.getPostsByIds(ids)) {
+        postsById.put(post.getId(), post);
+      }
+    } catch (RuntimeException e) {
+      batch.forEach(request -> request.future().completeExceptionally(e));
+      return;
+    }
+    for (final Pending request : batch) {
+      final AuditionPost post = postsById.get(request.id());
+      if (post == null) {
+        request.future().completeExceptionally(new SystemException(
+            "Cannot find a Post with id " + request.id(), "Resource Not Found", 404));
+      } else {
+        request.future().complete(post);
+      }
+    }
+  }
+
+  private record Pending(int id, CompletableFuture<AuditionPost> future, long enqueuedNanos) {
+  }
+}
@@ -0,0 +1,158 @@
+package com.audition.service;
+
+import com.audition.common.collection.IntObjectHashMap;
+import com.audition.model.AuditionPost;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable view of a posts snapshot with primitive-keyed indexes by id and by userId.
+ *
+ * <p>Built once per snapshot refresh and published as a whole, so readers see either the old or
+ * the new index and never a partially built one. When the ids are dense, a bitmap of them answers
+ * existence checks exactly: an id missing from it is not in the snapshot. Sparse ids would make
+ * the bitmap far larger than the posts themselves, so the id map answers instead.
+ */
+public final class PostIndex {
+
+  /**
+   * The bitmap is built only while it needs at most this many bits per indexed post.
+   */
+  static final int MAX_BITS_PER_POST = 8;
+
+  private final List<AuditionPost> posts;
+  private final IntObjectHashMap<AuditionPost> byId;
+  private final IntObjectHashMap<List<AuditionPost>> byUserId;
+  /**
+   * Bitmap of the indexed non-negative ids, or {@code null} when they are too sparse.
+   */
+  private final BitSet ids;
+
+  private PostIndex(final List<AuditionPost> posts, final IntObjectHashMap<AuditionPost> byId,
+      final IntObjectHashMap<List<AuditionPost>> byUserId, final BitSet ids) {
+    this.posts = posts;
+    this.byId = byId;
+    this.byUserId = byUserId;
+    this.ids = ids;
+  }
+
+  /**
+   * Builds an index over {@code posts}, preserving upstream order within each userId bucket.
+   *
+   * @param posts the posts to index
+   * @return the index
+   */
+  public static PostIndex of(final Collection<AuditionPost> posts) {
+    final List<AuditionPost> all = List.copyOf(posts);
+    final IntObjectHashMap<AuditionPost> byId = new IntObjectHashMap<>(all.size());
+    final IntObjectHashMap<List<AuditionPost>> byUserId = new IntObjectHashMap<>();
+    int maxId = -1;
+    for (final AuditionPost post : all) {
+      maxId = Math.max(maxId, post.getId());
+    }
+    final boolean dense = maxId <= (long) MAX_BITS_PER_POST * all.size();
+    final BitSet ids = dense ? new BitSet(maxId + 1) : null;
+    for (final AuditionPost post : all) {
+      if (ids != null && post.getId() >= 0) {
+        ids.set(post.getId());
+      }
+      // Keep the first occurrence, matching what a linear scan would find first.
+      if (!byId.containsKey(post.getId())) {
+        byId.put(post.getId(), post);
+      }
+      byUserId.computeIfAbsent(post.getUserId(), userId -> new ArrayList<>()).add(post);
+    }
+    byUserId.replaceAll(Collections::unmodifiableList);
+    return new PostIndex(all, byId, byUserId, ids);
+  }
+
+  /**
+   * Returns every post in upstream order.
+   */
+  public List<AuditionPost> all() {
+    return posts;
+  }
+
+  /**
+   * Returns the post with {@code id}, or {@code null}.
+   *
+   * @param id the post id
+   * @return the post or null
+   */
+  public AuditionPost byId(final int id) {
+    return byId.get(id);
+  }
+
+  /**
+   * Returns whether a post with {@code id} is in the snapshot. Never {@code false} for an
+   * indexed id.
+   *
+   * @param id the post id
+   * @return whether the id is indexed
+   */
+  public boolean containsId(final int id) {
+    // Negative ids do not fit the bitmap; the map still answers for them and for sparse ids.
+    return ids != null && id >= 0 ? ids.get(id) : byId.containsKey(id);
+  }
+
+  /**
+   * Returns the posts written by {@code userId}, in upstream order.
+   *
+   * @param userId the author id
+   * @return the posts, possibly empty
+   */
+  public List<AuditionPost> byUserId(final int userId) {
+    final List<AuditionPost> matches = byUserId.get(userId);
+    return matches == null ? List.of() : matches;
+  }
+
+  /**
+   * Returns the posts matching both optional filters.
+   *
+   * <p>An id filter is answered by a single lookup and then checked against the userId; a userId
+   * filter alone returns its prebuilt bucket.
+   *
+   * @param userId optional author id
+   * @param id     optional post id
+   * @return matching posts
+   */
+  public List<AuditionPost> query(final Integer userId, final Integer id) {
+    if (id != null) {
+      final AuditionPost post = byId.get(id);
+      if (post == null || userId != null && post.getUserId() != userId) {
+        return List.of();
+      }
+      return List.of(post);
+    }
+    if (userId != null) {
+      return byUserId(userId);
+    }
+    return posts;
+  }
+
+  /**
+   * Returns whether {@code list} is one of this index's own lists: every post, or the prebuilt
+   * bucket of one userId. Lists built per query, such as an id match, are not.
+   *
+   * @param list the candidate list
+   * @return whether the index holds that very instance
+   */
+  public boolean holds(final Object list) {
+    if (list == posts) {
+      return true;
+    }
+    return list instanceof List<?> candidate && !candidate.isEmpty()
+        && candidate.get(0) instanceof AuditionPost first
+        && byUserId.get(first.getUserId()) == list;
+  }
+
+  /**
+   * Returns the number of indexed posts.
+   */
+  public int size() {
+    return posts.size();
+  }
+}
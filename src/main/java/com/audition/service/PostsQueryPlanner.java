@@ -0,0 +1,117 @@
+package com.audition.service;
+
+import com.audition.configuration.IntegrationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * Chooses how a /posts query is answered and records the choice per request.
+ *
+ * <p>A fresh snapshot answers from its indexes. Without one, userId and id filters are pushed
+ * down to the upstream as query parameters, so a cold instance never downloads the full
+ * collection to answer a one-user query. Unfiltered queries need the full collection anyway and
+ * go to the snapshot when it is enabled.
+ */
+@Component
+public class PostsQueryPlanner {
+
+  private static final String METRIC_NAME = "audition.posts.plan";
+
+  private final IntegrationProperties integrationProperties;
+  private final PostsSnapshotCache postsSnapshotCache;
+  private final Map<Plan, Counter> filteredPlans = new EnumMap<>(Plan.class);
+  private final Map<Plan, Counter> unfilteredPlans = new EnumMap<>(Plan.class);
+
+  /**
+   * Constructor for PostsQueryPlanner.
+   *
+   * @param integrationProperties pushdown, streaming and engine settings
+   * @param postsSnapshotCache    snapshot whose freshness decides the plan
+   * @param meterRegistry         registry receiving the plan counters
+   */
+  public PostsQueryPlanner(IntegrationProperties integrationProperties,
+      PostsSnapshotCache postsSnapshotCache, MeterRegistry meterRegistry) {
+    this.integrationProperties = integrationProperties;
+    this.postsSnapshotCache = postsSnapshotCache;
+    for (final Plan plan : Plan.values()) {
+      filteredPlans.put(plan, planCounter(meterRegistry, plan, true));
+      unfilteredPlans.put(plan, planCounter(meterRegistry, plan, false));
+    }
+  }
+
+  /**
+   * Returns the plan for a query with the given filters and counts it.
+   *
+   * @param userId optional author id
+   * @param id     optional post id
+   * @return the chosen plan
+   */
+  public Plan plan(final Integer userId, final Integer id) {
+    final boolean filtered = userId != null || id != null;
+    final Plan plan = choose(filtered);
+    (filtered ? filteredPlans : unfilteredPlans).get(plan).increment();
+    return plan;
+  }
+
+  /**
+   * Returns whether a query with the given filters would be answered from the snapshot, without
+   * counting it.
+   *
+   * @param userId optional author id
+   * @param id     optional post id
+   * @return whether the plan would be {@link Plan#SNAPSHOT}
+   */
+  public boolean servesFromSnapshot(final Integer userId, final Integer id) {
+    return choose(userId != null || id != null) == Plan.SNAPSHOT;
+  }
+
+  private static Counter planCounter(final MeterRegistry meterRegistry, final Plan plan,
+      final boolean filtered) {
+    return Counter.builder(METRIC_NAME)
+        .description("/posts queries by execution plan and whether userId or id was given")
+        .tag("plan", plan.name().toLowerCase(Locale.ROOT))
+        .tag("filtered", String.valueOf(filtered))
+        .register(meterRegistry);
+  }
+
+  private Plan choose(final boolean filtered) {
+    final boolean pushdown = filtered && integrationProperties.isFilterPushdown();
+    if (postsSnapshotCache.isEnabled() && (!pushdown || postsSnapshotCache.isFresh())) {
+      return Plan.SNAPSHOT;
+    }
+    if (pushdown) {
+      return Plan.PUSHDOWN;
+    }
+    if (integrationProperties.isStreamingDecode()
+        && integrationProperties.getEngine() == IntegrationProperties.Engine.BLOCKING) {
+      return Plan.STREAM;
+    }
+    return Plan.SCAN;
+  }
+
+  /**
+   * Ways of answering a /posts query.
+   */
+  public enum Plan {
+    /**
+     * Look the filters up in the local snapshot's indexes.
+     */
+    SNAPSHOT,
+    /**
+     * Send the filters to the upstream as query parameters.
+     */
+    PUSHDOWN,
+    /**
+     * Download the collection and filter while decoding it.
+     */
+    STREAM,
+    /**
+     * Download and bind the collection, then filter it.
+     */
+    SCAN
+  }
+}
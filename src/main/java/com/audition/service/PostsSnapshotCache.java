@@ -0,0 +1,147 @@
+package com.audition.service;
+
+import com.audition.common.cache.StaleWhileRevalidateCache;
+import com.audition.configuration.CacheProperties;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.integration.UpstreamGuard;
+import com.audition.integration.UpstreamOperation;
+import com.audition.integration.UpstreamRetrier;
+import com.audition.model.AuditionPost;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stale-while-revalidate snapshot of the full upstream /posts collection.
+ *
+ * <p>Each refresh builds a new {@link PostIndex} off the request path and swaps it in whole.
+ * When the upstream answers a refresh with 304, the client hands back the list it returned last
+ * time and the current index is kept, so the snapshot's TTL restarts without a rebuild or a new
+ * version.
+ */
+@Component
+public class PostsSnapshotCache {
+
+  private final CacheProperties.Snapshot settings;
+  private final ExecutorService refreshExecutor;
+  private final StaleWhileRevalidateCache<PostIndex> cache;
+  private volatile List<AuditionPost> indexedPosts;
+
+  /**
+   * Constructor for PostsSnapshotCache.
+   *
+   * @param auditionIntegrationClient client used to load the collection
+   * @param upstreamGuard             circuit breaker and bulkhead around the load
+   * @param upstreamRetrier           retries transient load failures
+   * @param cacheProperties           snapshot settings
+   * @param meterRegistry             registry receiving the cache metrics
+   */
+  public PostsSnapshotCache(AuditionIntegrationClient auditionIntegrationClient,
+      UpstreamGuard upstreamGuard, UpstreamRetrier upstreamRetrier,
+      CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+    this.settings = cacheProperties.getPosts();
+    final CustomizableThreadFactory threadFactory =
+        new CustomizableThreadFactory("posts-snapshot-refresh-");
+    threadFactory.setDaemon(true);
+    this.refreshExecutor = Executors.newSingleThreadExecutor(threadFactory);
+    this.cache = new StaleWhileRevalidateCache<>("posts",
+        () -> indexOf(upstreamRetrier.call(UpstreamOperation.POSTS,
+            () -> upstreamGuard.call(UpstreamOperation.POSTS,
+                auditionIntegrationClient::getPosts))), settings.toPolicy(),
+        refreshExecutor, Clock.systemUTC(), meterRegistry);
+  }
+
+  /**
+   * Returns whether reads should be served from the snapshot.
+   */
+  public boolean isEnabled() {
+    return settings.isEnabled();
+  }
+
+  /**
+   * Returns the cached posts, loading or refreshing them as needed.
+   */
+  public List<AuditionPost> get() {
+    return cache.get().all();
+  }
+
+  /**
+   * Returns the indexed snapshot, loading or refreshing it as needed.
+   */
+  public PostIndex index() {
+    return cache.get();
+  }
+
+  /**
+   * Returns whether a fresh snapshot is currently held.
+   */
+  public boolean isFresh() {
+    return cache.isFresh();
+  }
+
+  /**
+   * Registers a callback invoked with every newly published index; revalidations that keep the
+   * current index are not reported.
+   *
+   * @param listener the callback
+   */
+  public void addListener(final Consumer<PostIndex> listener) {
+    cache.addListener(snapshot -> listener.accept(snapshot.value()));
+  }
+
+  /**
+   * Returns the version of the snapshot a read would be served from right now, or empty when
+   * the read would have to load it first.
+   */
+  public OptionalLong currentVersion() {
+    final StaleWhileRevalidateCache.Snapshot<PostIndex> current = cache.getIfServable();
+    return current == null ? OptionalLong.empty() : OptionalLong.of(current.version());
+  }
+
+  /**
+   * Returns whether {@code body} is a list of the snapshot currently held, as returned by
+   * {@link #get()} or by a userId query of {@link #index()}.
+   *
+   * @param body a handler's return value
+   * @return whether it is that snapshot's own instance
+   */
+  public boolean holds(final Object body) {
+    final StaleWhileRevalidateCache.Snapshot<PostIndex> current = cache.peek();
+    return current != null && current.value().holds(body);
+  }
+
+  /**
+   * Serves {@code posts} restored from disk until the first refresh replaces them, unless a
+   * snapshot is already held. Their age counts from {@code writtenAt}.
+   *
+   * @param posts     the restored posts
+   * @param writtenAt when they were written to disk
+   * @return whether they were seeded
+   */
+  public boolean seed(final List<AuditionPost> posts, final Instant writtenAt) {
+    return cache.seed(PostIndex.of(posts), writtenAt);
+  }
+
+  private PostIndex indexOf(final List<AuditionPost> posts) {
+    final StaleWhileRevalidateCache.Snapshot<PostIndex> current = cache.peek();
+    if (current != null && posts == indexedPosts) {
+      return current.value();
+    }
+    final PostIndex index = PostIndex.of(posts);
+    indexedPosts = posts;
+    return index;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    refreshExecutor.shutdownNow();
+  }
+}
@@ -0,0 +1,215 @@
+package com.audition.service;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned, checksummed binary file holding the posts and comments snapshots.
+ *
+ * <p>Layout, big-endian: magic {@code AUDS}, format version, the posts section, the comments
+ * section, and a CRC32 of everything before it. A section is its record count, then the time its
+ * snapshot was written in epoch millis and the records; a count of {@code -1} alone marks a
+ * snapshot that was not cached. Each section keeps its own time because a rewrite after one
+ * snapshot refreshes carries the other over unchanged. Strings are a UTF-8 byte length,
+ * {@code -1} for null, followed by the bytes. Files are replaced atomically, and read whole and
+ * checked before anything is decoded. Version 1 files, with one write time for both sections
+ * after the version, are still read.
+ */
+public final class SnapshotFile {
+
+  private static final int MAGIC = 0x41554453;
+  private static final int FORMAT_VERSION = 2;
+  private static final int SINGLE_TIME_VERSION = 1;
+  // magic, version, post count, comment count, checksum
+  private static final int MIN_LENGTH = 4 + 4 + 4 + 4 + 8;
+  private static final int NONE = -1;
+
+  private SnapshotFile() {
+  }
+
+  /**
+   * Writes {@code contents} to {@code file}, replacing it atomically.
+   *
+   * @param file     target file; its directory is created if missing
+   * @param contents the snapshots to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(final Path file, final Contents contents) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+    final DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(MAGIC);
+    out.writeInt(FORMAT_VERSION);
+    if (contents.posts() == null) {
+      out.writeInt(NONE);
+    } else {
+      out.writeInt(contents.posts().size());
+      out.writeLong(contents.postsWrittenAt().toEpochMilli());
+      for (final AuditionPost post : contents.posts()) {
+        out.writeInt(post.getUserId());
+        out.writeInt(post.getId());
+        writeString(out, post.getTitle());
+        writeString(out, post.getBody());
+      }
+    }
+    if (contents.comments() == null) {
+      out.writeInt(NONE);
+    } else {
+      out.writeInt(contents.comments().size());
+      out.writeLong(contents.commentsWrittenAt().toEpochMilli());
+      for (final Comment comment : contents.comments()) {
+        out.writeInt(comment.getPostId());
+        out.writeInt(comment.getId());
+        writeString(out, comment.getName());
+        writeString(out, comment.getEmail());
+        writeString(out, comment.getBody());
+      }
+    }
+    out.flush();
+    final CRC32 checksum = new CRC32();
+    checksum.update(bytes.toByteArray());
+    out.writeLong(checksum.getValue());
+    out.flush();
+
+    final Path target = file.toAbsolutePath();
+    Files.createDirectories(target.getParent());
+    final Path temporary = Files.createTempFile(target.getParent(),
+        target.getFileName().toString(), ".tmp");
+    try {
+      Files.write(temporary, bytes.toByteArray());
+      Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  /**
+   * Reads {@code file} and decodes it after checking its magic, format version and checksum.
+   *
+   * @param file the snapshot file
+   * @return the snapshots it holds
+   * @throws IOException if the file cannot be read or is not a valid snapshot file
+   */
+  public static Contents read(final Path file) throws IOException {
+    // Every record is decoded into heap objects at once, so the file is read rather than mapped.
+    final byte[] bytes = Files.readAllBytes(file);
+    if (bytes.length < MIN_LENGTH) {
+      throw new IOException("Snapshot file " + file + " has invalid length " + bytes.length);
+    }
+    try {
+      final int payload = bytes.length - Long.BYTES;
+      final CRC32 checksum = new CRC32();
+      checksum.update(bytes, 0, payload);
+      if (checksum.getValue() != ByteBuffer.wrap(bytes, payload, Long.BYTES).getLong()) {
+        throw new IOException("Snapshot file " + file + " failed its checksum");
+      }
+      final ByteBuffer in = ByteBuffer.wrap(bytes, 0, payload);
+      if (in.getInt() != MAGIC) {
+        throw new IOException(file + " is not a snapshot file");
+      }
+      final int version = in.getInt();
+      if (version != FORMAT_VERSION && version != SINGLE_TIME_VERSION) {
+        throw new IOException("Snapshot file " + file + " has unsupported format " + version);
+      }
+      return decode(in, version == SINGLE_TIME_VERSION ? readInstant(in) : null);
+    } catch (BufferUnderflowException | IllegalArgumentException e) {
+      throw new IOException("Snapshot file " + file + " is truncated or malformed", e);
+    }
+  }
+
+  /**
+   * Decodes both sections; {@code fileWrittenAt} is the shared time of a version 1 file, or
+   * {@code null} when each section carries its own.
+   */
+  private static Contents decode(final ByteBuffer in, final Instant fileWrittenAt) {
+    final int postCount = in.getInt();
+    List<AuditionPost> posts = null;
+    Instant postsWrittenAt = null;
+    if (postCount != NONE) {
+      postsWrittenAt = fileWrittenAt == null ? readInstant(in) : fileWrittenAt;
+      posts = new ArrayList<>(count(in, postCount));
+      for (int i = 0; i < postCount; i++) {
+        posts.add(new AuditionPost(in.getInt(), in.getInt(), readString(in), readString(in)));
+      }
+    }
+    final int commentCount = in.getInt();
+    List<Comment> comments = null;
+    Instant commentsWrittenAt = null;
+    if (commentCount != NONE) {
+      commentsWrittenAt = fileWrittenAt == null ? readInstant(in) : fileWrittenAt;
+      comments = new ArrayList<>(count(in, commentCount));
+      for (int i = 0; i < commentCount; i++) {
+        comments.add(new Comment(in.getInt(), in.getInt(), readString(in), readString(in),
+            readString(in)));
+      }
+    }
+    if (in.hasRemaining()) {
+      throw new IllegalArgumentException(in.remaining() + " trailing bytes");
+    }
+    return new Contents(posts, postsWrittenAt, comments, commentsWrittenAt);
+  }
+
+  private static Instant readInstant(final ByteBuffer in) {
+    return Instant.ofEpochMilli(in.getLong());
+  }
+
+  /**
+   * Rejects counts the remaining bytes cannot hold, before anything is allocated for them.
+   */
+  private static int count(final ByteBuffer in, final int count) {
+    // Every record takes at least two ints and two string lengths.
+    if (count < 0 || count > in.remaining() / (4 * Integer.BYTES)) {
+      throw new IllegalArgumentException("Invalid record count " + count);
+    }
+    return count;
+  }
+
+  private static void writeString(final DataOutputStream out, final String value)
+      throws IOException {
+    if (value == null) {
+      out.writeInt(NONE);
+      return;
+    }
+    final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(utf8.length);
+    out.write(utf8);
+  }
+
+  private static String readString(final ByteBuffer in) {
+    final int length = in.getInt();
+    if (length == NONE) {
+      return null;
+    }
+    if (length < 0 || length > in.remaining()) {
+      throw new IllegalArgumentException("Invalid string length " + length);
+    }
+    final byte[] utf8 = new byte[length];
+    in.get(utf8);
+    return new String(utf8, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Snapshots held in a file.
+   *
+   * @param posts             the cached posts, or {@code null} if none were cached
+   * @param postsWrittenAt    when the posts were written, or {@code null} without posts
+   * @param comments          the cached comments, or {@code null} if none were cached
+   * @param commentsWrittenAt when the comments were written, or {@code null} without comments
+   */
+  public record Contents(List<AuditionPost> posts, Instant postsWrittenAt,
+      List<Comment> comments, Instant commentsWrittenAt) {
+  }
+}
@@ -0,0 +1,188 @@
+package com.audition.service;
+
+import com.audition.configuration.CacheProperties;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a {@link SnapshotFile} copy of the posts and comments snapshots for warm starts.
+ *
+ * <p>At startup each section of a valid file no older than the configured maximum age seeds its
+ * snapshot, if enabled. Reads are served from it at once while the first refresh runs in the
+ * background, and it is still served if the upstream is unreachable, within the snapshots'
+ * stale-if-error bounds. Every newly published snapshot rewrites the file on the refresh thread, so it follows
+ * the refresh interval and never blocks a request.
+ */
+@Component
+@Slf4j
+public class SnapshotPersistence {
+
+  private static final String METRIC_NAME = "audition.snapshot.file";
+
+  private final CacheProperties.Persistence settings;
+  private final PostsSnapshotCache postsSnapshotCache;
+  private final CommentsSnapshotCache commentsSnapshotCache;
+  private final MeterRegistry meterRegistry;
+  private final Clock clock;
+  private final Object writeLock = new Object();
+  private volatile List<AuditionPost> posts;
+  private volatile Instant postsWrittenAt;
+  private volatile List<Comment> comments;
+  private volatile Instant commentsWrittenAt;
+
+  /**
+   * Constructor for SnapshotPersistence.
+   *
+   * @param cacheProperties       snapshot file settings
+   * @param postsSnapshotCache    posts snapshot to seed and persist
+   * @param commentsSnapshotCache comments snapshot to seed and persist
+   * @param meterRegistry         registry receiving the file counters
+   */
+  @Autowired
+  public SnapshotPersistence(CacheProperties cacheProperties,
+      PostsSnapshotCache postsSnapshotCache, CommentsSnapshotCache commentsSnapshotCache,
+      MeterRegistry meterRegistry) {
+    this(cacheProperties, postsSnapshotCache, commentsSnapshotCache, meterRegistry,
+        Clock.systemUTC());
+  }
+
+  /**
+   * Constructor for SnapshotPersistence with an explicit clock.
+   *
+   * @param cacheProperties       snapshot file settings
+   * @param postsSnapshotCache    posts snapshot to seed and persist
+   * @param commentsSnapshotCache comments snapshot to seed and persist
+   * @param meterRegistry         registry receiving the file counters
+   * @param clock                 time source for file ages
+   */
+  public SnapshotPersistence(CacheProperties cacheProperties,
+      PostsSnapshotCache postsSnapshotCache, CommentsSnapshotCache commentsSnapshotCache,
+      MeterRegistry meterRegistry, Clock clock) {
+    this.settings = cacheProperties.getPersistence();
+    this.postsSnapshotCache = postsSnapshotCache;
+    this.commentsSnapshotCache = commentsSnapshotCache;
+    this.meterRegistry = meterRegistry;
+    this.clock = clock;
+  }
+
+  /**
+   * Seeds the snapshots from the file, then starts persisting new ones.
+   */
+  @PostConstruct
+  public void start() {
+    if (!settings.isEnabled()) {
+      return;
+    }
+    // Registered first so that the refresh a seed starts is persisted too.
+    postsSnapshotCache.addListener(index -> {
+      synchronized (writeLock) {
+        posts = index.all();
+        postsWrittenAt = clock.instant();
+        write();
+      }
+    });
+    commentsSnapshotCache.addListener(index -> {
+      synchronized (writeLock) {
+        comments = index.all();
+        commentsWrittenAt = clock.instant();
+        write();
+      }
+    });
+    restore();
+  }
+
+  private void restore() {
+    if (!Files.exists(settings.getFile())) {
+      return;
+    }
+    final SnapshotFile.Contents contents;
+    try {
+      contents = SnapshotFile.read(settings.getFile());
+    } catch (IOException e) {
+      outcome("restore", "failure").increment();
+      log.warn("Ignoring snapshot file {}: {}", settings.getFile(), e.getMessage());
+      return;
+    }
+    // Sections of disabled or expired snapshots are dropped rather than carried into every
+    // rewrite. The others keep their own write time, so that a rewrite after one snapshot
+    // refreshes carries the other without making it look recent, unless a refresh already
+    // replaced it.
+    final Instant now = clock.instant();
+    final List<AuditionPost> restoredPosts = postsSnapshotCache.isEnabled()
+        && recent("posts", contents.postsWrittenAt(), now) ? contents.posts() : null;
+    final List<Comment> restoredComments = commentsSnapshotCache.isEnabled()
+        && recent("comments", contents.commentsWrittenAt(), now) ? contents.comments() : null;
+    if (restoredPosts == null && restoredComments == null) {
+      outcome("restore", "expired").increment();
+      return;
+    }
+    synchronized (writeLock) {
+      if (posts == null && restoredPosts != null) {
+        posts = restoredPosts;
+        postsWrittenAt = contents.postsWrittenAt();
+      }
+      if (comments == null && restoredComments != null) {
+        comments = restoredComments;
+        commentsWrittenAt = contents.commentsWrittenAt();
+      }
+    }
+    if (restoredPosts != null) {
+      postsSnapshotCache.seed(restoredPosts, contents.postsWrittenAt());
+    }
+    if (restoredComments != null) {
+      commentsSnapshotCache.seed(restoredComments, contents.commentsWrittenAt());
+    }
+    outcome("restore", "success").increment();
+    log.info("Restored {} posts and {} comments from {}",
+        restoredPosts == null ? 0 : restoredPosts.size(),
+        restoredComments == null ? 0 : restoredComments.size(), settings.getFile());
+  }
+
+  /**
+   * Whether a section written at {@code writtenAt}, if present, is within the maximum age.
+   */
+  private boolean recent(final String section, final Instant writtenAt, final Instant now) {
+    if (writtenAt == null) {
+      return false;
+    }
+    final Duration age = Duration.between(writtenAt, now);
+    if (age.compareTo(settings.getMaxAge()) > 0) {
+      log.info("Ignoring {} in snapshot file {} written {} ago", section, settings.getFile(), age);
+      return false;
+    }
+    return true;
+  }
+
+  private void write() {
+    synchronized (writeLock) {
+      try {
+        SnapshotFile.write(settings.getFile(),
+            new SnapshotFile.Contents(posts, postsWrittenAt, comments, commentsWrittenAt));
+        outcome("write", "success").increment();
+      } catch (IOException e) {
+        outcome("write", "failure").increment();
+        log.warn("Writing snapshot file {} failed: {}", settings.getFile(), e.getMessage());
+      }
+    }
+  }
+
+  private Counter outcome(final String operation, final String result) {
+    return Counter.builder(METRIC_NAME)
+        .description("Snapshot file reads and writes by outcome")
+        .tag("operation", operation)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
@@ -1,10 +1,15 @@
 package com.audition.web;
 
 import com.audition.common.exception.SystemException;
+import com.audition.configuration.IntegrationProperties;
 import com.audition.model.AuditionPost;
 import com.audition.model.Comment;
+import com.audition.model.PostLookupResult;
+import com.audition.model.PostWithComments;
 import com.audition.service.AuditionService;
 import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import lombok.Getter;
@@ -17,9 +22,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.HttpStatusCodeException;
+import reactor.core.publisher.Mono;
 
 /**
  * REST Controller for handling posts and comments-related API requests.
+ *
+ * <p>Handlers backed by the upstream return the service's {@link Mono}s, which Spring MVC
+ * completes asynchronously, so a request waiting on the upstream does not hold a servlet thread.
+ * Arguments are still validated before the handler returns.
  */
 
 @RestController
@@ -48,14 +58,21 @@ public class AuditionController {
    * AuditionService instance for business logic operations.
    */
   private final AuditionService auditionService;
+  /**
+   * Fan-out limits for batch lookups.
+   */
+  private final IntegrationProperties integrationProperties;
 
   /**
    * Constructor for AuditionController.
    *
-   * @param auditionService the service handling business logic
+   * @param auditionService       the service handling business logic
+   * @param integrationProperties fan-out limits for batch lookups
    */
-  public AuditionController(AuditionService auditionService) {
+  public AuditionController(AuditionService auditionService,
+      IntegrationProperties integrationProperties) {
     this.auditionService = auditionService;
+    this.integrationProperties = integrationProperties;
   }
 
   /**
@@ -63,21 +80,20 @@ public class AuditionController {
    *
    * @param userId the ID of the user (optional)
    * @param id     the ID of the post (optional)
-   * @return a list of filtered posts
+   * @return the filtered posts
    */
+  @RequestDeadline(millis = 3000)
+  @SnapshotETag(SnapshotETag.Source.POSTS)
+  @CachedResponse(params = "userId")
   @GetMapping(value = "/posts", produces = MediaType.APPLICATION_JSON_VALUE)
-  public List<AuditionPost> getPosts(
+  public Mono<List<AuditionPost>> getPosts(
       @RequestParam(required = false) Integer userId,
       @RequestParam(required = false) Integer id
   ) {
     LOG.info("Retrieving posts with filters - userId: {}, id: {}",
         userId, id);
-    try {
-      return auditionService.applyFilters(userId, id);
-    } catch (Exception e) {
-      LOG.error(ERROR_RETRIEVING_POSTS, e);
-      throw new SystemException(ERROR_RETRIEVING_POSTS, INTERNAL_SERVER_ERROR, 500, e);
-    }
+    return Mono.defer(() -> auditionService.applyFiltersAsync(userId, id))
+        .onErrorMap(AuditionController::postsError);
   }
 
   /**
@@ -86,88 +102,153 @@ public class AuditionController {
    * @param postId the ID of the post
    * @return the retrieved post
    */
+  @RequestDeadline(millis = 2000)
   @GetMapping(value = "/posts/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-  public AuditionPost getPostsById(@PathVariable("id") @NotNull String postId) {
-    if (StringUtils.isBlank(postId)) {
-      throw new SystemException("Post ID cannot be null or empty", BAD_REQUEST, 400);
+  public Mono<AuditionPost> getPostsById(@PathVariable("id") @NotNull String postId) {
+    parsePostId(postId);
+    return Mono.defer(() -> auditionService.getPostByIdAsync(postId))
+        .onErrorMap(AuditionController::commentsError);
+  }
+
+  /**
+   * Retrieves a post together with its comments, fetching both concurrently. Selected by
+   * {@code include=comments}; any failure is reported as a single problem with its own status.
+   *
+   * @param postId the ID of the post
+   * @return the post with its comments
+   */
+  @RequestDeadline(millis = 2000)
+  @GetMapping(value = "/posts/{id}", params = "include=comments",
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<PostWithComments> getPostWithCommentsById(
+      @PathVariable("id") @NotNull String postId) {
+    parsePostId(postId);
+    return Mono.defer(() -> auditionService.getPostWithCommentsByIdAsync(postId))
+        // Keep the upstream status (e.g. 404) instead of turning it into a 500.
+        .onErrorMap(e -> !(e instanceof SystemException),
+            e -> new SystemException(ERROR_RETRIEVING_POSTS, INTERNAL_SERVER_ERROR, 500, e));
+  }
+
+  /**
+   * Retrieves several posts in one call. Each id is validated like {@link #getPostsById} and
+   * reported with its own status, in request order, so one missing or malformed id does not fail
+   * the batch.
+   *
+   * @param ids the IDs of the posts, comma separated or repeated
+   * @return one result per requested id
+   */
+  @RequestDeadline(millis = 5000)
+  @GetMapping(value = "/posts/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<List<PostLookupResult>> getPostsBatch(@RequestParam("ids") List<String> ids) {
+    final int maxIds = integrationProperties.getFanOut().getMaxIds();
+    if (ids == null || ids.isEmpty()) {
+      throw new SystemException("At least one post ID is required", BAD_REQUEST, 400);
     }
-    int id;
-    try {
-      id = Integer.parseInt(postId);
-      if (id <= 0) {
-        throw new SystemException("Post ID must be a positive integer", BAD_REQUEST, 400);
+    if (ids.size() > maxIds) {
+      throw new SystemException("At most " + maxIds + " post IDs can be requested at once",
+          BAD_REQUEST, 400);
+    }
+    LOG.info("Retrieving batch of {} posts", ids.size());
+    final PostLookupResult[] results = new PostLookupResult[ids.size()];
+    final List<Integer> validIds = new ArrayList<>(ids.size());
+    final List<Integer> positions = new ArrayList<>(ids.size());
+    for (int i = 0; i < ids.size(); i++) {
+      try {
+        validIds.add(parsePostId(ids.get(i)));
+        positions.add(i);
+      } catch (SystemException e) {
+        results[i] = new PostLookupResult(ids.get(i), e.getStatusCode(), null, e.getMessage());
       }
-    } catch (NumberFormatException e) {
-      throw new SystemException("Invalid Post ID format: " + postId, BAD_REQUEST, 400, e);
     }
-    try {
-      return auditionService.getPostById(postId);
-    } catch (HttpStatusCodeException e) {
-      throw new SystemException(ERROR_RETRIEVING_COMMENTS + e.getStatusText(), CLIENT_ERROR,
-          e.getStatusCode().value(), e);
-    } catch (Exception e) {
-      throw new SystemException(UNEXPECTED_ERROR_RETRIEVING_COMMENTS, INTERNAL_SERVER_ERROR,
-          500, e);
+    if (validIds.isEmpty()) {
+      return Mono.just(Arrays.asList(results));
     }
-
+    return Mono.defer(() -> auditionService.getPostsByIdsAsync(validIds))
+        .map(fetched -> {
+          for (int i = 0; i < positions.size(); i++) {
+            results[positions.get(i)] = fetched.get(i);
+          }
+          return Arrays.asList(results);
+        })
+        .onErrorMap(AuditionController::postsError);
   }
 
   /**
    * Retrieves comments for a given post.
    *
    * @param postId the ID of the post
-   * @return a list of comments
+   * @return the comments, empty when the post has none
    */
   // DONE Add additional methods to return comments for each post. Hint: Check https://jsonplaceholder.typicode.com/
+  @RequestDeadline(millis = 2000)
+  @SnapshotETag(SnapshotETag.Source.COMMENTS)
   @GetMapping(value = "/posts/{id}/comments", produces = MediaType.APPLICATION_JSON_VALUE)
-  public List<Comment> getCommentsForPost(@PathVariable("id") String postId) {
+  public Mono<List<Comment>> getCommentsForPost(@PathVariable("id") String postId) {
     var isNumeric = StringUtils.isNumeric(postId);
     if (postId == null || postId.isEmpty() || !isNumeric) {
       throw new SystemException("Post ID is in invalid format, must be a number", BAD_REQUEST, 400);
     }
-    try {
-      List<Comment> comments = auditionService.getPostWithComments(postId);
-      if (comments == null) {
-        comments = Collections.emptyList();
-      }
-      return comments;
-    } catch (HttpStatusCodeException e) {  // Specific exception for HTTP client errors
-      throw new SystemException(ERROR_RETRIEVING_COMMENTS + e.getStatusText(), CLIENT_ERROR,
-          e.getStatusCode().value(), e);
-    } catch (Exception e) {
-      throw new SystemException(UNEXPECTED_ERROR_RETRIEVING_COMMENTS, INTERNAL_SERVER_ERROR,
-          500, e);
-    }
+    return Mono.defer(() -> auditionService.getPostWithCommentsAsync(postId))
+        .defaultIfEmpty(Collections.emptyList())
+        .onErrorMap(AuditionController::commentsError);
   }
 
   /**
    * Retrieves comments using query parameters.
    *
    * @param postId the ID of the post
-   * @return a list of comments
+   * @return the comments, empty when the post has none
    */
+  @RequestDeadline(millis = 2000)
+  @SnapshotETag(SnapshotETag.Source.COMMENTS)
   @GetMapping(value = "/posts/comments", produces = MediaType.APPLICATION_JSON_VALUE)
-  public List<Comment> getCommentsByPostId(
+  public Mono<List<Comment>> getCommentsByPostId(
       @RequestParam(value = "postId", required = true) String postId) {
     LOG.info("Calling Method getCommentsByPostId with postId: {}", postId);
     if (postId == null || postId.isEmpty() || !StringUtils.isNumeric(postId)) {
       throw new SystemException("Post ID cannot be empty or non-numeric", BAD_REQUEST, 400);
     }
+    return Mono.defer(() -> auditionService.getCommentsByPostIdQueryParamAsync(postId))
+        .defaultIfEmpty(Collections.emptyList())
+        .onErrorMap(AuditionController::commentsError);
+  }
+
+  private static Throwable postsError(final Throwable error) {
+    if (error instanceof SystemException) {
+      // Keep the guard's 503 (open circuit, full bulkhead) instead of turning it into a 500.
+      return error;
+    }
+    LOG.error(ERROR_RETRIEVING_POSTS, error);
+    return new SystemException(ERROR_RETRIEVING_POSTS, INTERNAL_SERVER_ERROR, 500, error);
+  }
+
+  private static Throwable commentsError(final Throwable error) {
+    if (error instanceof HttpStatusCodeException e) {  // Specific exception for HTTP client errors
+      return new SystemException(ERROR_RETRIEVING_COMMENTS + e.getStatusText(), CLIENT_ERROR,
+          e.getStatusCode().value(), e);
+    }
+    if (error instanceof SystemException) {
+      // Keep the guard's 503 (open circuit, full bulkhead) instead of turning it into a 500.
+      return error;
+    }
+    return new SystemException(UNEXPECTED_ERROR_RETRIEVING_COMMENTS, INTERNAL_SERVER_ERROR,
+        500, error);
+  }
+
+  private static int parsePostId(final String postId) {
+    if (StringUtils.isBlank(postId)) {
+      throw new SystemException("Post ID cannot be null or empty", BAD_REQUEST, 400);
+    }
+    int id;
     try {
-      List<Comment> comments = auditionService.getCommentsByPostIdQueryParam(postId);
-      if (comments == null) {
-        comments = Collections.emptyList();
+      id = Integer.parseInt(postId);
+      if (id <= 0) {
+        throw new SystemException("Post ID must be a positive integer", BAD_REQUEST, 400);
       }
-      return comments;
-    } catch (HttpStatusCodeException e) {  // Specific exception for HTTP client errors
-      throw new SystemException(ERROR_RETRIEVING_COMMENTS + e.getStatusText(), CLIENT_ERROR,
-          e.getStatusCode().value(), e);
-    } catch (Exception e) {
-      throw new SystemException(UNEXPECTED_ERROR_RETRIEVING_COMMENTS, INTERNAL_SERVER_ERROR,
-          500, e);
+    } catch (NumberFormatException e) {
+      throw new SystemException("Invalid Post ID format: " + postId, BAD_REQUEST, 400, e);
     }
+    return id;
   }
 
 }
-
-
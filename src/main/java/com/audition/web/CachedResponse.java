@@ -0,0 +1,24 @@
+package com.audition.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler method whose JSON body may be written from the pre-serialized response cache.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CachedResponse {
+
+  /**
+   * Request parameters a cached request may carry; requests with any other parameter are
+   * serialized as usual.
+   *
+   * @return the cacheable parameters
+   */
+  String[] params() default {};
+}
@@ -0,0 +1,24 @@
+package com.audition.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the default deadline of a handler method, used when the caller sends no budget of
+ * its own.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RequestDeadline {
+
+  /**
+   * Budget in milliseconds.
+   *
+   * @return the default budget
+   */
+  long millis();
+}
@@ -0,0 +1,172 @@
+package com.audition.web;
+
+import com.audition.configuration.CacheProperties;
+import com.audition.service.PostsSnapshotCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encoded JSON bodies of hot GET responses, plain and gzip, kept per request while the posts
+ * snapshot they were built from is current.
+ *
+ * <p>Only bodies that are the held snapshot's own lists are encoded; lists built per request
+ * could never be reused, so they are left to the message converter. An entry is reused only
+ * when the handler returned the very list instance it was encoded from, which holds until the
+ * next refresh. Every entry is dropped when a new snapshot is published, and the least recently
+ * used request is dropped once {@code maxEntries} are held.
+ */
+@Component
+@Slf4j
+public class ResponseBytesCache {
+
+  private static final String METRIC_NAME = "audition.response.cache";
+
+  private final CacheProperties.Responses settings;
+  private final ObjectMapper objectMapper;
+  private final PostsSnapshotCache postsSnapshotCache;
+  private final Map<String, Encoded> entries;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter bypasses;
+
+  /**
+   * Constructor for ResponseBytesCache.
+   *
+   * @param cacheProperties    response cache settings
+   * @param objectMapper       mapper that would otherwise serialize the responses
+   * @param postsSnapshotCache snapshot whose lists are cached and whose refreshes invalidate them
+   * @param meterRegistry      registry receiving the cache metrics
+   */
+  public ResponseBytesCache(CacheProperties cacheProperties, ObjectMapper objectMapper,
+      PostsSnapshotCache postsSnapshotCache, MeterRegistry meterRegistry) {
+    this.settings = cacheProperties.getResponses();
+    this.objectMapper = objectMapper;
+    this.postsSnapshotCache = postsSnapshotCache;
+    final int maxEntries = settings.getMaxEntries();
+    this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, Encoded> eldest) {
+        return size() > maxEntries;
+      }
+    });
+    this.hits = lookups("hit", meterRegistry);
+    this.misses = lookups("miss", meterRegistry);
+    this.bypasses = lookups("bypass", meterRegistry);
+    Gauge.builder(METRIC_NAME + ".entries", entries, Map::size)
+        .description("Encoded responses held")
+        .register(meterRegistry);
+    postsSnapshotCache.addListener(index -> entries.clear());
+  }
+
+  /**
+   * Returns whether cached bodies should be written.
+   */
+  public boolean isEnabled() {
+    return settings.isEnabled();
+  }
+
+  /**
+   * Returns the encoded form of {@code body} for the request identified by {@code key}, reusing
+   * the cached bytes when they were encoded from the same instance. Bodies that are not the held
+   * snapshot's lists, and bodies that cannot be serialized, are not encoded.
+   *
+   * @param key  canonical form of the request
+   * @param body the handler's return value
+   * @return the encoded body, or {@code null} to leave it to the message converter
+   */
+  public Encoded encode(final String key, final Object body) {
+    final Encoded cached = entries.get(key);
+    if (cached != null && cached.source == body) {
+      hits.increment();
+      return cached;
+    }
+    if (!postsSnapshotCache.holds(body)) {
+      bypasses.increment();
+      return null;
+    }
+    misses.increment();
+    final Encoded encoded;
+    try {
+      encoded = new Encoded(body, objectMapper.writeValueAsBytes(body));
+    } catch (JsonProcessingException e) {
+      log.debug("Response for {} left to the message converter", key, e);
+      return null;
+    }
+    entries.put(key, encoded);
+    return encoded;
+  }
+
+  private static Counter lookups(final String result, final MeterRegistry meterRegistry) {
+    return Counter.builder(METRIC_NAME)
+        .description("Response cache lookups by result")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /**
+   * JSON bytes of one response with a lazily built gzip copy.
+   */
+  public static final class Encoded {
+
+    private final Object source;
+    private final byte[] plain;
+    private volatile byte[] gzip;
+
+    Encoded(final Object source, final byte[] plain) {
+      this.source = source;
+      this.plain = plain;
+    }
+
+    /**
+     * Returns the length of the body in the requested form.
+     *
+     * @param gzipped whether the gzip form is meant
+     * @return the number of bytes {@link #writeTo} writes
+     */
+    public int length(final boolean gzipped) {
+      return gzipped ? gzip().length : plain.length;
+    }
+
+    /**
+     * Writes the body in the requested form.
+     *
+     * @param out     the response stream
+     * @param gzipped whether to write the gzip form
+     * @throws IOException if the stream fails
+     */
+    public void writeTo(final OutputStream out, final boolean gzipped) throws IOException {
+      out.write(gzipped ? gzip() : plain);
+    }
+
+    private byte[] gzip() {
+      byte[] compressed = gzip;
+      if (compressed == null) {
+        // Racing callers compress the same bytes; either result may be kept.
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+          gzipOut.write(plain);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        compressed = out.toByteArray();
+        gzip = compressed;
+      }
+      return compressed;
+    }
+  }
+}
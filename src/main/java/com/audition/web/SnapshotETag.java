@@ -0,0 +1,38 @@
+package com.audition.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler method whose response is tagged with the version of the snapshot it is served
+ * from, so matching conditional requests can be answered with 304 before the handler runs.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface SnapshotETag {
+
+  /**
+   * Snapshot the response is served from.
+   *
+   * @return the backing snapshot
+   */
+  Source value();
+
+  /**
+   * Snapshots a response can be served from.
+   */
+  enum Source {
+    /**
+     * The /posts snapshot, when the query planner would answer from it.
+     */
+    POSTS,
+    /**
+     * The postId-partitioned /comments snapshot, when it is enabled.
+     */
+    COMMENTS
+  }
+}
@@ -0,0 +1,133 @@
+package com.audition.web.advice;
+
+import com.audition.interceptor.SnapshotETagInterceptor;
+import com.audition.web.CachedResponse;
+import com.audition.web.ResponseBytesCache;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Writes the bodies of {@link CachedResponse} handlers from {@link ResponseBytesCache}, as gzip
+ * when the caller accepts it, so an unchanged response is not serialized or compressed again.
+ *
+ * <p>The bytes go straight to the response stream and the advice returns {@code null}, which
+ * tells Spring MVC there is nothing left to write.
+ */
+@ControllerAdvice
+public class CachedResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+  private static final String GZIP = "gzip";
+
+  private final ResponseBytesCache responseBytesCache;
+
+  /**
+   * Constructor for CachedResponseBodyAdvice.
+   *
+   * @param responseBytesCache the encoded response cache
+   */
+  public CachedResponseBodyAdvice(final ResponseBytesCache responseBytesCache) {
+    this.responseBytesCache = responseBytesCache;
+  }
+
+  @Override
+  public boolean supports(final MethodParameter returnType,
+      final Class<? extends HttpMessageConverter<?>> converterType) {
+    return returnType.hasMethodAnnotation(CachedResponse.class)
+        && AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+  }
+
+  @Override
+  public Object beforeBodyWrite(final Object body, final MethodParameter returnType,
+      final MediaType selectedContentType,
+      final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      final ServerHttpRequest request, final ServerHttpResponse response) {
+    if (body == null || !responseBytesCache.isEnabled()
+        || !(request instanceof ServletServerHttpRequest servletRequest)) {
+      return body;
+    }
+    final CachedResponse annotation = returnType.getMethodAnnotation(CachedResponse.class);
+    final String key = cacheKey(servletRequest.getServletRequest(), annotation);
+    if (key == null) {
+      return body;
+    }
+    final ResponseBytesCache.Encoded encoded = responseBytesCache.encode(key, body);
+    if (encoded == null) {
+      return body;
+    }
+    final boolean gzipped = acceptsGzip(request.getHeaders());
+    final HttpHeaders headers = response.getHeaders();
+    headers.setContentType(selectedContentType);
+    headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzipped) {
+      headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+      final String tag = headers.getETag();
+      if (tag != null) {
+        headers.setETag(SnapshotETagInterceptor.gzipVariant(tag));
+      }
+    }
+    headers.setContentLength(encoded.length(gzipped));
+    try {
+      encoded.writeTo(response.getBody(), gzipped);
+    } catch (IOException e) {
+      throw new HttpMessageNotWritableException("Could not write cached response body", e);
+    }
+    return null;
+  }
+
+  /**
+   * Returns the request path and its parameters in a canonical order, or {@code null} when the
+   * request carries a parameter the handler does not allow for cached responses.
+   */
+  private static String cacheKey(final HttpServletRequest request,
+      final CachedResponse annotation) {
+    final Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+    final StringBuilder key = new StringBuilder(request.getRequestURI());
+    for (final Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+      if (!Arrays.asList(annotation.params()).contains(parameter.getKey())) {
+        return null;
+      }
+      key.append('&').append(parameter.getKey()).append('=')
+          .append(String.join(",", parameter.getValue()));
+    }
+    return key.toString();
+  }
+
+  private static boolean acceptsGzip(final HttpHeaders headers) {
+    for (final String value : headers.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+      for (final String coding : value.split(",")) {
+        final String[] parts = coding.split(";");
+        if (GZIP.equals(parts[0].trim().toLowerCase(Locale.ROOT))) {
+          return parts.length < 2 || !isZeroQuality(parts[1]);
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean isZeroQuality(final String parameter) {
+    final String trimmed = parameter.trim();
+    if (!trimmed.startsWith("q=")) {
+      return false;
+    }
+    try {
+      return Double.parseDouble(trimmed.substring(2)) == 0;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.audition.web.advice;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.METHOD_NOT_ALLOWED;
 
+import com.audition.common.exception.DeadlineExceededException;
 import com.audition.common.exception.SystemException;
 import com.audition.common.logging.AuditionLogger;
 import io.micrometer.common.util.StringUtils;
@@ -85,17 +86,28 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
   }
 
   /**
-   * Handles SystemException and returns a ProblemDetail.
+   * Handles SystemException and returns a ProblemDetail. An expired deadline wrapped by a
+   * handler's catch-all is still reported as a 504.
    */
   @ExceptionHandler(SystemException.class)
   public ProblemDetail handleSystemException(final SystemException e) {
     // DONE Add Handling for SystemException
-    final HttpStatusCode status = getHttpStatusCodeFromSystemException(e);
+    final SystemException exception = deadlineCause(e);
+    final HttpStatusCode status = getHttpStatusCodeFromSystemException(exception);
     if (logger.isErrorEnabled()) {
-      auditionLogger.error(LOG, "System Exception occurred: " + e);
+      auditionLogger.error(LOG, "System Exception occurred: " + exception);
     }
-    return createProblemDetail(e, status);
+    return createProblemDetail(exception, status);
+
+  }
 
+  private static SystemException deadlineCause(final SystemException exception) {
+    for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if (cause instanceof DeadlineExceededException deadlineExceeded) {
+        return deadlineExceeded;
+      }
+    }
+    return exception;
   }
 
 
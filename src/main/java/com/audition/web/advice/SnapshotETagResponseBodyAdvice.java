@@ -0,0 +1,46 @@
+package com.audition.web.advice;
+
+import com.audition.interceptor.SnapshotETagInterceptor;
+import com.audition.web.SnapshotETag;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Sends the ETag chosen by {@link SnapshotETagInterceptor} with successful bodies only, so error
+ * responses of tagged endpoints are never cached under it.
+ *
+ * <p>Runs before {@link CachedResponseBodyAdvice}, which switches the tag to its gzip variant
+ * when it writes a compressed body.
+ */
+@ControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SnapshotETagResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+  @Override
+  public boolean supports(final MethodParameter returnType,
+      final Class<? extends HttpMessageConverter<?>> converterType) {
+    return returnType.hasMethodAnnotation(SnapshotETag.class);
+  }
+
+  @Override
+  public Object beforeBodyWrite(final Object body, final MethodParameter returnType,
+      final MediaType selectedContentType,
+      final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      final ServerHttpRequest request, final ServerHttpResponse response) {
+    if (request instanceof ServletServerHttpRequest servletRequest) {
+      final String tag = SnapshotETagInterceptor.entityTag(servletRequest.getServletRequest());
+      if (tag != null) {
+        response.getHeaders().setETag(tag);
+      }
+    }
+    return body;
+  }
+}
@@ -1,18 +1,41 @@
 package com.audition;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.audition.common.exception.SystemException;
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.IntegrationProperties;
+import com.audition.configuration.ResilienceProperties;
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.integration.UpstreamGuard;
+import com.audition.integration.UpstreamOperation;
 import com.audition.model.AuditionPost;
 import com.audition.model.Comment;
+import com.audition.model.PostLookupResult;
+import com.audition.model.PostWithComments;
+import com.audition.model.json.CompactComments;
 import com.audition.service.AuditionService;
+import com.audition.service.CommentsSnapshotCache;
+import com.audition.service.PostsQueryPlanner;
+import com.audition.service.PostsSnapshotCache;
 import com.audition.web.AuditionController;
+import com.audition.web.ResponseBytesCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Collections;
 import java.util.List;
 import lombok.NoArgsConstructor;
@@ -27,13 +50,22 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
 
 @Nested
 @WebMvcTest(AuditionController.class)
+@Import(SimpleMeterRegistry.class)
+// Collaborators of the controller, interceptors and advice that the MVC slice brings in
+@MockBean({AuditionService.class, PostsSnapshotCache.class, CommentsSnapshotCache.class,
+    PostsQueryPlanner.class, ResponseBytesCache.class, AuditionLogger.class})
 @NoArgsConstructor
 @ExtendWith(MockitoExtension.class)
 class AuditionControllerTest {
@@ -56,27 +88,28 @@ class AuditionControllerTest {
   @BeforeEach
   void setUp() {
     reset(auditionService, log);
-    auditionController = new AuditionController(auditionService);
+    auditionController = new AuditionController(auditionService, new IntegrationProperties());
   }
 
   @Test
   void testGetPosts() {
     List<AuditionPost> posts = Collections.singletonList(new AuditionPost());
-    when(auditionService.applyFilters(null, null)).thenReturn(posts);
+    when(auditionService.applyFiltersAsync(null, null)).thenReturn(Mono.just(posts));
 
-    List<AuditionPost> result = auditionController.getPosts(null, null);
+    List<AuditionPost> result = auditionController.getPosts(null, null).block();
 
     assertEquals(posts, result, "Posts should match");
-    verify(auditionService).applyFilters(null, null);
+    verify(auditionService).applyFiltersAsync(null, null);
   }
 
   @Test
   @SuppressWarnings("PMD.UnusedLocalVariable")
   void testGetPostsException() {
-    when(auditionService.applyFilters(null, null)).thenThrow(new RuntimeException("Error"));
+    when(auditionService.applyFiltersAsync(null, null))
+        .thenReturn(Mono.error(new RuntimeException("Error")));
 
     SystemException exception =
-        assertThrows(SystemException.class, () -> auditionController.getPosts(null, null));
+        assertThrows(SystemException.class, () -> auditionController.getPosts(null, null).block());
 
     assertEquals("Error retrieving posts", exception.getMessage(), ERROR_MESSAGE_SHOULD_MATCH);
     assertEquals(500, exception.getStatusCode(), STATUS_CODE_MATCH);
@@ -85,12 +118,12 @@ class AuditionControllerTest {
   @Test
   void testGetPostsById() {
     AuditionPost post = new AuditionPost();
-    when(auditionService.getPostById(VALID_ID)).thenReturn(post);
+    when(auditionService.getPostByIdAsync(VALID_ID)).thenReturn(Mono.just(post));
 
-    AuditionPost result = auditionController.getPostsById(VALID_ID);
+    AuditionPost result = auditionController.getPostsById(VALID_ID).block();
 
     assertEquals(post, result, "Post should match");
-    verify(auditionService).getPostById(VALID_ID);
+    verify(auditionService).getPostByIdAsync(VALID_ID);
   }
 
   @Test
@@ -107,12 +140,12 @@ class AuditionControllerTest {
   @Test
   void testGetCommentsForPost() {
     List<Comment> comments = Collections.singletonList(new Comment());
-    when(auditionService.getPostWithComments(VALID_ID)).thenReturn(comments);
+    when(auditionService.getPostWithCommentsAsync(VALID_ID)).thenReturn(Mono.just(comments));
 
-    List<Comment> result = auditionController.getCommentsForPost(VALID_ID);
+    List<Comment> result = auditionController.getCommentsForPost(VALID_ID).block();
 
     assertEquals(comments, result, "Comments should match");
-    verify(auditionService).getPostWithComments(VALID_ID);
+    verify(auditionService).getPostWithCommentsAsync(VALID_ID);
   }
 
   @Test
@@ -129,12 +162,13 @@ class AuditionControllerTest {
   @Test
   void testGetCommentsByPostId() {
     List<Comment> comments = Collections.singletonList(new Comment());
-    when(auditionService.getCommentsByPostIdQueryParam(VALID_ID)).thenReturn(comments);
+    when(auditionService.getCommentsByPostIdQueryParamAsync(VALID_ID))
+        .thenReturn(Mono.just(comments));
 
-    List<Comment> result = auditionController.getCommentsByPostId(VALID_ID);
+    List<Comment> result = auditionController.getCommentsByPostId(VALID_ID).block();
 
     assertEquals(comments, result, "Comments should match");
-    verify(auditionService).getCommentsByPostIdQueryParam(VALID_ID);
+    verify(auditionService).getCommentsByPostIdQueryParamAsync(VALID_ID);
   }
 
   @Test
@@ -150,15 +184,12 @@ class AuditionControllerTest {
   @Test
   void testGetPostByIdShouldReturnPost() {
     // Given
-    AuditionPost mockPost = new AuditionPost();
-    mockPost.setId(1);
-    mockPost.setTitle("Test Post");
-    mockPost.setBody("Test Body");
+    AuditionPost mockPost = new AuditionPost(0, 1, "Test Post", "Test Body");
 
-    when(auditionService.getPostById(VALID_ID)).thenReturn(mockPost);
+    when(auditionService.getPostByIdAsync(VALID_ID)).thenReturn(Mono.just(mockPost));
 
     // When
-    AuditionPost result = auditionController.getPostsById(VALID_ID);
+    AuditionPost result = auditionController.getPostsById(VALID_ID).block();
 
     // Then
     assertNotNull(result, "Post should not be null");
@@ -166,7 +197,7 @@ class AuditionControllerTest {
     assertEquals("Test Post", result.getTitle(), "Title should match");
     assertEquals("Test Body", result.getBody(), "Body should match");
 
-    verify(auditionService, times(1)).getPostById(VALID_ID);
+    verify(auditionService, times(1)).getPostByIdAsync(VALID_ID);
   }
 
   @Test
@@ -205,9 +236,121 @@ class AuditionControllerTest {
     assertEquals(400, exception.getStatusCode(), STATUS_CODE_MATCH);
   }
 
+  @Test
+  void testGetPostsBatchShouldKeepOrderAndReportInvalidIdsPerEntry() {
+    AuditionPost first = new AuditionPost(1, 1, "First", "Body");
+    AuditionPost third = new AuditionPost(1, 3, "Third", "Body");
+    when(auditionService.getPostsByIdsAsync(List.of(1, 3))).thenReturn(Mono.just(List.of(
+        new PostLookupResult(VALID_ID, 200, first, null),
+        new PostLookupResult("3", 200, third, null))));
+
+    List<PostLookupResult> result =
+        auditionController.getPostsBatch(List.of(VALID_ID, ABC, "3", NEGATIVE_ID)).block();
+
+    assertEquals(4, result.size(), "Every requested id should have a result");
+    assertEquals(first, result.get(0).getPost(), "First result should match the first id");
+    assertEquals(400, result.get(1).getStatus(), "Malformed id should be reported as 400");
+    assertEquals("Invalid Post ID format: abc", result.get(1).getError(),
+        ERROR_MESSAGE_SHOULD_MATCH);
+    assertEquals(third, result.get(2).getPost(), "Fetched posts should keep request order");
+    assertEquals(400, result.get(3).getStatus(), "Negative id should be reported as 400");
+  }
 
+  @Test
+  void testGetPostsBatchShouldRejectTooManyIds() {
+    IntegrationProperties properties = new IntegrationProperties();
+    properties.getFanOut().setMaxIds(2);
+    AuditionController controller = new AuditionController(auditionService, properties);
 
-}
+    SystemException exception = assertThrows(SystemException.class,
+        () -> controller.getPostsBatch(List.of("1", "2", "3")),
+        "Oversized batch should be rejected");
 
+    assertEquals(400, exception.getStatusCode(), STATUS_CODE_MATCH);
+    verifyNoInteractions(auditionService);
+  }
 
+  @Test
+  void testGetPostWithCommentsByIdShouldReturnComposite() {
+    PostWithComments composite = new PostWithComments(new AuditionPost(1, 1, "T", "B"),
+        Collections.singletonList(new Comment()));
+    when(auditionService.getPostWithCommentsByIdAsync(VALID_ID)).thenReturn(Mono.just(composite));
+
+    PostWithComments result = auditionController.getPostWithCommentsById(VALID_ID).block();
+
+    assertEquals(composite, result, "Composite should be returned as-is");
+  }
+
+  @Test
+  void testGetPostWithCommentsByIdShouldKeepUpstreamStatus() {
+    when(auditionService.getPostWithCommentsByIdAsync(VALID_ID)).thenReturn(
+        Mono.error(new SystemException("Cannot find a Post with id 1", NOT_FOUND, 404)));
 
+    SystemException exception = assertThrows(SystemException.class,
+        () -> auditionController.getPostWithCommentsById(VALID_ID).block(),
+        "Upstream failure should surface as one problem");
+
+    assertEquals(404, exception.getStatusCode(), STATUS_CODE_MATCH);
+  }
+
+  @Test
+  void testOpenCircuitShouldSurfaceAs503() {
+    UpstreamGuard guard = new UpstreamGuard(new ResilienceProperties(), new SimpleMeterRegistry());
+    for (UpstreamOperation operation : UpstreamOperation.values()) {
+      guard.circuitBreaker(operation).transitionToForcedOpenState();
+    }
+    when(auditionService.applyFiltersAsync(null, null)).thenAnswer(invocation ->
+        guard.callAsync(UpstreamOperation.POSTS, () -> Mono.just(List.<AuditionPost>of())));
+    when(auditionService.getPostByIdAsync(VALID_ID)).thenAnswer(invocation ->
+        guard.callAsync(UpstreamOperation.POST_BY_ID, () -> Mono.just(new AuditionPost())));
+    when(auditionService.getPostWithCommentsAsync(VALID_ID)).thenAnswer(invocation ->
+        guard.callAsync(UpstreamOperation.POST_COMMENTS, () -> Mono.just(List.<Comment>of())));
+    when(auditionService.getCommentsByPostIdQueryParamAsync(VALID_ID)).thenAnswer(invocation ->
+        guard.callAsync(UpstreamOperation.COMMENTS_BY_QUERY,
+            () -> Mono.just(List.<Comment>of())));
+
+    assertAll(
+        () -> assertEquals(503, assertThrows(SystemException.class,
+            () -> auditionController.getPosts(null, null).block()).getStatusCode(),
+            "Open circuit on /posts should stay a 503"),
+        () -> assertEquals(503, assertThrows(SystemException.class,
+            () -> auditionController.getPostsById(VALID_ID).block()).getStatusCode(),
+            "Open circuit on /posts/{id} should stay a 503"),
+        () -> assertEquals(503, assertThrows(SystemException.class,
+            () -> auditionController.getCommentsForPost(VALID_ID).block()).getStatusCode(),
+            "Open circuit on /posts/{id}/comments should stay a 503"),
+        () -> assertEquals(503, assertThrows(SystemException.class,
+            () -> auditionController.getCommentsByPostId(VALID_ID).block()).getStatusCode(),
+            "Open circuit on /posts/comments should stay a 503")
+    );
+  }
+
+  @Test
+  void testCommentEndpointsShouldWriteSlicesFromTheArena() throws Exception {
+    List<Comment> slice = spy(CompactComments.of(List.of(
+        new Comment(1, 1, "Name", "a@b.c", "Body"),
+        new Comment(1, 2, null, null, "Only body"))).slice(0, 2));
+    when(auditionService.getPostWithCommentsAsync(VALID_ID)).thenReturn(Mono.just(slice));
+    when(auditionService.getCommentsByPostIdQueryParamAsync(VALID_ID))
+        .thenReturn(Mono.just(slice));
+    MockMvc mockMvc = MockMvcBuilders.standaloneSetup(auditionController)
+        .setMessageConverters(new MappingJackson2HttpMessageConverter(
+            new WebServiceConfiguration().objectMapper()))
+        .build();
+    String expected = "[{\"postId\":1,\"id\":1,\"name\":\"Name\",\"email\":\"a@b.c\","
+        + "\"body\":\"Body\"},{\"postId\":1,\"id\":2,\"body\":\"Only body\"}]";
+
+    mockMvc.perform(asyncDispatch(mockMvc.perform(get("/posts/1/comments")).andReturn()))
+        .andExpect(status().isOk())
+        .andExpect(content().json(expected, true));
+    mockMvc.perform(asyncDispatch(
+            mockMvc.perform(get("/posts/comments").param("postId", VALID_ID)).andReturn()))
+        .andExpect(status().isOk())
+        .andExpect(content().json(expected, true));
+
+    // The arena is written directly; the list serializer would read every row through get().
+    verify(slice, never()).get(anyInt());
+    verify(slice, never()).iterator();
+  }
+
+}
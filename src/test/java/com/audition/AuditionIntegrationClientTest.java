@@ -3,18 +3,37 @@ package com.audition;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
-
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.audition.common.concurrent.Deadline;
+import com.audition.common.concurrent.DeadlineContext;
+import com.audition.common.exception.DeadlineExceededException;
 import com.audition.common.exception.SystemException;
+import com.audition.configuration.IntegrationProperties;
+import com.audition.configuration.WebServiceConfiguration;
 import com.audition.integration.AuditionIntegrationClient;
+import com.audition.integration.ConditionalGetCache;
 import com.audition.model.AuditionPost;
 import com.audition.model.Comment;
+import com.audition.model.json.CompactComments;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.List;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -22,8 +41,16 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -60,7 +87,13 @@ class AuditionIntegrationClientTest {
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
-    auditionIntegrationClient = new AuditionIntegrationClient(restTemplate);
+    auditionIntegrationClient = new AuditionIntegrationClient(restTemplate,
+        new WebServiceConfiguration().objectMapper(), ConditionalGetCache.disabled());
+  }
+
+  @AfterEach
+  void clearDeadline() {
+    DeadlineContext.clear();
   }
 
   @Test
@@ -100,9 +133,7 @@ class AuditionIntegrationClientTest {
 
   @Test
   void testGetPostByIdShouldReturnPostWhenValidId() {
-    AuditionPost mockPost = new AuditionPost();
-    mockPost.setId(1);
-    mockPost.setTitle("Test Title");
+    AuditionPost mockPost = new AuditionPost(0, 1, "Test Title", null);
     when(restTemplate.getForObject(URL1, AuditionPost.class))
         .thenReturn(mockPost);
     AuditionPost result = auditionIntegrationClient.getPostById("1");
@@ -161,15 +192,9 @@ class AuditionIntegrationClientTest {
 
   @Test
   void testGetPostWithCommentsShouldReturnComments() {
-    Comment comment1 = new Comment();
-    comment1.setId(1);
-    comment1.setPostId(1);
-    comment1.setName(COMMENT_1);
+    Comment comment1 = new Comment(1, 1, COMMENT_1, null, null);
 
-    Comment comment2 = new Comment();
-    comment2.setId(2);
-    comment2.setPostId(1);
-    comment2.setName(COMMENT_2);
+    Comment comment2 = new Comment(1, 2, COMMENT_2, null, null);
 
     Comment[] mockComments = {comment1, comment2};
     String postId = "1";
@@ -321,10 +346,8 @@ class AuditionIntegrationClientTest {
   @Test
   void testGetCommentsByPostIdQueryParamsShouldReturnComments() {
     // Given
-    Comment comment1 = new Comment();
-    comment1.setBody(COMMENT_1);
-    Comment comment2 = new Comment();
-    comment2.setBody(COMMENT_2);
+    Comment comment1 = new Comment(0, 0, null, null, COMMENT_1);
+    Comment comment2 = new Comment(0, 0, null, null, COMMENT_2);
 
     Comment[] mockComments = {comment1, comment2};
     String url = buildUrl(VALID_POST_ID);
@@ -403,5 +426,170 @@ class AuditionIntegrationClientTest {
     verify(restTemplate, times(1)).getForObject(url, Comment[].class);
   }
 
+  @Test
+  void testGetPostsByIdsShouldUseRepeatedIdParameters() {
+    String expectedUrl = BASE_URL + POSTS_ENDPOINT + "?id=1&id=2";
+    AuditionPost[] mockPosts = {new AuditionPost(1, 1, "Title1", "Body1")};
+    when(restTemplate.getForObject(expectedUrl, AuditionPost[].class)).thenReturn(mockPosts);
+
+    List<AuditionPost> posts = auditionIntegrationClient.getPostsByIds(List.of(1, 2));
+
+    assertEquals(1, posts.size(), "Only posts returned by the upstream should be present");
+    verify(restTemplate, times(1)).getForObject(expectedUrl, AuditionPost[].class);
+    verifyNoMoreInteractions(restTemplate);
+  }
+
+  @Test
+  void testGetPostsFilteredShouldSendOnlyGivenFilters() {
+    String expectedUrl = BASE_URL + POSTS_ENDPOINT + "?userId=1";
+    AuditionPost[] mockPosts = {new AuditionPost(1, 1, "Title1", "Body1")};
+    when(restTemplate.getForObject(expectedUrl, AuditionPost[].class)).thenReturn(mockPosts);
+
+    List<AuditionPost> posts = auditionIntegrationClient.getPostsFiltered(1, null);
+
+    assertEquals(1, posts.size(), "Posts filtered by the upstream should be returned");
+    verify(restTemplate, times(1)).getForObject(expectedUrl, AuditionPost[].class);
+    verifyNoMoreInteractions(restTemplate);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testStreamPostsShouldWrapClientErrorsInSystemException() {
+    when(restTemplate.execute(eq(BASE_URL + POSTS_ENDPOINT), eq(HttpMethod.GET),
+        any(RequestCallback.class), any(ResponseExtractor.class)))
+        .thenThrow(new HttpClientErrorException(HttpStatus.FORBIDDEN));
+
+    SystemException exception = assertThrows(SystemException.class,
+        () -> auditionIntegrationClient.streamPosts(1, null),
+        "Client errors should be wrapped");
+
+    assertEquals(HttpStatus.FORBIDDEN.value(), exception.getStatusCode(),
+        "Upstream status should be preserved");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testStreamPostsShouldReturnEmptyListWhenBodyIsNull() {
+    when(restTemplate.execute(eq(BASE_URL + POSTS_ENDPOINT), eq(HttpMethod.GET),
+        any(RequestCallback.class), any(ResponseExtractor.class))).thenReturn(null);
+
+    assertTrue(auditionIntegrationClient.streamPosts(null, 1).isEmpty(),
+        "Null body should produce an empty list");
+  }
+
+  @Test
+  void testExpiredDeadlineShouldRejectBeforeAnyUpstreamCall() {
+    DeadlineContext.set(Deadline.after(Duration.ZERO));
+
+    DeadlineExceededException exception = assertThrows(DeadlineExceededException.class,
+        () -> auditionIntegrationClient.getPostById(VALID_POST_ID),
+        "Spent budget should be rejected");
+
+    assertEquals(504, exception.getStatusCode(), "Deadline rejection should be a 504");
+    verifyNoInteractions(restTemplate);
+  }
+
+  @Test
+  void testTimeoutAfterDeadlineShouldBeReportedAsDeadlineExceeded() {
+    Deadline deadline = Deadline.after(Duration.ofMillis(20));
+    DeadlineContext.set(deadline);
+    when(restTemplate.getForObject(URL1, AuditionPost.class)).thenAnswer(invocation -> {
+      Thread.sleep(deadline.remaining().toMillis() + 5);
+      throw new ResourceAccessException("Read timed out");
+    });
+
+    DeadlineExceededException exception = assertThrows(DeadlineExceededException.class,
+        () -> auditionIntegrationClient.getPostById(VALID_POST_ID),
+        "Timeout past the deadline should not look like an integration error");
+
+    assertEquals(504, exception.getStatusCode(), "Deadline expiry should be a 504");
+  }
+
+  @Test
+  void testNotModifiedShouldServeStoredCommentsAndCountSavedBytes() {
+    RestTemplate realRestTemplate = new RestTemplate();
+    MockRestServiceServer server = MockRestServiceServer.bindTo(realRestTemplate).build();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    IntegrationProperties properties = new IntegrationProperties();
+    properties.getRevalidation().setEnabled(true);
+    AuditionIntegrationClient client = new AuditionIntegrationClient(realRestTemplate,
+        new WebServiceConfiguration().objectMapper(),
+        new ConditionalGetCache(properties, meterRegistry));
+    String body = "[{\"postId\":1,\"id\":1,\"body\":\"Comment 1\"}]";
+    HttpHeaders validators = new HttpHeaders();
+    validators.setETag("W/\"v1\"");
+    validators.set(HttpHeaders.LAST_MODIFIED, "Mon, 01 Jan 2024 00:00:00 GMT");
+    server.expect(requestTo(EXPECTED_URL))
+        .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(validators));
+    server.expect(requestTo(EXPECTED_URL))
+        .andExpect(header(HttpHeaders.IF_NONE_MATCH, "W/\"v1\""))
+        .andExpect(header(HttpHeaders.IF_MODIFIED_SINCE, "Mon, 01 Jan 2024 00:00:00 GMT"))
+        .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+    List<Comment> first = client.getCommentsByPostIdQueryParam(POST_ID);
+    List<Comment> second = client.getCommentsByPostIdQueryParam(POST_ID);
+
+    server.verify();
+    assertAll(
+        () -> assertEquals(1, first.size(), "Full response should be decoded"),
+        () -> assertSame(first, second, "304 should return the stored list itself"),
+        () -> assertEquals(1.0, meterRegistry.get("audition.upstream.revalidation")
+            .tag("result", "not-modified").counter().count(), "Revalidation hit should be counted"),
+        () -> assertEquals(body.length(), meterRegistry.get("audition.upstream.revalidation.saved")
+            .counter().count(), "Stored payload size should be counted as saved")
+    );
+  }
+
+  @Test
+  void testNotModifiedShouldServeTheReplacementOfStoredComments() {
+    RestTemplate realRestTemplate = new RestTemplate();
+    MockRestServiceServer server = MockRestServiceServer.bindTo(realRestTemplate).build();
+    IntegrationProperties properties = new IntegrationProperties();
+    properties.getRevalidation().setEnabled(true);
+    AuditionIntegrationClient client = new AuditionIntegrationClient(realRestTemplate,
+        new WebServiceConfiguration().objectMapper(),
+        new ConditionalGetCache(properties, new SimpleMeterRegistry()));
+    String url = BASE_URL + COMMENTS_ENDPOINT;
+    HttpHeaders validators = new HttpHeaders();
+    validators.setETag("\"v1\"");
+    server.expect(requestTo(url)).andRespond(withSuccess(
+        "[{\"postId\":1,\"id\":1,\"body\":\"Comment 1\"}]", MediaType.APPLICATION_JSON)
+        .headers(validators));
+    server.expect(requestTo(url))
+        .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+        .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+    List<Comment> decoded = client.getComments();
+    List<Comment> compact = CompactComments.of(decoded).slice(0, decoded.size());
+    client.replaceStoredComments(decoded, compact);
+    List<Comment> revalidated = client.getComments();
+
+    server.verify();
+    assertAll(
+        () -> assertSame(compact, revalidated, "304 should return the replacement"),
+        () -> assertEquals(decoded, revalidated, "Replacement should hold the same comments")
+    );
+  }
+
+  @Test
+  void testResponseWithoutValidatorsShouldBeFetchedUnconditionally() {
+    RestTemplate realRestTemplate = new RestTemplate();
+    MockRestServiceServer server = MockRestServiceServer.bindTo(realRestTemplate).build();
+    IntegrationProperties properties = new IntegrationProperties();
+    properties.getRevalidation().setEnabled(true);
+    AuditionIntegrationClient client = new AuditionIntegrationClient(realRestTemplate,
+        new WebServiceConfiguration().objectMapper(),
+        new ConditionalGetCache(properties, new SimpleMeterRegistry()));
+    String url = BASE_URL + POSTS_ENDPOINT;
+    server.expect(ExpectedCount.twice(), requestTo(url))
+        .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+        .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+    client.getPosts();
+    List<AuditionPost> posts = client.getPosts();
+
+    server.verify();
+    assertTrue(posts.isEmpty(), "Empty upstream array should decode to an empty list");
+  }
 
 }
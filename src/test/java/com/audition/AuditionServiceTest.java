@@ -3,28 +3,58 @@ package com.audition;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.audition.common.concurrent.SingleFlight;
 import com.audition.common.exception.SystemException;
+import com.audition.configuration.CacheProperties;
+import com.audition.configuration.IntegrationProperties;
+import com.audition.configuration.ResilienceProperties;
 import com.audition.integration.AuditionIntegrationClient;
+import com.audition.integration.ReactiveAuditionIntegrationClient;
+import com.audition.integration.UpstreamGuard;
+import com.audition.integration.UpstreamHedger;
+import com.audition.integration.UpstreamOperation;
+import com.audition.integration.UpstreamRetrier;
 import com.audition.model.AuditionPost;
 import com.audition.model.Comment;
+import com.audition.model.PostLookupResult;
+import com.audition.model.PostWithComments;
 import com.audition.service.AuditionService;
+import com.audition.service.CommentsSnapshotCache;
+import com.audition.service.MissingPostFilter;
+import com.audition.service.PostByIdBatcher;
+import com.audition.service.PostIndex;
+import com.audition.service.PostsQueryPlanner;
+import com.audition.service.PostsSnapshotCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.Getter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 @ExtendWith(MockitoExtension.class)
 @Getter
@@ -36,14 +66,42 @@ class AuditionServiceTest {
   @Mock
   private  AuditionIntegrationClient auditionIntegrationClient;
 
+  @Mock
+  private ReactiveAuditionIntegrationClient reactiveAuditionIntegrationClient;
+
+  @Mock
+  private PostByIdBatcher postByIdBatcher;
+
+  @Mock
+  private PostsSnapshotCache postsSnapshotCache;
+
+  @Mock
+  private CommentsSnapshotCache commentsSnapshotCache;
+
   private List<AuditionPost> samplePosts;
 
+  private IntegrationProperties integrationProperties;
+
+  private SimpleMeterRegistry planMetrics;
+
+  private CacheProperties cacheProperties;
 
-  @InjectMocks
   private AuditionService auditionService;
 
   @BeforeEach
   void setUp() {
+    integrationProperties = new IntegrationProperties();
+    planMetrics = new SimpleMeterRegistry();
+    cacheProperties = new CacheProperties();
+    auditionService = new AuditionService(auditionIntegrationClient,
+        reactiveAuditionIntegrationClient, integrationProperties,
+        new SingleFlight(new SimpleMeterRegistry()), postByIdBatcher, postsSnapshotCache,
+        new UpstreamGuard(new ResilienceProperties(), new SimpleMeterRegistry()),
+        new UpstreamHedger(integrationProperties, new SimpleMeterRegistry()),
+        new UpstreamRetrier(new ResilienceProperties(), new SimpleMeterRegistry()),
+        new PostsQueryPlanner(integrationProperties, postsSnapshotCache, planMetrics),
+        commentsSnapshotCache,
+        new MissingPostFilter(cacheProperties, postsSnapshotCache, new SimpleMeterRegistry()));
     samplePosts = Arrays.asList(
         new AuditionPost(1, 101, "Title1", "Body1"),
         new AuditionPost(2, 102, "Title2", "Body2"),
@@ -177,6 +235,47 @@ class AuditionServiceTest {
     verifyNoMoreInteractions(auditionIntegrationClient);
   }
 
+  @Test
+  void testGetPostByIdShouldRememberUpstreamNotFound() {
+    // Given
+    cacheProperties.getMissingPosts().setEnabled(true);
+    when(auditionIntegrationClient.getPostById("999")).thenThrow(
+        new SystemException("Cannot find a Post with id 999", "Resource Not Found", 404));
+
+    // When
+    SystemException first = assertThrows(SystemException.class,
+        () -> auditionService.getPostById("999"), "Upstream 404 should be reported");
+    SystemException second = assertThrows(SystemException.class,
+        () -> auditionService.getPostById("999"), "Remembered 404 should be reported");
+
+    // Then
+    assertAll(
+        () -> assertEquals(404, first.getStatusCode(), "First lookup should be a 404"),
+        () -> assertEquals(404, second.getStatusCode(), "Repeated lookup should be a 404"),
+        () -> assertEquals(first.getMessage(), second.getMessage(),
+            "Short-circuited 404 should match the upstream one")
+    );
+    verify(auditionIntegrationClient, times(1)).getPostById("999");
+    verifyNoMoreInteractions(auditionIntegrationClient);
+  }
+
+  @Test
+  void testGetPostByIdShouldRejectIdsAbsentFromFreshSnapshot() {
+    // Given
+    cacheProperties.getMissingPosts().setEnabled(true);
+    when(postsSnapshotCache.isEnabled()).thenReturn(true);
+    when(postsSnapshotCache.isFresh()).thenReturn(true);
+    when(postsSnapshotCache.index()).thenReturn(PostIndex.of(samplePosts));
+
+    // When
+    SystemException exception = assertThrows(SystemException.class,
+        () -> auditionService.getPostById("105"), "Unknown id should be rejected");
+
+    // Then
+    assertEquals(404, exception.getStatusCode(), "Unknown id should be a 404");
+    verifyNoInteractions(auditionIntegrationClient);
+  }
+
   @Test
   void testGetPostByIdShouldThrowExceptionWhenIntegrationClientFails() {
     // Given
@@ -318,4 +417,424 @@ class AuditionServiceTest {
     verify(auditionIntegrationClient, times(1)).getCommentsByPostIdQueryParam(postId);
     verifyNoMoreInteractions(auditionIntegrationClient);
   }
+
+  @Test
+  void testGetPostByIdShouldUseReactiveClientWhenEngineIsReactive() {
+    // Given
+    String postId = "1";
+    AuditionPost expectedPost = new AuditionPost(1, 1, "Test Title", "Test Body");
+    integrationProperties.setEngine(IntegrationProperties.Engine.REACTIVE);
+    when(reactiveAuditionIntegrationClient.getPostById(postId)).thenReturn(Mono.just(expectedPost));
+
+    // When
+    AuditionPost result = auditionService.getPostById(postId);
+
+    // Then
+    assertEquals(expectedPost, result, "Returned post should come from the reactive client");
+    verifyNoInteractions(auditionIntegrationClient);
+  }
+
+  @Test
+  void testGetPostsAsyncShouldOffloadBlockingClient() {
+    // Given
+    when(auditionIntegrationClient.getPosts()).thenReturn(samplePosts);
+
+    // When & Then
+    StepVerifier.create(auditionService.getPostsAsync())
+        .expectNext(samplePosts)
+        .verifyComplete();
+    verifyNoInteractions(reactiveAuditionIntegrationClient);
+  }
+
+  @Test
+  void testSnapshotHitsShouldBeAnsweredOnTheCallingThread() {
+    // Given
+    AtomicReference<Thread> reader = new AtomicReference<>();
+    when(postsSnapshotCache.isEnabled()).thenReturn(true);
+    when(postsSnapshotCache.index()).thenAnswer(invocation -> {
+      reader.set(Thread.currentThread());
+      return PostIndex.of(samplePosts);
+    });
+
+    // When
+    List<AuditionPost> result = auditionService.applyFiltersAsync(1, null).block();
+
+    // Then
+    assertAll(
+        () -> assertEquals(2, result.size(), "Snapshot should answer the query"),
+        () -> assertSame(Thread.currentThread(), reader.get(),
+            "In-memory snapshot reads should not hop threads")
+    );
+  }
+
+  @Test
+  void testOffloadedCallsShouldRunOnVirtualThreadsWhenEnabled() {
+    // Given
+    AuditionService service = new AuditionService(auditionIntegrationClient,
+        reactiveAuditionIntegrationClient, integrationProperties,
+        new SingleFlight(new SimpleMeterRegistry()), postByIdBatcher, postsSnapshotCache,
+        new UpstreamGuard(new ResilienceProperties(), new SimpleMeterRegistry()),
+        new UpstreamHedger(integrationProperties, new SimpleMeterRegistry()),
+        new UpstreamRetrier(new ResilienceProperties(), new SimpleMeterRegistry()),
+        new PostsQueryPlanner(integrationProperties, postsSnapshotCache, planMetrics),
+        commentsSnapshotCache,
+        new MissingPostFilter(cacheProperties, postsSnapshotCache, new SimpleMeterRegistry()),
+        true, 200);
+    AtomicReference<Thread> caller = new AtomicReference<>();
+    when(auditionIntegrationClient.getPosts()).thenAnswer(invocation -> {
+      caller.set(Thread.currentThread());
+      return samplePosts;
+    });
+
+    // When
+    service.getPostsAsync().block();
+
+    // Then
+    assertTrue(caller.get().isVirtual(), "Blocking upstream call should run on a virtual thread");
+  }
+
+  @Test
+  void testGetPostWithCommentsAsyncShouldCollectReactiveStream() {
+    // Given
+    String postId = "1";
+    Comment comment = new Comment(1, 1, "Test Author 1", "Test Comment 1", "Comment1");
+    integrationProperties.setEngine(IntegrationProperties.Engine.REACTIVE);
+    when(reactiveAuditionIntegrationClient.getPostWithComments(postId))
+        .thenReturn(Flux.just(comment));
+
+    // When & Then
+    StepVerifier.create(auditionService.getPostWithCommentsAsync(postId))
+        .expectNext(List.of(comment))
+        .verifyComplete();
+  }
+
+  @Test
+  void testGetPostByIdShouldUseBatcherWhenBatchingEnabled() {
+    // Given
+    AuditionPost expectedPost = new AuditionPost(1, 7, "Test Title", "Test Body");
+    integrationProperties.getBatch().setEnabled(true);
+    when(postByIdBatcher.getPostById(7)).thenReturn(expectedPost);
+
+    // When
+    AuditionPost result = auditionService.getPostById("7");
+
+    // Then
+    assertEquals(expectedPost, result, "Returned post should come from the batcher");
+    verifyNoInteractions(auditionIntegrationClient);
+  }
+
+  @Test
+  void testApplyFiltersShouldUseSnapshotWhenCacheEnabled() {
+    // Given
+    when(postsSnapshotCache.isEnabled()).thenReturn(true);
+    when(postsSnapshotCache.index()).thenReturn(PostIndex.of(samplePosts));
+
+    // When
+    List<AuditionPost> result = auditionService.applyFilters(1, null);
+
+    // Then
+    assertEquals(2, result.size(), "Should filter the cached snapshot");
+    verifyNoInteractions(auditionIntegrationClient);
+  }
+
+  @Test
+  void testApplyFiltersShouldIntersectIndexesWhenBothFiltersGiven() {
+    // Given
+    when(postsSnapshotCache.isEnabled()).thenReturn(true);
+    when(postsSnapshotCache.index()).thenReturn(PostIndex.of(samplePosts));
+
+    // When
+    List<AuditionPost> match = auditionService.applyFilters(1, 103);
+    List<AuditionPost> mismatch = auditionService.applyFilters(2, 103);
+
+    // Then
+    assertAll(
+        () -> assertEquals(1, match.size(), "Id owned by the user should match"),
+        () -> assertEquals(103, match.get(0).getId(), "Matched post should be the indexed one"),
+        () -> assertTrue(mismatch.isEmpty(), "Id owned by another user should not match")
+    );
+  }
+
+  @Test
+  void testApplyFiltersShouldStreamWhenSnapshotDisabled() {
+    // Given
+    integrationProperties.setStreamingDecode(true);
+    List<AuditionPost> expected = List.of(samplePosts.get(1));
+    when(auditionIntegrationClient.streamPosts(2, null)).thenReturn(expected);
+
+    // When
+    List<AuditionPost> result = auditionService.applyFilters(2, null);
+
+    // Then
+    assertEquals(expected, result, "Filtered posts should come from the streaming decode");
+    verify(auditionIntegrationClient).streamPosts(2, null);
+    verifyNoMoreInteractions(auditionIntegrationClient);
+  }
+
+  @Test
+  void testCommentsShouldBeServedFromOneSnapshotFetchWhenEnabled() {
+    // Given
+    cacheProperties.getComments().setEnabled(true);
+    UpstreamGuard upstreamGuard =
+        new UpstreamGuard(new ResilienceProperties(), new SimpleMeterRegistry());
+    UpstreamRetrier upstreamRetrier =
+        new UpstreamRetrier(new ResilienceProperties(), new SimpleMeterRegistry());
+    AuditionService service = new AuditionService(auditionIntegrationClient,
+        reactiveAuditionIntegrationClient, integrationProperties,
+        new SingleFlight(new SimpleMeterRegistry()), postByIdBatcher, postsSnapshotCache,
+        upstreamGuard, new UpstreamHedger(integrationProperties, new SimpleMeterRegistry()),
+        upstreamRetrier,
+        new PostsQueryPlanner(integrationProperties, postsSnapshotCache, planMetrics),
+        new CommentsSnapshotCache(auditionIntegrationClient, upstreamGuard, upstreamRetrier,
+            cacheProperties, new SimpleMeterRegistry()),
+        new MissingPostFilter(cacheProperties, postsSnapshotCache, new SimpleMeterRegistry()));
+    Comment first = new Comment(1, 1, "Name1", "Email1", "Body1");
+    Comment second = new Comment(2, 2, "Name2", "Email2", "Body2");
+    Comment third = new Comment(1, 3, "Name3", "Email3", "Body3");
+    when(auditionIntegrationClient.getComments()).thenReturn(List.of(first, second, third));
+
+    // When
+    List<Comment> postOne = service.getPostWithComments("1");
+    List<Comment> postTwo = service.getCommentsByPostIdQueryParam("2");
+    List<Comment> postThree = service.getPostWithCommentsAsync("3").block();
+
+    // Then
+    assertAll(
+        () -> assertEquals(List.of(first, third), postOne, "Comments should be partitioned"),
+        () -> assertEquals(List.of(second), postTwo, "Query lookup should use the same index"),
+        () -> assertTrue(postThree.isEmpty(), "Post without comments should get an empty list")
+    );
+    verify(auditionIntegrationClient, times(1)).getComments();
+    verify(auditionIntegrationClient).replaceStoredComments(any(), any());
+    verifyNoMoreInteractions(auditionIntegrationClient);
+  }
+
+  @Test
+  void testHedgedCallShouldTakeOneGuardPermit() {
+    // Given
+    integrationProperties.getHedge().setEnabled(true);
+    integrationProperties.getHedge().setMinDelay(Duration.ofMillis(1));
+    integrationProperties.getHedge().setMaxDelay(Duration.ofMillis(20));
+    ResilienceProperties resilienceProperties = new ResilienceProperties();
+    resilienceProperties.getBulkhead().setMaxConcurrentCalls(1);
+    UpstreamGuard upstreamGuard =
+        new UpstreamGuard(resilienceProperties, new SimpleMeterRegistry());
+    AuditionService service = new AuditionService(auditionIntegrationClient,
+        reactiveAuditionIntegrationClient, integrationProperties,
+        new SingleFlight(new SimpleMeterRegistry()), postByIdBatcher, postsSnapshotCache,
+        upstreamGuard, new UpstreamHedger(integrationProperties, new SimpleMeterRegistry()),
+        new UpstreamRetrier(resilienceProperties, new SimpleMeterRegistry()),
+        new PostsQueryPlanner(integrationProperties, postsSnapshotCache, planMetrics),
+        commentsSnapshotCache,
+        new MissingPostFilter(cacheProperties, postsSnapshotCache, new SimpleMeterRegistry()));
+    AtomicInteger attempts = new AtomicInteger();
+    when(auditionIntegrationClient.getPostById("1")).thenAnswer(invocation -> {
+      if (attempts.incrementAndGet() == 1) {
+        Thread.sleep(500);
+        return samplePosts.get(1);
+      }
+      return samplePosts.get(0);
+    });
+
+    // When
+    AuditionPost result = service.getPostById("1");
+
+    // Then
+    assertAll(
+        () -> assertSame(samplePosts.get(0), result,
+            "The hedge should run under the primary's permit and win"),
+        () -> assertEquals(0, upstreamGuard.limiter(UpstreamOperation.POST_BY_ID).getInFlight(),
+            "The pair should release its single limiter permit")
+    );
+  }
+
+  @Test
+  void testApplyFiltersShouldPushFiltersUpstreamWithoutFreshSnapshot() {
+    // Given
+    integrationProperties.setFilterPushdown(true);
+    when(postsSnapshotCache.isEnabled()).thenReturn(true);
+    List<AuditionPost> expected = List.of(samplePosts.get(1));
+    when(auditionIntegrationClient.getPostsFiltered(2, null)).thenReturn(expected);
+
+    // When
+    List<AuditionPost> result = auditionService.applyFilters(2, null);
+
+    // Then
+    assertAll(
+        () -> assertEquals(expected, result, "Filtered posts should come from the upstream"),
+        () -> assertEquals(1.0, planMetrics.get("audition.posts.plan").tag("plan", "pushdown")
+            .tag("filtered", "true").counter().count(), "Pushdown plan should be counted")
+    );
+    verify(postsSnapshotCache, times(0)).index();
+    verify(auditionIntegrationClient).getPostsFiltered(2, null);
+    verifyNoMoreInteractions(auditionIntegrationClient);
+  }
+
+  @Test
+  void testApplyFiltersShouldCountUnfilteredQueriesSeparately() {
+    // Given
+    when(postsSnapshotCache.isEnabled()).thenReturn(true);
+    when(postsSnapshotCache.index()).thenReturn(PostIndex.of(samplePosts));
+
+    // When
+    auditionService.applyFilters(null, null);
+
+    // Then
+    assertAll(
+        () -> assertEquals(1.0, planMetrics.get("audition.posts.plan").tag("plan", "snapshot")
+            .tag("filtered", "false").counter().count(), "Unfiltered plan should be counted"),
+        () -> assertEquals(0.0, planMetrics.get("audition.posts.plan").tag("plan", "snapshot")
+            .tag("filtered", "true").counter().count(), "Filtered plans should be untouched")
+    );
+  }
+
+  @Test
+  void testApplyFiltersShouldPreferFreshSnapshotOverPushdown() {
+    // Given
+    integrationProperties.setFilterPushdown(true);
+    when(postsSnapshotCache.isEnabled()).thenReturn(true);
+    when(postsSnapshotCache.isFresh()).thenReturn(true);
+    when(postsSnapshotCache.index()).thenReturn(PostIndex.of(samplePosts));
+
+    // When
+    List<AuditionPost> result = auditionService.applyFilters(1, null);
+
+    // Then
+    assertAll(
+        () -> assertEquals(2, result.size(), "Fresh snapshot should answer the query"),
+        () -> assertEquals(1.0, planMetrics.get("audition.posts.plan").tag("plan", "snapshot")
+            .tag("filtered", "true").counter().count(), "Snapshot plan should be counted")
+    );
+    verifyNoInteractions(auditionIntegrationClient);
+  }
+
+  @Test
+  void testApplyFiltersShouldPushFiltersToReactiveClient() {
+    // Given
+    integrationProperties.setFilterPushdown(true);
+    integrationProperties.setEngine(IntegrationProperties.Engine.REACTIVE);
+    when(reactiveAuditionIntegrationClient.getPostsFiltered(null, 102))
+        .thenReturn(Flux.just(samplePosts.get(1)));
+
+    // When
+    List<AuditionPost> result = auditionService.applyFilters(null, 102);
+
+    // Then
+    assertEquals(List.of(samplePosts.get(1)), result,
+        "Filtered posts should come from the reactive upstream");
+    verifyNoInteractions(auditionIntegrationClient);
+  }
+
+  @Test
+  void testApplyFiltersAsyncShouldFilterReactivePostsWithoutBlocking() {
+    // Given
+    integrationProperties.setEngine(IntegrationProperties.Engine.REACTIVE);
+    when(reactiveAuditionIntegrationClient.getPosts())
+        .thenReturn(Flux.fromIterable(samplePosts));
+
+    // When & Then
+    StepVerifier.create(auditionService.applyFiltersAsync(1, null))
+        .expectNext(List.of(samplePosts.get(0), samplePosts.get(2)))
+        .verifyComplete();
+    verifyNoInteractions(auditionIntegrationClient);
+  }
+
+  @Test
+  void testGetPostsByIdsShouldServeSnapshotHitsAndFetchTheRest() {
+    // Given
+    when(postsSnapshotCache.isEnabled()).thenReturn(true);
+    when(postsSnapshotCache.isFresh()).thenReturn(true);
+    when(postsSnapshotCache.index()).thenReturn(PostIndex.of(samplePosts));
+    AuditionPost fetched = new AuditionPost(5, 200, "Fetched", "Body");
+    when(auditionIntegrationClient.getPostById("200")).thenReturn(fetched);
+    when(auditionIntegrationClient.getPostById("999")).thenThrow(
+        new SystemException("Cannot find a Post with id 999", "Resource Not Found", 404));
+
+    // When
+    List<PostLookupResult> result = auditionService.getPostsByIds(List.of(102, 999, 200));
+
+    // Then
+    assertAll(
+        () -> assertEquals(3, result.size(), "Every id should have a result"),
+        () -> assertEquals(samplePosts.get(1), result.get(0).getPost(),
+            "Snapshot hit should be served from the index"),
+        () -> assertEquals(404, result.get(1).getStatus(), "Missing post should be a 404 entry"),
+        () -> assertEquals("Cannot find a Post with id 999", result.get(1).getError(),
+            "Upstream detail should be kept"),
+        () -> assertEquals(fetched, result.get(2).getPost(), "Miss should be fetched upstream"),
+        () -> assertEquals(200, result.get(2).getStatus(), "Fetched post should be a 200 entry")
+    );
+    verify(auditionIntegrationClient, times(0)).getPostById("102");
+  }
+
+  @Test
+  void testGetPostsByIdsShouldBoundConcurrentFetches() {
+    // Given
+    integrationProperties.getFanOut().setConcurrency(2);
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    when(auditionIntegrationClient.getPostById(anyString())).thenAnswer(invocation -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      Thread.sleep(20);
+      inFlight.decrementAndGet();
+      return new AuditionPost(1, Integer.parseInt(invocation.getArgument(0)), "T", "B");
+    });
+
+    // When
+    List<PostLookupResult> result = auditionService.getPostsByIds(List.of(1, 2, 3, 4, 5, 6));
+
+    // Then
+    assertEquals(6, result.size(), "Every id should have a result");
+    assertTrue(maxInFlight.get() <= 2, "No more than the configured lookups should overlap");
+    assertEquals(4, result.get(3).getPost().getId(), "Results should keep request order");
+  }
+
+  @Test
+  void testGetPostWithCommentsByIdShouldFetchBothConcurrently() {
+    // Given: each call waits until the other one has started
+    AuditionPost post = new AuditionPost(1, 7, "Title", "Body");
+    List<Comment> comments = List.of(new Comment(7, 1, "Name", "mail@example.com", "Nice"));
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    AtomicInteger overlapped = new AtomicInteger();
+    when(auditionIntegrationClient.getPostById("7")).thenAnswer(invocation -> {
+      bothStarted.countDown();
+      if (bothStarted.await(2, TimeUnit.SECONDS)) {
+        overlapped.incrementAndGet();
+      }
+      return post;
+    });
+    when(auditionIntegrationClient.getPostWithComments("7")).thenAnswer(invocation -> {
+      bothStarted.countDown();
+      if (bothStarted.await(2, TimeUnit.SECONDS)) {
+        overlapped.incrementAndGet();
+      }
+      return comments;
+    });
+
+    // When
+    PostWithComments result = auditionService.getPostWithCommentsById("7");
+
+    // Then
+    assertAll(
+        () -> assertEquals(7, result.getId(), "Post fields should be copied"),
+        () -> assertEquals(comments, result.getComments(), "Comments should be attached"),
+        () -> assertEquals(2, overlapped.get(), "Calls should run concurrently")
+    );
+  }
+
+  @Test
+  void testGetPostWithCommentsByIdShouldPropagatePostFailure() {
+    // Given
+    when(auditionIntegrationClient.getPostById("9")).thenThrow(
+        new SystemException("Cannot find a Post with id 9", "Resource Not Found", 404));
+    lenient().when(auditionIntegrationClient.getPostWithComments("9"))
+        .thenReturn(Collections.emptyList());
+
+    // When
+    SystemException exception = assertThrows(SystemException.class,
+        () -> auditionService.getPostWithCommentsById("9"), "Post failure should be thrown");
+
+    // Then
+    assertEquals(404, exception.getStatusCode(), "Upstream status should be kept");
+  }
 }
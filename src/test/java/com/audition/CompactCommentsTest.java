@@ -0,0 +1,84 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.audition.model.PostWithComments;
+import com.audition.model.json.CompactComments;
+import com.audition.service.CommentIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CompactCommentsTest {
+
+  private static final String EMAIL = "shared@example.com";
+
+  private final transient ObjectMapper objectMapper = new WebServiceConfiguration().objectMapper();
+  private final transient List<Comment> comments = List.of(
+      new Comment(1, 1, "Zoë \"quoted\"", EMAIL, "line one\nline two ✓"),
+      new Comment(2, 2, "Plain", EMAIL, ""),
+      new Comment(1, 3, null, null, null),
+      new Comment(2, 4, "Plain", "other@example.com", "😀 emoji"));
+
+  @Test
+  void testSliceShouldMaterializeEqualComments() {
+    final CompactComments store = CompactComments.of(comments);
+
+    assertAll(
+        () -> assertEquals(comments, store.slice(0, comments.size()),
+            "Stored comments should read back unchanged"),
+        () -> assertEquals(comments.subList(1, 3), store.slice(1, 3),
+            "Slice should cover its rows only"),
+        () -> assertThrows(IndexOutOfBoundsException.class, () -> store.slice(2, 3).get(1),
+            "Reads past the slice should fail")
+    );
+  }
+
+  @Test
+  void testNamesAndEmailsShouldBeStoredOnce() {
+    final CompactComments store = CompactComments.of(comments);
+
+    // Names Zoë and Plain, emails shared and other, three non-null bodies.
+    assertEquals(7, store.slots(), "Repeated names and emails should share a slot");
+  }
+
+  @Test
+  void testSliceJsonShouldMatchObjectJson() throws Exception {
+    final CompactComments store = CompactComments.of(comments);
+    final List<Comment> slice = store.slice(0, comments.size());
+    final AuditionPost post = new AuditionPost(1, 1, "T", "B");
+
+    assertAll(
+        () -> assertEquals(objectMapper.writeValueAsString(comments),
+            new String(objectMapper.writeValueAsBytes(slice), StandardCharsets.UTF_8),
+            "Arena bytes should be written as the comment serializer would"),
+        () -> assertEquals(objectMapper.writeValueAsString(new PostWithComments(post, comments)),
+            new String(objectMapper.writeValueAsBytes(new PostWithComments(post, slice)),
+                StandardCharsets.UTF_8),
+            "Composite should write the arena bytes too"),
+        () -> assertEquals(objectMapper.writeValueAsString(comments),
+            objectMapper.writeValueAsString(slice),
+            "Character output should decode the arena text")
+    );
+  }
+
+  @Test
+  void testIndexShouldPartitionByPostInUpstreamOrder() {
+    final CommentIndex index = CommentIndex.of(comments);
+
+    assertAll(
+        () -> assertEquals(List.of(comments.get(0), comments.get(2)), index.byPostId(1),
+            "Post 1 should keep upstream order"),
+        () -> assertEquals(List.of(comments.get(1), comments.get(3)), index.byPostId(2),
+            "Post 2 should keep upstream order"),
+        () -> assertEquals(List.of(), index.byPostId(3), "Unknown post should be empty"),
+        () -> assertEquals(4, index.size(), "Every comment should be indexed")
+    );
+  }
+}
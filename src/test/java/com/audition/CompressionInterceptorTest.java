@@ -0,0 +1,156 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.audition.interceptor.CompressionInterceptor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+class CompressionInterceptorTest {
+
+  private static final String JSON = "[{\"userId\":1,\"id\":1,\"title\":\"t\",\"body\":\"b\"}]";
+  private static final byte[] NO_BODY = new byte[0];
+
+  private transient SimpleMeterRegistry meterRegistry;
+  private transient CompressionInterceptor interceptor;
+  private transient MockClientHttpRequest request;
+  private transient ClientHttpRequestExecution execution;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    interceptor = new CompressionInterceptor(meterRegistry);
+    request = new MockClientHttpRequest(HttpMethod.GET,
+        URI.create("https://jsonplaceholder.typicode.com/posts/7/comments"));
+    execution = mock(ClientHttpRequestExecution.class);
+  }
+
+  @Test
+  void testGzipResponseShouldBeDecodedAndCounted() throws IOException {
+    byte[] compressed = gzip(JSON);
+    respond(compressed, "gzip");
+
+    String body;
+    HttpHeaders headers;
+    try (ClientHttpResponse response = interceptor.intercept(request, NO_BODY, execution)) {
+      headers = response.getHeaders();
+      body = StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    assertAll(
+        () -> assertEquals(CompressionInterceptor.ACCEPTED_ENCODINGS,
+            request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING),
+            "Compressed responses should be requested"),
+        () -> assertEquals(JSON, body, "Body should be decompressed while read"),
+        () -> assertNull(headers.getFirst(HttpHeaders.CONTENT_ENCODING),
+            "Decoded response should not claim an encoding"),
+        () -> assertEquals(compressed.length, bytes("gzip", "compressed"),
+            "Transferred bytes should be counted per endpoint"),
+        () -> assertEquals(JSON.length(), bytes("gzip", "uncompressed"),
+            "Decoded bytes should be counted per endpoint")
+    );
+  }
+
+  @Test
+  void testZlibAndRawDeflateResponsesShouldBeDecoded() throws IOException {
+    respond(deflate(JSON, false), "deflate");
+    try (ClientHttpResponse response = interceptor.intercept(request, NO_BODY, execution)) {
+      assertEquals(JSON, StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8),
+          "Zlib-wrapped deflate should be decoded");
+    }
+
+    respond(deflate(JSON, true), "deflate");
+    try (ClientHttpResponse response = interceptor.intercept(request, NO_BODY, execution)) {
+      assertEquals(JSON, StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8),
+          "Raw deflate should be decoded");
+    }
+  }
+
+  @Test
+  void testIdentityResponseShouldPassThrough() throws IOException {
+    respond(JSON.getBytes(StandardCharsets.UTF_8), null);
+
+    try (ClientHttpResponse response = interceptor.intercept(request, NO_BODY, execution)) {
+      assertEquals(JSON, StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8),
+          "Uncompressed body should be returned as sent");
+    }
+
+    assertEquals(JSON.length(), bytes("identity", "compressed"),
+        "Uncompressed responses should be counted as identity");
+  }
+
+  @Test
+  void testEmptyCompressedResponseShouldReadAsEmpty() throws IOException {
+    respond(NO_BODY, "gzip");
+
+    try (ClientHttpResponse response = interceptor.intercept(request, NO_BODY, execution)) {
+      assertEquals(-1, response.getBody().read(), "Empty body should not need a gzip header");
+    }
+  }
+
+  @Test
+  void testCorruptGzipShouldFailWhileReading() throws IOException {
+    respond("not gzip".getBytes(StandardCharsets.UTF_8), "gzip");
+
+    try (ClientHttpResponse response = interceptor.intercept(request, NO_BODY, execution)) {
+      assertThrows(IOException.class, () -> StreamUtils.copyToByteArray(response.getBody()),
+          "Corrupt body should fail like any other read error");
+    }
+  }
+
+  private void respond(final byte[] body, final String encoding) throws IOException {
+    MockClientHttpResponse response = new MockClientHttpResponse(body, HttpStatus.OK);
+    if (encoding != null) {
+      response.getHeaders().set(HttpHeaders.CONTENT_ENCODING, encoding);
+    }
+    response.getHeaders().setContentLength(body.length);
+    when(execution.execute(any(), any())).thenReturn(response);
+  }
+
+  private double bytes(final String encoding, final String form) {
+    return meterRegistry.get("audition.upstream.response.bytes")
+        .tag("endpoint", "/posts/{id}/comments")
+        .tag("encoding", encoding)
+        .tag("form", form)
+        .counter().count();
+  }
+
+  private static byte[] gzip(final String text) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+    return out.toByteArray();
+  }
+
+  private static byte[] deflate(final String text, final boolean raw) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (DeflaterOutputStream deflater = new DeflaterOutputStream(out,
+        new Deflater(Deflater.DEFAULT_COMPRESSION, raw))) {
+      deflater.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+    return out.toByteArray();
+  }
+}
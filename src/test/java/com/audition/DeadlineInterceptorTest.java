@@ -0,0 +1,156 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.audition.common.concurrent.Deadline;
+import com.audition.common.concurrent.DeadlineContext;
+import com.audition.common.exception.DeadlineExceededException;
+import com.audition.configuration.DeadlineProperties;
+import com.audition.configuration.IntegrationProperties;
+import com.audition.interceptor.DeadlineInterceptor;
+import com.audition.service.AuditionService;
+import com.audition.web.AuditionController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+class DeadlineInterceptorTest {
+
+  private static final String HEADER = "X-Request-Timeout";
+  private static final String ENDPOINT = "/posts/{id}";
+
+  private transient DeadlineProperties properties;
+  private transient SimpleMeterRegistry meterRegistry;
+  private transient DeadlineInterceptor interceptor;
+  private transient MockHttpServletRequest request;
+  private transient MockHttpServletResponse response;
+  private transient HandlerMethod handler;
+
+  @BeforeEach
+  void setUp() throws NoSuchMethodException {
+    properties = new DeadlineProperties();
+    meterRegistry = new SimpleMeterRegistry();
+    interceptor = new DeadlineInterceptor(properties, meterRegistry);
+    request = new MockHttpServletRequest("GET", "/posts/1");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ENDPOINT);
+    response = new MockHttpServletResponse();
+    handler = new HandlerMethod(new AuditionController(mock(AuditionService.class),
+        new IntegrationProperties()),
+        AuditionController.class.getMethod("getPostsById", String.class));
+  }
+
+  @AfterEach
+  void tearDown() {
+    DeadlineContext.clear();
+  }
+
+  @Test
+  void testEndpointDefaultShouldApplyWithoutHeader() {
+    interceptor.preHandle(request, response, handler);
+
+    Deadline deadline = DeadlineContext.current();
+    assertNotNull(deadline, "Deadline should be bound to the serving thread");
+    assertTrue(deadline.remaining().compareTo(Duration.ofMillis(2000)) <= 0,
+        "Endpoint default should bound the budget");
+    assertTrue(deadline.remaining().compareTo(Duration.ofMillis(1000)) > 0,
+        "Endpoint default should be used instead of the global default");
+  }
+
+  @Test
+  void testHeaderShouldOverrideDefaultUpToTheMaximum() {
+    properties.setMaxTimeout(Duration.ofMillis(5000));
+    request.addHeader(HEADER, "60000");
+
+    interceptor.preHandle(request, response, handler);
+
+    Duration remaining = DeadlineContext.current().remaining();
+    assertAll(
+        () -> assertTrue(remaining.compareTo(Duration.ofMillis(5000)) <= 0,
+            "Requested budget should be capped"),
+        () -> assertTrue(remaining.compareTo(Duration.ofMillis(2000)) > 0,
+            "Requested budget should replace the endpoint default")
+    );
+  }
+
+  @Test
+  void testSpentBudgetShouldBeRejectedAndCounted() {
+    request.addHeader(HEADER, "0");
+
+    DeadlineExceededException exception = assertThrows(DeadlineExceededException.class,
+        () -> interceptor.preHandle(request, response, handler),
+        "Spent budget should be rejected before the handler runs");
+
+    assertAll(
+        () -> assertEquals(504, exception.getStatusCode(), "Rejection should be a 504"),
+        () -> assertNull(DeadlineContext.current(), "No deadline should be left bound"),
+        () -> assertEquals(1.0, meterRegistry.get("audition.deadline.exceeded")
+            .tag("endpoint", ENDPOINT).tag("stage", "inbound").counter().count(),
+            "Rejection should be counted for the endpoint")
+    );
+  }
+
+  @Test
+  void testMalformedHeaderShouldFallBackToDefault() {
+    request.addHeader(HEADER, "soon");
+
+    interceptor.preHandle(request, response, handler);
+
+    assertNotNull(DeadlineContext.current(), "Malformed header should not fail the request");
+  }
+
+  @Test
+  void testCompletionShouldClearContextAndCountLateRequests() throws Exception {
+    request.addHeader(HEADER, "1");
+    interceptor.preHandle(request, response, handler);
+    Thread.sleep(5);
+
+    interceptor.afterCompletion(request, response, handler, null);
+
+    assertAll(
+        () -> assertNull(DeadlineContext.current(), "Deadline should be cleared"),
+        () -> assertEquals(1.0, meterRegistry.get("audition.deadline.exceeded")
+            .tag("endpoint", ENDPOINT).tag("stage", "in-flight").counter().count(),
+            "Late completion should be counted for the endpoint")
+    );
+  }
+
+  @Test
+  void testAsyncDispatchShouldKeepTheFirstDeadline() {
+    interceptor.preHandle(request, response, handler);
+    Deadline started = DeadlineContext.current();
+
+    interceptor.afterConcurrentHandlingStarted(request, response, handler);
+    Deadline released = DeadlineContext.current();
+    request.setDispatcherType(DispatcherType.ASYNC);
+    interceptor.preHandle(request, response, handler);
+
+    assertAll(
+        () -> assertNull(released, "Released servlet thread should not keep the deadline"),
+        () -> assertSame(started, DeadlineContext.current(),
+            "Async dispatch should bind the deadline started on arrival")
+    );
+  }
+
+  @Test
+  void testDisabledInterceptorShouldNotBindDeadline() {
+    properties.setEnabled(false);
+
+    interceptor.preHandle(request, response, handler);
+
+    assertNull(DeadlineContext.current(), "Disabled interceptor should not bind a deadline");
+  }
+}
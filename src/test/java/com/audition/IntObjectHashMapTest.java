@@ -0,0 +1,51 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.audition.common.collection.IntObjectHashMap;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class IntObjectHashMapTest {
+
+  @Test
+  void testPutAndGetShouldSurviveResizing() {
+    IntObjectHashMap<String> map = new IntObjectHashMap<>();
+    for (int key = -500; key < 500; key++) {
+      map.put(key, "v" + key);
+    }
+
+    assertAll(
+        () -> assertEquals(1000, map.size(), "Every key should be stored once"),
+        () -> assertEquals("v-500", map.get(-500), "Negative keys should be supported"),
+        () -> assertEquals("v0", map.get(0), "Zero should be a valid key"),
+        () -> assertEquals("v499", map.get(499), "Last key should be found after rehashing"),
+        () -> assertNull(map.get(500), "Absent key should return null"),
+        () -> assertFalse(map.containsKey(10_000), "Absent key should not be contained")
+    );
+  }
+
+  @Test
+  void testPutShouldReplaceExistingValue() {
+    IntObjectHashMap<String> map = new IntObjectHashMap<>(4);
+
+    assertNull(map.put(7, "a"), "First put should have no previous value");
+    assertEquals("a", map.put(7, "b"), "Second put should return the replaced value");
+    assertEquals("b", map.get(7), "Latest value should win");
+    assertEquals(1, map.size(), "Replacing should not grow the map");
+  }
+
+  @Test
+  void testComputeIfAbsentShouldCreateOnce() {
+    IntObjectHashMap<List<Integer>> map = new IntObjectHashMap<>();
+
+    map.computeIfAbsent(3, key -> new ArrayList<>()).add(1);
+    map.computeIfAbsent(3, key -> new ArrayList<>()).add(2);
+
+    assertEquals(List.of(1, 2), map.get(3), "Both values should land in the same bucket");
+  }
+}
@@ -0,0 +1,122 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.json.JsonArrayStreamReader;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class JsonArrayStreamReaderTest {
+
+  private static final String POSTS = "["
+      + "{\"userId\":1,\"id\":1,\"title\":\"a\",\"body\":\"x\",\"tags\":{\"n\":[1,2]}},"
+      + "{\"userId\":2,\"id\":2,\"title\":\"b\",\"body\":\"y\"},"
+      + "{\"userId\":1,\"id\":3,\"title\":\"c\",\"body\":\"z\"}"
+      + "]";
+
+  private final JsonArrayStreamReader reader = new JsonArrayStreamReader(
+      new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
+
+  @Test
+  void testReadShouldDecodeEveryElement() throws IOException {
+    List<AuditionPost> posts = reader.read(body(POSTS), AuditionPost.class);
+
+    assertAll(
+        () -> assertEquals(3, posts.size(), "Every element should be decoded"),
+        () -> assertEquals("c", posts.get(2).getTitle(), "Fields should be bound")
+    );
+  }
+
+  @Test
+  void testReadShouldOnlyBindMatchingElements() throws IOException {
+    List<AuditionPost> posts = reader.read(body(POSTS), AuditionPost.class,
+        Map.of("userId", 1), JsonArrayStreamReader.UNLIMITED);
+
+    assertEquals(List.of(1, 3), posts.stream().map(AuditionPost::getId).toList(),
+        "Only posts of user 1 should be returned in order");
+  }
+
+  @Test
+  void testReadShouldStopAtLimit() throws IOException {
+    CloseTrackingInputStream tracking = new CloseTrackingInputStream(body(POSTS));
+    List<AuditionPost> posts = reader.read(tracking, AuditionPost.class, Map.of("id", 1), 1);
+
+    assertAll(
+        () -> assertEquals(1, posts.size(), "One match should be returned"),
+        () -> assertEquals(1, posts.get(0).getId(), "The matching post should be returned"),
+        () -> assertTrue(tracking.closed, "Parser should be closed after bailing out")
+    );
+  }
+
+  @Test
+  void testReadShouldTreatMissingFieldAsZero() throws IOException {
+    List<Comment> comments = reader.read(body("[{\"id\":5},{\"id\":6,\"postId\":2}]"),
+        Comment.class, Map.of("postId", 0), JsonArrayStreamReader.UNLIMITED);
+
+    assertEquals(1, comments.size(), "Element without postId should match zero");
+  }
+
+  @Test
+  void testReadShouldRejectNonArrayBody() {
+    assertThrows(IOException.class, () -> reader.read(body("{\"id\":1}"), AuditionPost.class),
+        "A JSON object is not a valid array body");
+  }
+
+  @Test
+  void testReadShouldSkipNullAndScalarElements() throws IOException {
+    List<AuditionPost> posts = reader.read(
+        body("[{\"id\":1},null,7,\"text\",true,{\"id\":2}]"), AuditionPost.class);
+
+    assertEquals(List.of(1, 2), posts.stream().map(AuditionPost::getId).toList(),
+        "Objects after a null or scalar element should still be read");
+  }
+
+  @Test
+  void testReadShouldRejectNestedOrTruncatedArrays() {
+    assertAll(
+        () -> assertThrows(IOException.class,
+            () -> reader.read(body("[{\"id\":1},[{\"id\":2}]]"), AuditionPost.class),
+            "A nested array is not a valid element"),
+        () -> assertThrows(IOException.class,
+            () -> reader.read(body("[{\"id\":1},"), AuditionPost.class),
+            "A truncated array should be rejected")
+    );
+  }
+
+  @Test
+  void testReadShouldReturnEmptyForEmptyBody() throws IOException {
+    assertTrue(reader.read(body(""), AuditionPost.class).isEmpty(), "Empty body should be empty");
+  }
+
+  private static InputStream body(String json) {
+    return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static final class CloseTrackingInputStream extends FilterInputStream {
+
+    private boolean closed;
+
+    CloseTrackingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public void close() throws IOException {
+      closed = true;
+      super.close();
+    }
+  }
+}
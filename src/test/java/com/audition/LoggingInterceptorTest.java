@@ -1,97 +1,136 @@
 package com.audition;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.audition.interceptor.LoggingInterceptor;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
 class LoggingInterceptorTest {
-//
-//    private LoggingInterceptor interceptor;
-//
-//    @Mock
-//    private HttpRequest request;
-//
-//    @Mock
-//    private ClientHttpResponse response;
-//
-//    @Mock
-//    private ClientHttpRequestExecution execution;
-//
-//    @Mock
-//    private Logger logger;
-//
-//    @BeforeEach
-//    void setUp() {
-//        MockitoAnnotations.openMocks(this);
-//    }
-//
-//
-//    @Test
-//    void testIntercept_ShouldLogRequest() throws IOException {
-//        byte[] requestBody = "Test Request Body".getBytes(StandardCharsets.UTF_8);
-//
-//        when(request.getMethod()).thenReturn(HttpMethod.POST);
-//        when(request.getURI()).thenReturn(URI.create("https://api.example.com"));
-//        when(execution.execute(request, requestBody)).thenReturn(response);
-//        when(response.getBody()).thenReturn(
-//            new ByteArrayInputStream("Test Response Body".getBytes(StandardCharsets.UTF_8)));
-//        when(response.getStatusCode()).thenReturn(org.springframework.http.HttpStatus.OK);
-//
-//        interceptor.intercept(request, requestBody, execution);
-//
-//        verify(execution).execute(request, requestBody);
-//    }
-//
-//
-//    @Test
-//    void testIntercept_ShouldHandleEmptyRequestBody() throws IOException {
-//        byte[] requestBody = new byte[0]; // Empty request body
-//
-//        when(request.getMethod()).thenReturn(HttpMethod.GET);
-//        when(request.getURI()).thenReturn(URI.create("https://api.example.com"));
-//        when(execution.execute(request, requestBody)).thenReturn(response);
-//        when(response.getBody()).thenReturn(new ByteArrayInputStream("Response Data".getBytes(StandardCharsets.UTF_8)));
-//        when(response.getStatusCode()).thenReturn(org.springframework.http.HttpStatus.OK);
-//        when(request.getHeaders()).thenReturn(new HttpHeaders());
-//        interceptor.intercept(request, requestBody, execution);
-//
-//        verify(execution).execute(request, requestBody);
-//    }
-//
-//
-//    @Test
-//    void testIntercept_ShouldLogResponse() throws IOException {
-//        byte[] requestBody = "Test Request".getBytes(StandardCharsets.UTF_8);
-//        String responseBody = "Test Response";
-//        interceptor.interceptResponse();
-//        when(request.getMethod()).thenReturn(HttpMethod.GET);
-//        when(request.getURI()).thenReturn(URI.create("https://api.example.com"));
-//        when(execution.execute(request, requestBody)).thenReturn(response);
-//        when(response.getBody()).thenReturn(new ByteArrayInputStream(responseBody.getBytes(StandardCharsets.UTF_8)));
-//        when(response.getStatusCode()).thenReturn(org.springframework.http.HttpStatus.OK);
-//
-//
-//
-//        ClientHttpResponse interceptedResponse = interceptor.intercept(request, requestBody, execution);
-//
-//        assertEquals(response, interceptedResponse, "Intercepted response should match the executed response");
-//        verify(execution).execute(request, requestBody);
-//        verify(logger).debug("\n=== INBOUND RESPONSE ===\n");
-//        verify(logger).debug("Status: {} {}", org.springframework.http.HttpStatus.OK, "OK");
-//        verify(logger).debug("Headers: {}", ""); // Adjust as necessary for your headers
-//        verify(logger).info("Body: {}", responseBody);
-//    }
-//
-//
-//    @Test
-//    void testIntercept_ShouldHandleEmptyResponseBody() throws IOException {
-//        byte[] requestBody = "Test Request".getBytes(StandardCharsets.UTF_8);
-//        String responseBody = ""; // Empty response
-//
-//        when(request.getMethod()).thenReturn(HttpMethod.GET);
-//        when(request.getURI()).thenReturn(URI.create("https://api.example.com"));
-//        when(execution.execute(request, requestBody)).thenReturn(response);
-//        when(response.getBody()).thenReturn(new ByteArrayInputStream(responseBody.getBytes(StandardCharsets.UTF_8)));
-//        when(response.getStatusCode()).thenReturn(org.springframework.http.HttpStatus.NO_CONTENT);
-//
-//        interceptor.intercept(request, requestBody, execution);
-//
-//        verify(execution).execute(request, requestBody);
-//    }
-}
\ No newline at end of file
+
+  private static final String RESPONSE_BODY = "0123456789abcdefghij";
+  private static final byte[] REQUEST_BODY = new byte[0];
+
+  private final Logger interceptorLogger = (Logger) LoggerFactory.getLogger(
+      LoggingInterceptor.class);
+
+  private transient Level originalLevel;
+
+  @Mock
+  private transient HttpRequest request;
+
+  @Mock
+  private transient ClientHttpResponse response;
+
+  @Mock
+  private transient ClientHttpRequestExecution execution;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    MockitoAnnotations.openMocks(this);
+    originalLevel = interceptorLogger.getLevel();
+    when(request.getMethod()).thenReturn(HttpMethod.GET);
+    when(request.getURI()).thenReturn(URI.create("https://api.example.com"));
+    when(request.getHeaders()).thenReturn(new HttpHeaders());
+    when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+    when(response.getStatusText()).thenReturn("OK");
+    when(response.getHeaders()).thenReturn(new HttpHeaders());
+    when(response.getBody()).thenReturn(
+        new ByteArrayInputStream(RESPONSE_BODY.getBytes(StandardCharsets.UTF_8)));
+    when(execution.execute(request, REQUEST_BODY)).thenReturn(response);
+  }
+
+  @AfterEach
+  void tearDown() {
+    interceptorLogger.setLevel(originalLevel);
+  }
+
+  @Test
+  void testInterceptShouldReturnOriginalResponseWhenDebugDisabled() throws IOException {
+    interceptorLogger.setLevel(Level.INFO);
+
+    ClientHttpResponse result = new LoggingInterceptor(4).intercept(request, REQUEST_BODY,
+        execution);
+
+    assertSame(response, result, "Response should not be wrapped when DEBUG is disabled");
+  }
+
+  @Test
+  void testInterceptShouldStreamFullBodyWhenCaptureIsTruncated() throws IOException {
+    interceptorLogger.setLevel(Level.DEBUG);
+
+    ClientHttpResponse result = new LoggingInterceptor(4).intercept(request, REQUEST_BODY,
+        execution);
+
+    assertNotSame(response, result, "Response should be teed when DEBUG is enabled");
+    try (InputStream body = result.getBody()) {
+      assertEquals(RESPONSE_BODY, StreamUtils.copyToString(body, StandardCharsets.UTF_8),
+          "Capture budget must not truncate the body seen by the caller");
+    }
+  }
+
+  @Test
+  void testInterceptShouldLogTruncatedBodyWithItsRealLength() throws IOException {
+    interceptorLogger.setLevel(Level.DEBUG);
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    appender.start();
+    interceptorLogger.addAppender(appender);
+    String seen;
+    try {
+      ClientHttpResponse result = new LoggingInterceptor(4).intercept(request, REQUEST_BODY,
+          execution);
+      try (InputStream body = result.getBody()) {
+        seen = StreamUtils.copyToString(body, StandardCharsets.UTF_8);
+      }
+      result.close();
+    } finally {
+      interceptorLogger.detachAppender(appender);
+    }
+
+    List<String> bodyLines = appender.list.stream().map(ILoggingEvent::getFormattedMessage)
+        .filter(line -> line.startsWith("Body")).toList();
+    assertAll(
+        () -> assertEquals(RESPONSE_BODY, seen, "The caller should still read the full body"),
+        () -> assertEquals(List.of("Body (4 of 20 bytes, 16 truncated): 0123"), bodyLines,
+            "The logged body should be cut at the limit and report the real length")
+    );
+  }
+
+  @Test
+  void testInterceptShouldCloseDelegateResponse() throws IOException {
+    interceptorLogger.setLevel(Level.DEBUG);
+
+    ClientHttpResponse result = new LoggingInterceptor().intercept(request, REQUEST_BODY,
+        execution);
+    StreamUtils.drain(result.getBody());
+    result.close();
+
+    verify(response).close();
+  }
+}
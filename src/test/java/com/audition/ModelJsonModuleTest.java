@@ -0,0 +1,78 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.audition.model.PostWithComments;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ModelJsonModuleTest {
+
+  private final transient ObjectMapper objectMapper = new WebServiceConfiguration().objectMapper();
+  private final transient ObjectMapper reflective = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+      .setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+
+  @Test
+  void testSerializedPostsShouldMatchReflectiveOutput() throws Exception {
+    final List<AuditionPost> posts = List.of(new AuditionPost(1, 2, "Title \"quoted\"", "Body"),
+        new AuditionPost(3, 0, "", null));
+    final PostWithComments composite = new PostWithComments(posts.get(0),
+        List.of(new Comment(2, 5, "Name", "a@b.c", "Text\nmore")));
+
+    assertAll(
+        () -> assertEquals(reflective.writeValueAsString(posts),
+            objectMapper.writeValueAsString(posts), "Post list should be wire-compatible"),
+        () -> assertEquals(reflective.writeValueAsString(composite),
+            objectMapper.writeValueAsString(composite), "Composite should keep its comments"),
+        () -> assertEquals(reflective.writeValueAsString(
+                new PostWithComments(posts.get(1), Collections.emptyList())),
+            objectMapper.writeValueAsString(
+                new PostWithComments(posts.get(1), Collections.emptyList())),
+            "Empty comments should be left out")
+    );
+  }
+
+  @Test
+  void testDeserializedCommentsShouldSkipUnknownAndCoerceScalars() throws Exception {
+    final String json = "[{\"postId\":\"4\",\"id\":9,\"extra\":{\"nested\":[1,2]},"
+        + "\"name\":\"n\",\"email\":null,\"body\":\"b\"},{}]";
+
+    final List<Comment> comments = objectMapper.readValue(json, new TypeReference<>() {
+    });
+
+    assertAll(
+        () -> assertEquals(new Comment(4, 9, "n", null, "b"), comments.get(0),
+            "Known fields should be read and unknown ones skipped"),
+        () -> assertEquals(new Comment(), comments.get(1), "Empty object should give defaults"),
+        () -> assertEquals(reflective.readValue(json, new TypeReference<List<Comment>>() {
+        }), comments, "Result should match reflective binding")
+    );
+  }
+
+  @Test
+  void testDeserializedPostShouldRoundTrip() throws Exception {
+    final AuditionPost post = new AuditionPost(7, 11, "T", "B");
+
+    assertEquals(post, objectMapper.readValue(objectMapper.writeValueAsBytes(post),
+        AuditionPost.class), "Post should survive a round trip");
+  }
+
+  @Test
+  void testNonObjectShouldBeRejected() {
+    assertThrows(MismatchedInputException.class,
+        () -> objectMapper.readValue("\"post\"", AuditionPost.class),
+        "A string is not a post");
+  }
+}
@@ -0,0 +1,91 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.cache.NegativeCache;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NegativeCacheTest {
+
+  private transient MutableClock clock;
+  private transient NegativeCache<Integer> cache;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock();
+    cache = new NegativeCache<>(Duration.ofSeconds(60), 2, clock);
+  }
+
+  @Test
+  void testKeyShouldBeRememberedUntilItExpires() {
+    cache.put(1);
+    clock.advance(Duration.ofSeconds(59));
+
+    assertTrue(cache.contains(1), "Key should be remembered within the TTL");
+
+    clock.advance(Duration.ofSeconds(1));
+
+    assertFalse(cache.contains(1), "Key should be forgotten once the TTL has passed");
+    assertEquals(0, cache.size(), "Expired key should be dropped when seen");
+  }
+
+  @Test
+  void testOldestKeyShouldBeEvictedAtTheBound() {
+    cache.put(1);
+    cache.put(2);
+    cache.put(3);
+
+    assertFalse(cache.contains(1), "Oldest key should be evicted");
+    assertTrue(cache.contains(2) && cache.contains(3), "Newer keys should be kept");
+  }
+
+  @Test
+  void testPutShouldRestartTheTtl() {
+    cache.put(1);
+    clock.advance(Duration.ofSeconds(45));
+    cache.put(1);
+    clock.advance(Duration.ofSeconds(45));
+
+    assertTrue(cache.contains(1), "Repeated put should restart the TTL");
+  }
+
+  @Test
+  void testClearShouldForgetEveryKey() {
+    cache.put(1);
+    cache.clear();
+
+    assertFalse(cache.contains(1), "Cleared key should not be remembered");
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
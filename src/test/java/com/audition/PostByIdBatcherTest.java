@@ -0,0 +1,137 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.audition.common.concurrent.Deadline;
+import com.audition.common.concurrent.DeadlineContext;
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.IntegrationProperties;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import com.audition.service.PostByIdBatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class PostByIdBatcherTest {
+
+  @Mock
+  private transient AuditionIntegrationClient auditionIntegrationClient;
+
+  private transient IntegrationProperties integrationProperties;
+  private transient SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    integrationProperties = new IntegrationProperties();
+    integrationProperties.getBatch().setEnabled(true);
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void testFullBatchShouldIssueOneUpstreamRequest() throws Exception {
+    integrationProperties.getBatch().setMaxSize(2);
+    integrationProperties.getBatch().setWindow(Duration.ofSeconds(5));
+    when(auditionIntegrationClient.getPostsByIds(anyCollection())).thenReturn(List.of(
+        new AuditionPost(1, 1, "Title1", "Body1"), new AuditionPost(2, 2, "Title2", "Body2")));
+    PostByIdBatcher batcher = newBatcher();
+
+    CompletableFuture<AuditionPost> first =
+        CompletableFuture.supplyAsync(() -> batcher.getPostById(1));
+    CompletableFuture<AuditionPost> second =
+        CompletableFuture.supplyAsync(() -> batcher.getPostById(2));
+
+    assertEquals(1, first.get(5, TimeUnit.SECONDS).getId(), "First caller gets post 1");
+    assertEquals(2, second.get(5, TimeUnit.SECONDS).getId(), "Second caller gets post 2");
+    verify(auditionIntegrationClient, times(1)).getPostsByIds(anyCollection());
+    assertEquals(2.0, meterRegistry.get("audition.batch.post-by-id.size").summary().max(),
+        "Batch size histogram should record both ids");
+  }
+
+  @Test
+  void testFullBatchShouldBeIssuedOutsideTheCallersDeadline() {
+    integrationProperties.getBatch().setMaxSize(1);
+    AtomicReference<Deadline> flushDeadline = new AtomicReference<>();
+    AtomicReference<String> flushThread = new AtomicReference<>();
+    when(auditionIntegrationClient.getPostsByIds(anyCollection())).thenAnswer(invocation -> {
+      flushDeadline.set(DeadlineContext.current());
+      flushThread.set(Thread.currentThread().getName());
+      return List.of(new AuditionPost(1, 1, "Title1", "Body1"));
+    });
+    PostByIdBatcher batcher = newBatcher();
+
+    DeadlineContext.set(Deadline.after(Duration.ofSeconds(5)));
+    try {
+      assertEquals(1, batcher.getPostById(1).getId(), "The caller should get its post");
+    } finally {
+      DeadlineContext.clear();
+    }
+
+    assertNull(flushDeadline.get(), "The batch should not carry the filling caller's deadline");
+    assertTrue(flushThread.get().startsWith("post-batcher-"),
+        "The batch should be issued on a flush thread");
+  }
+
+  @Test
+  void testMissingIdShouldFailWithNotFound() {
+    integrationProperties.getBatch().setMaxSize(1);
+    when(auditionIntegrationClient.getPostsByIds(anyCollection()))
+        .thenReturn(Collections.emptyList());
+    PostByIdBatcher batcher = newBatcher();
+
+    SystemException exception = assertThrows(SystemException.class,
+        () -> batcher.getPostById(999), "Missing ids should fail");
+
+    assertEquals("Cannot find a Post with id 999", exception.getMessage(),
+        "Message should match the single lookup");
+    assertEquals(404, exception.getStatusCode(), "Status should be 404");
+    assertEquals("Resource Not Found", exception.getTitle(), "Title should match");
+  }
+
+  @Test
+  void testWindowShouldFlushPartialBatch() {
+    integrationProperties.getBatch().setMaxSize(10);
+    integrationProperties.getBatch().setWindow(Duration.ofMillis(10));
+    when(auditionIntegrationClient.getPostsByIds(anyCollection()))
+        .thenReturn(List.of(new AuditionPost(1, 3, "Title3", "Body3")));
+
+    AuditionPost post = newBatcher().getPostById(3);
+
+    assertEquals(3, post.getId(), "Post should be returned once the window elapses");
+    assertEquals(1, meterRegistry.get("audition.batch.post-by-id.wait").timer().count(),
+        "Wait time should be recorded per lookup");
+  }
+
+  @Test
+  void testUpstreamFailureShouldFanOutToBatch() {
+    integrationProperties.getBatch().setMaxSize(1);
+    SystemException failure = new SystemException("Failed to retrieve posts", "Integration Error",
+        500);
+    when(auditionIntegrationClient.getPostsByIds(anyCollection())).thenThrow(failure);
+
+    SystemException exception = assertThrows(SystemException.class,
+        () -> newBatcher().getPostById(1), "Upstream failure should propagate");
+
+    assertEquals(failure, exception, "The upstream SystemException should be rethrown as-is");
+  }
+
+  private PostByIdBatcher newBatcher() {
+    return new PostByIdBatcher(auditionIntegrationClient, integrationProperties, meterRegistry);
+  }
+}
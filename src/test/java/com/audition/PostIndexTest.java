@@ -0,0 +1,61 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.model.AuditionPost;
+import com.audition.service.PostIndex;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PostIndexTest {
+
+  @Test
+  void testPostIndexShouldAnswerFiltersLikeALinearScan() {
+    PostIndex index = PostIndex.of(List.of(
+        new AuditionPost(1, 10, "a", "a"),
+        new AuditionPost(2, 11, "b", "b"),
+        new AuditionPost(1, 12, "c", "c")));
+
+    assertAll(
+        () -> assertEquals(3, index.query(null, null).size(), "No filters should return all"),
+        () -> assertEquals(List.of(10, 12),
+            index.query(1, null).stream().map(AuditionPost::getId).toList(),
+            "UserId bucket should keep upstream order"),
+        () -> assertEquals(11, index.query(null, 11).get(0).getId(),
+            "Id lookup should find the post"),
+        () -> assertTrue(index.query(1, 11).isEmpty(), "Mismatched userId and id should be empty"),
+        () -> assertTrue(index.query(9, null).isEmpty(), "Unknown userId should be empty")
+    );
+  }
+
+  @Test
+  void testPostIndexShouldAnswerSparseIdsWithoutABitmap() {
+    PostIndex index = PostIndex.of(List.of(
+        new AuditionPost(1, 5, "a", "a"),
+        new AuditionPost(1, Integer.MAX_VALUE, "b", "b")));
+
+    assertAll(
+        () -> assertTrue(index.containsId(5), "Small id should be found"),
+        () -> assertTrue(index.containsId(Integer.MAX_VALUE), "Sparse id should be found"),
+        () -> assertFalse(index.containsId(6), "Unknown id should be absent")
+    );
+  }
+
+  @Test
+  void testPostIndexShouldHoldOnlyItsOwnLists() {
+    PostIndex index = PostIndex.of(List.of(
+        new AuditionPost(1, 10, "a", "a"),
+        new AuditionPost(2, 11, "b", "b")));
+
+    assertAll(
+        () -> assertTrue(index.holds(index.query(null, null)), "All posts should be held"),
+        () -> assertTrue(index.holds(index.query(1, null)), "UserId bucket should be held"),
+        () -> assertFalse(index.holds(index.query(null, 10)), "Id match is built per query"),
+        () -> assertFalse(index.holds(new ArrayList<>(index.all())), "A copy is not held")
+    );
+  }
+}
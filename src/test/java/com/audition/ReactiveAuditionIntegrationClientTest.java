@@ -0,0 +1,88 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.audition.common.exception.SystemException;
+import com.audition.integration.ReactiveAuditionIntegrationClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class ReactiveAuditionIntegrationClientTest {
+
+  private static final String POST_ID = "1";
+
+  private ReactiveAuditionIntegrationClient clientReturning(HttpStatus status, String body) {
+    ExchangeFunction exchange = request -> Mono.just(ClientResponse.create(status)
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .body(body)
+        .build());
+    return new ReactiveAuditionIntegrationClient(
+        WebClient.builder().exchangeFunction(exchange).build());
+  }
+
+  @Test
+  void testGetPostsShouldEmitEveryPost() {
+    ReactiveAuditionIntegrationClient client = clientReturning(HttpStatus.OK,
+        "[{\"userId\":1,\"id\":1,\"title\":\"a\"},{\"userId\":1,\"id\":2,\"title\":\"b\"}]");
+
+    StepVerifier.create(client.getPosts())
+        .expectNextMatches(post -> post.getId() == 1)
+        .expectNextMatches(post -> post.getId() == 2)
+        .verifyComplete();
+  }
+
+  @Test
+  void testGetPostByIdShouldMapNotFoundToSystemException() {
+    ReactiveAuditionIntegrationClient client = clientReturning(HttpStatus.NOT_FOUND, "{}");
+
+    StepVerifier.create(client.getPostById(POST_ID))
+        .expectErrorSatisfies(e -> {
+          SystemException exception = (SystemException) e;
+          assertEquals("Cannot find a Post with id 1", exception.getMessage(),
+              "Message should match the blocking client");
+          assertEquals(404, exception.getStatusCode(), "Status should be 404");
+          assertEquals("Resource Not Found", exception.getTitle(), "Title should match");
+        })
+        .verify();
+  }
+
+  @Test
+  void testGetPostByIdShouldMapServerErrorToIntegrationError() {
+    ReactiveAuditionIntegrationClient client = clientReturning(HttpStatus.BAD_GATEWAY, "{}");
+
+    StepVerifier.create(client.getPostById(POST_ID))
+        .expectErrorSatisfies(e -> {
+          SystemException exception = (SystemException) e;
+          assertEquals("Failed to retrieve post with id 1", exception.getMessage(),
+              "Message should match the blocking client");
+          assertEquals(500, exception.getStatusCode(), "Status should be 500");
+          assertEquals("Integration Error", exception.getTitle(), "Title should match");
+        })
+        .verify();
+  }
+
+  @Test
+  void testGetPostWithCommentsShouldReturnEmptyWhenNotFound() {
+    ReactiveAuditionIntegrationClient client = clientReturning(HttpStatus.NOT_FOUND, "{}");
+
+    StepVerifier.create(client.getPostWithComments(POST_ID))
+        .verifyComplete();
+  }
+
+  @Test
+  void testGetCommentsByPostIdQueryParamShouldMapBadRequest() {
+    ReactiveAuditionIntegrationClient client = clientReturning(HttpStatus.BAD_REQUEST, "{}");
+
+    StepVerifier.create(client.getCommentsByPostIdQueryParam(POST_ID))
+        .expectErrorSatisfies(e -> assertEquals(400, ((SystemException) e).getStatusCode(),
+            "Status should be propagated from the upstream"))
+        .verify();
+  }
+}
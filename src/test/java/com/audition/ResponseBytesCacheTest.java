@@ -0,0 +1,177 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.audition.configuration.CacheProperties;
+import com.audition.model.AuditionPost;
+import com.audition.service.PostIndex;
+import com.audition.service.PostsSnapshotCache;
+import com.audition.web.AuditionController;
+import com.audition.web.ResponseBytesCache;
+import com.audition.web.advice.CachedResponseBodyAdvice;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ResponseBytesCacheTest {
+
+  private static final String KEY = "/posts";
+
+  private final transient ObjectMapper objectMapper = new ObjectMapper();
+  private final transient List<Consumer<PostIndex>> listeners = new ArrayList<>();
+  private transient PostsSnapshotCache postsSnapshotCache;
+  private transient SimpleMeterRegistry meterRegistry;
+  private transient CacheProperties cacheProperties;
+  private transient ResponseBytesCache cache;
+  private transient List<AuditionPost> posts;
+  private final transient Set<Object> held = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    postsSnapshotCache = mock(PostsSnapshotCache.class);
+    doAnswer(invocation -> listeners.add(invocation.getArgument(0)))
+        .when(postsSnapshotCache).addListener(any(Consumer.class));
+    when(postsSnapshotCache.holds(any()))
+        .thenAnswer(invocation -> held.contains(invocation.getArgument(0)));
+    meterRegistry = new SimpleMeterRegistry();
+    cacheProperties = new CacheProperties();
+    cacheProperties.getResponses().setEnabled(true);
+    cache = new ResponseBytesCache(cacheProperties, objectMapper, postsSnapshotCache,
+        meterRegistry);
+    posts = List.of(new AuditionPost(7, 1, "title", null));
+    held.add(posts);
+  }
+
+  @Test
+  void testSameInstanceShouldReuseEncodedBytes() {
+    final ResponseBytesCache.Encoded first = cache.encode(KEY, posts);
+    final ResponseBytesCache.Encoded second = cache.encode(KEY, posts);
+
+    assertAll(
+        () -> assertSame(first, second, "Same instance should be served from the cache"),
+        () -> assertEquals(1.0, meterRegistry.get("audition.response.cache")
+            .tag("result", "hit").counter().count(), "Reuse should be counted as a hit"),
+        () -> assertEquals(1.0, meterRegistry.get("audition.response.cache")
+            .tag("result", "miss").counter().count(), "Encodings should be counted as misses")
+    );
+  }
+
+  @Test
+  void testListsBuiltPerRequestShouldBeLeftToTheConverter() {
+    final ResponseBytesCache.Encoded copy = cache.encode(KEY, new ArrayList<>(posts));
+
+    assertAll(
+        () -> assertNull(copy, "A list outside the snapshot should not be encoded"),
+        () -> assertEquals(1.0, meterRegistry.get("audition.response.cache")
+            .tag("result", "bypass").counter().count(), "Bypass should be counted"),
+        () -> assertEquals(0.0, meterRegistry.get("audition.response.cache.entries").gauge()
+            .value(), "Nothing should be held for it")
+    );
+  }
+
+  @Test
+  void testLeastRecentlyUsedRequestShouldBeEvictedWhenFull() {
+    cacheProperties.getResponses().setMaxEntries(2);
+    cache = new ResponseBytesCache(cacheProperties, objectMapper, postsSnapshotCache,
+        meterRegistry);
+    final ResponseBytesCache.Encoded first = cache.encode(KEY, posts);
+    cache.encode(KEY + "&userId=7", posts);
+    cache.encode(KEY, posts);
+    cache.encode(KEY + "&userId=8", posts);
+
+    final ResponseBytesCache.Encoded again = cache.encode(KEY, posts);
+    final ResponseBytesCache.Encoded evicted = cache.encode(KEY + "&userId=7", posts);
+
+    assertAll(
+        () -> assertSame(first, again, "Recently used request should be kept"),
+        () -> assertEquals(4.0, meterRegistry.get("audition.response.cache")
+            .tag("result", "miss").counter().count(),
+            "Least recently used request should be encoded again"),
+        () -> assertNotSame(first, evicted, "Each request should hold its own entry")
+    );
+  }
+
+  @Test
+  void testSnapshotRefreshShouldDropEntries() {
+    final ResponseBytesCache.Encoded first = cache.encode(KEY, posts);
+
+    listeners.forEach(listener -> listener.accept(PostIndex.of(posts)));
+    final ResponseBytesCache.Encoded second = cache.encode(KEY, posts);
+
+    assertAll(
+        () -> assertNotSame(first, second, "A new snapshot should invalidate encoded bodies"),
+        () -> assertEquals(1.0, meterRegistry.get("audition.response.cache.entries").gauge()
+            .value(), "Only the re-encoded body should be held")
+    );
+  }
+
+  @Test
+  void testAdviceShouldWriteGzipBytesWhenAccepted() throws Exception {
+    final CachedResponseBodyAdvice advice = new CachedResponseBodyAdvice(cache);
+    final MethodParameter returnType = new MethodParameter(
+        AuditionController.class.getMethod("getPosts", Integer.class, Integer.class), -1);
+    final MockHttpServletRequest request = new MockHttpServletRequest("GET", KEY);
+    request.addParameter("userId", "7");
+    request.addHeader("Accept-Encoding", "br;q=1.0, gzip;q=0.8");
+    final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    final Object written = advice.beforeBodyWrite(posts, returnType,
+        MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+        new ServletServerHttpRequest(request), new ServletServerHttpResponse(response));
+
+    final byte[] body;
+    try (GZIPInputStream in = new GZIPInputStream(
+        new ByteArrayInputStream(response.getContentAsByteArray()))) {
+      body = in.readAllBytes();
+    }
+    assertAll(
+        () -> assertNull(written, "Advice should leave nothing for the converter to write"),
+        () -> assertEquals("gzip", response.getHeader("Content-Encoding"),
+            "Body should be sent compressed"),
+        () -> assertArrayEquals(objectMapper.writeValueAsBytes(posts), body,
+            "Compressed body should hold the serialized posts")
+    );
+  }
+
+  @Test
+  void testAdviceShouldIgnoreUncacheableParameters() throws Exception {
+    final CachedResponseBodyAdvice advice = new CachedResponseBodyAdvice(cache);
+    final MethodParameter returnType = new MethodParameter(
+        AuditionController.class.getMethod("getPosts", Integer.class, Integer.class), -1);
+    final MockHttpServletRequest request = new MockHttpServletRequest("GET", KEY);
+    request.addParameter("id", "1");
+
+    final Object written = advice.beforeBodyWrite(posts, returnType,
+        MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+        new ServletServerHttpRequest(request),
+        new ServletServerHttpResponse(new MockHttpServletResponse()));
+
+    assertSame(posts, written, "Id-filtered responses should be serialized as usual");
+  }
+}
@@ -0,0 +1,212 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.concurrent.Deadline;
+import com.audition.common.concurrent.DeadlineContext;
+import com.audition.common.concurrent.SingleFlight;
+import com.audition.common.exception.DeadlineExceededException;
+import com.audition.common.exception.SystemException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class SingleFlightTest {
+
+  private static final String OPERATION = "post-by-id";
+  private static final int FOLLOWERS = 4;
+
+  private transient SimpleMeterRegistry meterRegistry;
+  private transient SingleFlight singleFlight;
+  private transient ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    singleFlight = new SingleFlight(meterRegistry);
+    executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void testConcurrentCallersShouldShareOneUpstreamCall() throws Exception {
+    AtomicInteger upstreamCalls = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    Supplier<String> call = () -> {
+      upstreamCalls.incrementAndGet();
+      awaitQuietly(release);
+      return "post-1";
+    };
+
+    List<Future<String>> results = runConcurrently(call, release);
+
+    for (Future<String> result : results) {
+      assertEquals("post-1", result.get(5, TimeUnit.SECONDS), "Every caller gets the result");
+    }
+    assertEquals(1, upstreamCalls.get(), "Only the leader should reach the upstream");
+    assertEquals(0, singleFlight.inFlightCount(), "Key should be released after completion");
+    assertEquals(FOLLOWERS / (double) (FOLLOWERS + 1),
+        meterRegistry.get("audition.singleflight.coalesce.ratio").gauge().value(), 0.0001,
+        "Coalesce ratio should count followers over all calls");
+  }
+
+  @Test
+  void testSystemExceptionShouldFanOutToAllCallers() throws Exception {
+    SystemException failure = new SystemException("Cannot find a Post with id 1",
+        "Resource Not Found", 404);
+    CountDownLatch release = new CountDownLatch(1);
+    Supplier<String> call = () -> {
+      awaitQuietly(release);
+      throw failure;
+    };
+
+    List<Future<String>> results = runConcurrently(call, release);
+
+    for (Future<String> result : results) {
+      ExecutionException thrown = assertThrows(ExecutionException.class,
+          () -> result.get(5, TimeUnit.SECONDS), "Every caller should see the failure");
+      assertSame(failure, thrown.getCause(), "The same SystemException should be propagated");
+    }
+  }
+
+  @Test
+  void testSequentialCallsShouldNotBeCoalesced() {
+    AtomicInteger upstreamCalls = new AtomicInteger();
+
+    singleFlight.execute(OPERATION, "1", upstreamCalls::incrementAndGet);
+    singleFlight.execute(OPERATION, "1", upstreamCalls::incrementAndGet);
+
+    assertEquals(2, upstreamCalls.get(), "Completed calls must not be cached");
+  }
+
+  @Test
+  void testFollowerShouldStopWaitingAtItsDeadline() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    Future<String> leader = executor.submit(() -> singleFlight.execute(OPERATION, "1", () -> {
+      awaitQuietly(release);
+      return "post-1";
+    }));
+    waitUntil(() -> singleFlight.inFlightCount() == 1);
+
+    Future<String> follower = executor.submit(() -> withDeadline(Duration.ofMillis(50),
+        () -> singleFlight.execute(OPERATION, "1", () -> "unused")));
+
+    ExecutionException thrown = assertThrows(ExecutionException.class,
+        () -> follower.get(1, TimeUnit.SECONDS), "The follower should give up at its deadline");
+    release.countDown();
+    assertInstanceOf(DeadlineExceededException.class, thrown.getCause(),
+        "Running out of budget while following should be a deadline failure");
+    assertEquals("post-1", leader.get(5, TimeUnit.SECONDS), "The leader should still complete");
+  }
+
+  @Test
+  void testFollowerWithBudgetShouldRetryAfterTheLeadersDeadline() throws Exception {
+    AtomicInteger upstreamCalls = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    Future<String> leader = executor.submit(() -> singleFlight.execute(OPERATION, "1", () -> {
+      upstreamCalls.incrementAndGet();
+      awaitQuietly(release);
+      throw new DeadlineExceededException("Deadline exceeded while fetching post 1");
+    }));
+    waitUntil(() -> singleFlight.inFlightCount() == 1);
+
+    Future<String> follower = executor.submit(() -> withDeadline(Duration.ofSeconds(5),
+        () -> singleFlight.execute(OPERATION, "1", () -> {
+          upstreamCalls.incrementAndGet();
+          return "post-1";
+        })));
+    waitUntil(() -> meterRegistry.get("audition.singleflight.calls").tag("role", "follower")
+        .counter().count() == 1);
+    release.countDown();
+
+    assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS),
+        "The leader should see its own deadline failure");
+    assertEquals("post-1", follower.get(5, TimeUnit.SECONDS),
+        "A follower with budget left should make the call itself");
+    assertEquals(2, upstreamCalls.get(), "The follower should have run a fresh call");
+  }
+
+  @Test
+  void testExecuteAsyncShouldShareInFlightMono() {
+    AtomicInteger upstreamCalls = new AtomicInteger();
+    Sinks.One<String> upstream = Sinks.one();
+    Supplier<Mono<String>> call = () -> {
+      upstreamCalls.incrementAndGet();
+      return upstream.asMono();
+    };
+
+    Mono<String> first = singleFlight.executeAsync(OPERATION, "1", call).cache();
+    Mono<String> second = singleFlight.executeAsync(OPERATION, "1", call).cache();
+    first.subscribe();
+    second.subscribe();
+    upstream.tryEmitValue("post-1");
+
+    StepVerifier.create(first).expectNext("post-1").verifyComplete();
+    StepVerifier.create(second).expectNext("post-1").verifyComplete();
+    assertEquals(1, upstreamCalls.get(), "Only the leader should subscribe to the upstream");
+  }
+
+  private List<Future<String>> runConcurrently(Supplier<String> call, CountDownLatch release)
+      throws InterruptedException {
+    List<Future<String>> results = new ArrayList<>();
+    results.add(executor.submit(() -> singleFlight.execute(OPERATION, "1", call)));
+    waitUntil(() -> singleFlight.inFlightCount() == 1);
+    for (int i = 0; i < FOLLOWERS; i++) {
+      results.add(executor.submit(() -> singleFlight.execute(OPERATION, "1", call)));
+    }
+    waitUntil(() -> meterRegistry.find("audition.singleflight.calls").tag("role", "follower")
+        .counter() != null
+        && meterRegistry.get("audition.singleflight.calls").tag("role", "follower").counter()
+        .count() == FOLLOWERS);
+    release.countDown();
+    return results;
+  }
+
+  private static <T> T withDeadline(Duration budget, Supplier<T> call) {
+    DeadlineContext.set(Deadline.after(budget));
+    try {
+      return call.get();
+    } finally {
+      DeadlineContext.clear();
+    }
+  }
+
+  private static void waitUntil(Supplier<Boolean> condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.get()) {
+      assertTrue(System.nanoTime() < deadline, "Condition not reached in time");
+      Thread.sleep(5);
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.audition.configuration.CacheProperties;
+import com.audition.configuration.IntegrationProperties;
+import com.audition.interceptor.SnapshotETagInterceptor;
+import com.audition.service.AuditionService;
+import com.audition.service.CommentsSnapshotCache;
+import com.audition.service.PostsQueryPlanner;
+import com.audition.service.PostsSnapshotCache;
+import com.audition.web.AuditionController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import java.util.OptionalLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+class SnapshotETagInterceptorTest {
+
+  private transient PostsSnapshotCache postsSnapshotCache;
+  private transient CommentsSnapshotCache commentsSnapshotCache;
+  private transient PostsQueryPlanner postsQueryPlanner;
+  private transient SimpleMeterRegistry meterRegistry;
+  private transient SnapshotETagInterceptor interceptor;
+  private transient HandlerMethod postsHandler;
+  private transient HandlerMethod commentsHandler;
+
+  @BeforeEach
+  void setUp() throws NoSuchMethodException {
+    postsSnapshotCache = mock(PostsSnapshotCache.class);
+    commentsSnapshotCache = mock(CommentsSnapshotCache.class);
+    postsQueryPlanner = mock(PostsQueryPlanner.class);
+    meterRegistry = new SimpleMeterRegistry();
+    final CacheProperties cacheProperties = new CacheProperties();
+    cacheProperties.getEtags().setEnabled(true);
+    interceptor = new SnapshotETagInterceptor(cacheProperties, postsSnapshotCache,
+        commentsSnapshotCache, postsQueryPlanner, meterRegistry);
+    final AuditionController controller = new AuditionController(mock(AuditionService.class),
+        new IntegrationProperties());
+    postsHandler = new HandlerMethod(controller,
+        AuditionController.class.getMethod("getPosts", Integer.class, Integer.class));
+    commentsHandler = new HandlerMethod(controller,
+        AuditionController.class.getMethod("getCommentsForPost", String.class));
+  }
+
+  @Test
+  void testMatchingTagShouldBeAnsweredWithNotModified() {
+    when(postsQueryPlanner.servesFromSnapshot(7, null)).thenReturn(true);
+    when(postsSnapshotCache.currentVersion()).thenReturn(OptionalLong.of(3));
+    final MockHttpServletRequest first = new MockHttpServletRequest("GET", "/posts");
+    first.addParameter("userId", "7");
+
+    assertTrue(interceptor.preHandle(first, new MockHttpServletResponse(), postsHandler),
+        "Unconditional request should reach the handler");
+    final String tag = SnapshotETagInterceptor.entityTag(first);
+
+    final MockHttpServletRequest second = new MockHttpServletRequest("GET", "/posts");
+    second.addParameter("userId", "7");
+    second.addHeader("If-None-Match", tag);
+    final MockHttpServletResponse response = new MockHttpServletResponse();
+    final boolean proceeded = interceptor.preHandle(second, response, postsHandler);
+
+    assertAll(
+        () -> assertNotNull(tag, "Snapshot-backed request should be tagged"),
+        () -> assertFalse(proceeded, "Matching request should not reach the handler"),
+        () -> assertEquals(304, response.getStatus(), "Matching request should get a 304"),
+        () -> assertEquals(tag, response.getHeader("ETag"), "304 should repeat the tag"),
+        () -> assertEquals(1.0, meterRegistry.get("audition.response.etag")
+            .tag("source", "posts").tag("result", "not-modified").counter().count(),
+            "304 should be counted")
+    );
+  }
+
+  @Test
+  void testGzipVariantShouldAlsoMatch() {
+    when(commentsSnapshotCache.isEnabled()).thenReturn(true);
+    when(commentsSnapshotCache.currentVersion()).thenReturn(OptionalLong.of(5));
+    final MockHttpServletRequest first = new MockHttpServletRequest("GET", "/posts/1/comments");
+    interceptor.preHandle(first, new MockHttpServletResponse(), commentsHandler);
+    final String gzipTag =
+        SnapshotETagInterceptor.gzipVariant(SnapshotETagInterceptor.entityTag(first));
+
+    final MockHttpServletRequest second = new MockHttpServletRequest("GET", "/posts/1/comments");
+    second.addHeader("If-None-Match", "\"other\", W/" + gzipTag);
+    final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertAll(
+        () -> assertFalse(interceptor.preHandle(second, response, commentsHandler),
+            "Gzip tag should match the same snapshot version"),
+        () -> assertEquals(gzipTag, response.getHeader("ETag"), "304 should repeat the gzip tag")
+    );
+  }
+
+  @Test
+  void testNewVersionShouldNotMatchOldTag() {
+    when(postsQueryPlanner.servesFromSnapshot(null, null)).thenReturn(true);
+    when(postsSnapshotCache.currentVersion()).thenReturn(OptionalLong.of(1), OptionalLong.of(2));
+    final MockHttpServletRequest first = new MockHttpServletRequest("GET", "/posts");
+    interceptor.preHandle(first, new MockHttpServletResponse(), postsHandler);
+
+    final MockHttpServletRequest second = new MockHttpServletRequest("GET", "/posts");
+    second.addHeader("If-None-Match", SnapshotETagInterceptor.entityTag(first));
+
+    assertTrue(interceptor.preHandle(second, new MockHttpServletResponse(), postsHandler),
+        "A refreshed snapshot should be sent in full");
+  }
+
+  @Test
+  void testUpstreamServedRequestShouldBeUntagged() {
+    when(postsQueryPlanner.servesFromSnapshot(null, 4)).thenReturn(false);
+    final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/posts");
+    request.addParameter("id", "4");
+    request.addHeader("If-None-Match", "*");
+
+    assertAll(
+        () -> assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(),
+            postsHandler), "Upstream-served request should reach the handler"),
+        () -> assertNull(SnapshotETagInterceptor.entityTag(request),
+            "Upstream-served request should not be tagged")
+    );
+  }
+
+  @Test
+  void testAsyncDispatchShouldKeepTheTagOfTheFirstDispatch() {
+    when(commentsSnapshotCache.isEnabled()).thenReturn(true);
+    when(commentsSnapshotCache.currentVersion()).thenReturn(OptionalLong.of(5),
+        OptionalLong.of(6));
+    final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/posts/1/comments");
+    interceptor.preHandle(request, new MockHttpServletResponse(), commentsHandler);
+    final String tag = SnapshotETagInterceptor.entityTag(request);
+
+    request.setDispatcherType(DispatcherType.ASYNC);
+
+    assertAll(
+        () -> assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(),
+            commentsHandler), "Async dispatch should write the handler result"),
+        () -> assertEquals(tag, SnapshotETagInterceptor.entityTag(request),
+            "Async dispatch should keep the tag chosen on arrival"),
+        () -> assertEquals(1.0, meterRegistry.get("audition.response.etag")
+            .tag("source", "comments").tag("result", "tagged").counter().count(),
+            "The request should be counted once")
+    );
+  }
+}
@@ -0,0 +1,193 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.audition.configuration.CacheProperties;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.audition.service.CommentsSnapshotCache;
+import com.audition.service.PostIndex;
+import com.audition.service.PostsSnapshotCache;
+import com.audition.service.SnapshotFile;
+import com.audition.service.SnapshotPersistence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+class SnapshotFileTest {
+
+  private static final Instant WRITTEN_AT = Instant.parse("2026-01-01T00:00:00Z");
+
+  private final transient List<AuditionPost> posts =
+      List.of(new AuditionPost(1, 1, "Title ✓", null), new AuditionPost(2, 2, "", "Body"));
+  private final transient List<Comment> comments =
+      List.of(new Comment(1, 5, "Name", "a@b.c", "Text\nmore"));
+
+  @TempDir
+  transient Path directory;
+
+  @Test
+  void testContentsShouldRoundTrip() throws IOException {
+    final Path file = directory.resolve("nested/snapshot.bin");
+
+    final Instant commentsWrittenAt = WRITTEN_AT.plusSeconds(1);
+
+    SnapshotFile.write(file,
+        new SnapshotFile.Contents(posts, WRITTEN_AT, comments, commentsWrittenAt));
+    final SnapshotFile.Contents read = SnapshotFile.read(file);
+
+    assertAll(
+        () -> assertEquals(posts, read.posts(), "Posts should read back unchanged"),
+        () -> assertEquals(comments, read.comments(), "Comments should read back unchanged"),
+        () -> assertEquals(WRITTEN_AT, read.postsWrittenAt(),
+            "Posts write time should be kept"),
+        () -> assertEquals(commentsWrittenAt, read.commentsWrittenAt(),
+            "Comments write time should be kept")
+    );
+  }
+
+  @Test
+  void testMissingSnapshotShouldReadBackAsNull() throws IOException {
+    final Path file = directory.resolve("snapshot.bin");
+
+    SnapshotFile.write(file, new SnapshotFile.Contents(posts, WRITTEN_AT, null, null));
+
+    assertNull(SnapshotFile.read(file).comments(), "Uncached comments should stay absent");
+  }
+
+  @Test
+  void testCorruptedFileShouldBeRejected() throws IOException {
+    final Path file = directory.resolve("snapshot.bin");
+    SnapshotFile.write(file, new SnapshotFile.Contents(posts, WRITTEN_AT, comments, WRITTEN_AT));
+    final byte[] bytes = Files.readAllBytes(file);
+    bytes[30] ^= 0x01;
+    Files.write(file, bytes);
+    final Path truncated = directory.resolve("truncated.bin");
+    Files.write(truncated, new byte[] {0x41, 0x55});
+
+    assertAll(
+        () -> assertThrows(IOException.class, () -> SnapshotFile.read(file),
+            "A flipped bit should fail the checksum"),
+        () -> assertThrows(IOException.class, () -> SnapshotFile.read(truncated),
+            "A truncated file should be rejected")
+    );
+  }
+
+  @Test
+  void testPersistenceShouldSeedFromRecentFileOnly() throws IOException {
+    final Path file = directory.resolve("snapshot.bin");
+    SnapshotFile.write(file, new SnapshotFile.Contents(posts, WRITTEN_AT, comments, WRITTEN_AT));
+    final CacheProperties cacheProperties = new CacheProperties();
+    cacheProperties.getPersistence().setEnabled(true);
+    cacheProperties.getPersistence().setFile(file);
+    cacheProperties.getPersistence().setMaxAge(Duration.ofHours(1));
+
+    final PostsSnapshotCache freshPosts = startWithClock(cacheProperties,
+        WRITTEN_AT.plus(Duration.ofMinutes(5)));
+    final PostsSnapshotCache stalePosts = startWithClock(cacheProperties,
+        WRITTEN_AT.plus(Duration.ofHours(2)));
+
+    verify(freshPosts).seed(posts, WRITTEN_AT);
+    verify(stalePosts, never()).seed(any(), any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testPersistenceShouldDropSectionsOfDisabledSnapshots() throws IOException {
+    final Path file = directory.resolve("snapshot.bin");
+    SnapshotFile.write(file, new SnapshotFile.Contents(posts, WRITTEN_AT, comments, WRITTEN_AT));
+    final CacheProperties cacheProperties = new CacheProperties();
+    cacheProperties.getPersistence().setEnabled(true);
+    cacheProperties.getPersistence().setFile(file);
+    final PostsSnapshotCache postsSnapshotCache = mock(PostsSnapshotCache.class);
+    when(postsSnapshotCache.isEnabled()).thenReturn(true);
+    final CommentsSnapshotCache commentsSnapshotCache = mock(CommentsSnapshotCache.class);
+
+    new SnapshotPersistence(cacheProperties, postsSnapshotCache, commentsSnapshotCache,
+        new SimpleMeterRegistry(), Clock.fixed(WRITTEN_AT, ZoneOffset.UTC)).start();
+    final ArgumentCaptor<Consumer<PostIndex>> listener = ArgumentCaptor.forClass(Consumer.class);
+    final InOrder inOrder = inOrder(postsSnapshotCache);
+    inOrder.verify(postsSnapshotCache).addListener(listener.capture());
+    inOrder.verify(postsSnapshotCache).seed(posts, WRITTEN_AT);
+    listener.getValue().accept(PostIndex.of(posts.subList(0, 1)));
+    final SnapshotFile.Contents rewritten = SnapshotFile.read(file);
+
+    assertAll(
+        () -> assertEquals(posts.subList(0, 1), rewritten.posts(),
+            "Refreshed posts should be persisted"),
+        () -> assertNull(rewritten.comments(),
+            "Comments of a disabled snapshot should not be carried over"),
+        () -> verify(commentsSnapshotCache, never()).seed(any(), any())
+    );
+  }
+
+  @Test
+  void testCarriedSectionShouldKeepItsOwnWriteTime() throws IOException {
+    final Path file = directory.resolve("snapshot.bin");
+    SnapshotFile.write(file, new SnapshotFile.Contents(posts, WRITTEN_AT, comments, WRITTEN_AT));
+    final CacheProperties cacheProperties = new CacheProperties();
+    cacheProperties.getPersistence().setEnabled(true);
+    cacheProperties.getPersistence().setFile(file);
+    cacheProperties.getPersistence().setMaxAge(Duration.ofHours(1));
+    final Instant refreshedAt = WRITTEN_AT.plus(Duration.ofMinutes(30));
+
+    final PostsSnapshotCache postsSnapshotCache = mock(PostsSnapshotCache.class);
+    when(postsSnapshotCache.isEnabled()).thenReturn(true);
+    final CommentsSnapshotCache commentsSnapshotCache = mock(CommentsSnapshotCache.class);
+    when(commentsSnapshotCache.isEnabled()).thenReturn(true);
+    new SnapshotPersistence(cacheProperties, postsSnapshotCache, commentsSnapshotCache,
+        new SimpleMeterRegistry(), Clock.fixed(refreshedAt, ZoneOffset.UTC)).start();
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<Consumer<PostIndex>> listener = ArgumentCaptor.forClass(Consumer.class);
+    verify(postsSnapshotCache).addListener(listener.capture());
+    listener.getValue().accept(PostIndex.of(posts));
+    final SnapshotFile.Contents rewritten = SnapshotFile.read(file);
+
+    final CommentsSnapshotCache restartedComments = mock(CommentsSnapshotCache.class);
+    when(restartedComments.isEnabled()).thenReturn(true);
+    final PostsSnapshotCache restartedPosts = mock(PostsSnapshotCache.class);
+    when(restartedPosts.isEnabled()).thenReturn(true);
+    new SnapshotPersistence(cacheProperties, restartedPosts, restartedComments,
+        new SimpleMeterRegistry(),
+        Clock.fixed(WRITTEN_AT.plus(Duration.ofMinutes(90)), ZoneOffset.UTC)).start();
+
+    assertAll(
+        () -> assertEquals(refreshedAt, rewritten.postsWrittenAt(),
+            "Refreshed posts should be stamped with their refresh time"),
+        () -> assertEquals(WRITTEN_AT, rewritten.commentsWrittenAt(),
+            "Carried comments should keep their original write time"),
+        () -> verify(restartedPosts).seed(posts, refreshedAt),
+        () -> verify(restartedComments, never()).seed(any(), any())
+    );
+  }
+
+  private static PostsSnapshotCache startWithClock(final CacheProperties cacheProperties,
+      final Instant now) {
+    final PostsSnapshotCache postsSnapshotCache = mock(PostsSnapshotCache.class);
+    when(postsSnapshotCache.isEnabled()).thenReturn(true);
+    new SnapshotPersistence(cacheProperties, postsSnapshotCache,
+        mock(CommentsSnapshotCache.class), new SimpleMeterRegistry(),
+        Clock.fixed(now, ZoneOffset.UTC)).start();
+    return postsSnapshotCache;
+  }
+}
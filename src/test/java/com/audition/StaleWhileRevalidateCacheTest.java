@@ -0,0 +1,177 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.cache.StaleWhileRevalidateCache;
+import com.audition.common.exception.SystemException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StaleWhileRevalidateCacheTest {
+
+  private static final StaleWhileRevalidateCache.Policy POLICY = new StaleWhileRevalidateCache.Policy(
+      Duration.ofSeconds(30), Duration.ofSeconds(60), Duration.ofSeconds(300));
+
+  private transient MutableClock clock;
+  private transient SimpleMeterRegistry meterRegistry;
+  private transient AtomicInteger loads;
+  private transient List<Runnable> backgroundTasks;
+  private transient boolean failLoads;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock();
+    meterRegistry = new SimpleMeterRegistry();
+    loads = new AtomicInteger();
+    backgroundTasks = new ArrayList<>();
+    failLoads = false;
+  }
+
+  @Test
+  void testFirstReadShouldLoadSynchronously() {
+    StaleWhileRevalidateCache<Integer> cache = newCache();
+
+    assertEquals(1, cache.get(), "First read should load");
+    assertEquals(1, cache.get(), "Fresh read should be served from the snapshot");
+    assertEquals(1, loads.get(), "Only one load should happen within the TTL");
+    assertEquals(1.0, requests("hit"), "Second read should count as a hit");
+    assertEquals(1.0, requests("miss"), "First read should count as a miss");
+  }
+
+  @Test
+  void testStaleReadShouldServeSnapshotAndRefreshInBackground() {
+    StaleWhileRevalidateCache<Integer> cache = newCache();
+    cache.get();
+    clock.advance(Duration.ofSeconds(45));
+
+    assertEquals(1, cache.get(), "Stale snapshot should be served immediately");
+    assertEquals(1, backgroundTasks.size(), "One background refresh should be scheduled");
+    assertEquals(1, cache.get(), "Refresh in flight should not be duplicated");
+    assertEquals(1, backgroundTasks.size(), "Still only one background refresh");
+
+    backgroundTasks.remove(0).run();
+
+    assertEquals(2, cache.get(), "Refreshed snapshot should be served afterwards");
+    assertEquals(2L, cache.peek().version(), "Version should increase on refresh");
+  }
+
+  @Test
+  void testFailedRefreshShouldServeStaleWithinErrorGrace() {
+    StaleWhileRevalidateCache<Integer> cache = newCache();
+    cache.get();
+    clock.advance(Duration.ofSeconds(120));
+    failLoads = true;
+
+    assertEquals(1, cache.get(), "Stale snapshot should be served when upstream fails");
+    assertEquals(1.0, requests("stale-if-error"), "Stale-if-error should be recorded");
+    assertFalse(cache.isFresh(), "Snapshot should not be reported fresh");
+  }
+
+  @Test
+  void testFailedRefreshShouldThrowBeyondErrorGrace() {
+    StaleWhileRevalidateCache<Integer> cache = newCache();
+    cache.get();
+    clock.advance(Duration.ofSeconds(600));
+    failLoads = true;
+
+    assertThrows(SystemException.class, cache::get,
+        "Upstream failure should surface once the grace period is over");
+  }
+
+  @Test
+  void testSeedShouldKeepTheRestoredValueAge() {
+    StaleWhileRevalidateCache<Integer> cache = newCache();
+    failLoads = true;
+
+    cache.seed(7, clock.instant().minus(Duration.ofSeconds(200)));
+    backgroundTasks.remove(0).run();
+
+    assertEquals(200.0, meterRegistry.get("audition.cache.staleness").gauge().value(),
+        "Staleness should report the restored value's real age");
+    assertEquals(7, cache.get(), "Value within stale-if-error should survive a failed refresh");
+    clock.advance(Duration.ofSeconds(200));
+    assertThrows(SystemException.class, cache::get,
+        "Value beyond stale-if-error should not be served once its real age passes it");
+  }
+
+  @Test
+  void testListenerShouldReceivePublishedSnapshot() {
+    StaleWhileRevalidateCache<Integer> cache = newCache();
+    List<Long> versions = new ArrayList<>();
+    cache.addListener(snapshot -> versions.add(snapshot.version()));
+
+    cache.get();
+
+    assertEquals(List.of(1L), versions, "Listener should see the first snapshot");
+    assertTrue(cache.isFresh(), "New snapshot should be fresh");
+  }
+
+  @Test
+  void testLoadReturningCachedValueShouldRevalidateWithoutNewVersion() {
+    Object value = new Object();
+    StaleWhileRevalidateCache<Object> cache = new StaleWhileRevalidateCache<>("test",
+        () -> value, POLICY, backgroundTasks::add, clock, meterRegistry);
+    List<Long> versions = new ArrayList<>();
+    cache.addListener(snapshot -> versions.add(snapshot.version()));
+    cache.get();
+    clock.advance(Duration.ofSeconds(45));
+
+    cache.get();
+    backgroundTasks.remove(0).run();
+
+    assertTrue(cache.isFresh(), "Revalidated snapshot should be fresh again");
+    assertEquals(1L, cache.peek().version(), "Revalidation should keep the version");
+    assertEquals(List.of(1L), versions, "Listeners should only see the first snapshot");
+    assertEquals(1.0, meterRegistry.get("audition.cache.revalidated").counter().count(),
+        "Revalidation should be counted");
+  }
+
+  private StaleWhileRevalidateCache<Integer> newCache() {
+    return new StaleWhileRevalidateCache<>("test", () -> {
+      if (failLoads) {
+        throw new SystemException("Failed to retrieve posts", "Integration Error", 500);
+      }
+      return loads.incrementAndGet();
+    }, POLICY, backgroundTasks::add, clock, meterRegistry);
+  }
+
+  private double requests(String result) {
+    return meterRegistry.get("audition.cache.requests").tag("result", result).counter().count();
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.concurrent.AimdConcurrencyLimiter;
+import com.audition.common.concurrent.ConcurrencyLimitExceededException;
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.ResilienceProperties;
+import com.audition.integration.UpstreamGuard;
+import com.audition.integration.UpstreamOperation;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class UpstreamGuardTest {
+
+  private transient ResilienceProperties properties;
+  private transient SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    properties = new ResilienceProperties();
+    properties.getCircuitBreaker().setSlidingWindowSize(4);
+    properties.getCircuitBreaker().setMinimumNumberOfCalls(4);
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void testOpenCircuitShouldFailFastWith503() {
+    UpstreamGuard guard = new UpstreamGuard(properties, meterRegistry);
+    AtomicInteger upstreamCalls = new AtomicInteger();
+    for (int i = 0; i < 4; i++) {
+      assertThrows(SystemException.class, () -> guard.call(UpstreamOperation.POSTS, () -> {
+        upstreamCalls.incrementAndGet();
+        throw new SystemException("Failed to retrieve posts", "Integration Error", 500);
+      }), "Upstream failure should propagate while the circuit is closed");
+    }
+
+    SystemException rejected = assertThrows(SystemException.class,
+        () -> guard.call(UpstreamOperation.POSTS, upstreamCalls::incrementAndGet),
+        "Open circuit should reject the call");
+
+    assertAll(
+        () -> assertEquals(503, rejected.getStatusCode(), "Rejection should be a 503"),
+        () -> assertInstanceOf(CallNotPermittedException.class, rejected.getCause(),
+            "Cause should be the circuit breaker rejection"),
+        () -> assertEquals(4, upstreamCalls.get(), "Open circuit should not reach the upstream"),
+        () -> assertEquals(CircuitBreaker.State.CLOSED,
+            guard.circuitBreaker(UpstreamOperation.POST_BY_ID).getState(),
+            "Other operations should keep their own circuit")
+    );
+  }
+
+  @Test
+  void testClientErrorsShouldNotOpenCircuit() {
+    UpstreamGuard guard = new UpstreamGuard(properties, meterRegistry);
+    for (int i = 0; i < 8; i++) {
+      assertThrows(SystemException.class, () -> guard.call(UpstreamOperation.POST_BY_ID, () -> {
+        throw new SystemException("Cannot find a Post with id 1", "Resource Not Found", 404);
+      }), "Not found should propagate unchanged");
+    }
+
+    assertEquals(CircuitBreaker.State.CLOSED,
+        guard.circuitBreaker(UpstreamOperation.POST_BY_ID).getState(),
+        "404s are not upstream failures");
+  }
+
+  @Test
+  void testAsyncCallShouldMapOpenCircuitTo503() {
+    UpstreamGuard guard = new UpstreamGuard(properties, meterRegistry);
+    guard.circuitBreaker(UpstreamOperation.POST_COMMENTS).transitionToOpenState();
+
+    StepVerifier.create(guard.callAsync(UpstreamOperation.POST_COMMENTS, () -> Mono.just(1)))
+        .expectErrorSatisfies(error -> assertEquals(503,
+            ((SystemException) error).getStatusCode(), "Rejection should be a 503"))
+        .verify();
+  }
+
+  @Test
+  void testDisabledGuardShouldPassThrough() {
+    properties.setEnabled(false);
+    UpstreamGuard guard = new UpstreamGuard(properties, meterRegistry);
+    guard.circuitBreaker(UpstreamOperation.POSTS).transitionToOpenState();
+
+    assertEquals(1, guard.call(UpstreamOperation.POSTS, () -> 1),
+        "Disabled guard should not consult the circuit");
+  }
+
+  @Test
+  void testLimiterShouldRejectBeyondLimitAndAdapt() {
+    AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter("test", 2, 1, 4, 0.5,
+        Duration.ofSeconds(10), meterRegistry);
+
+    AimdConcurrencyLimiter.Permit first = limiter.acquire();
+    AimdConcurrencyLimiter.Permit second = limiter.acquire();
+    assertThrows(ConcurrencyLimitExceededException.class, limiter::acquire,
+        "Third concurrent call should be rejected");
+
+    first.onSuccess();
+    second.onSuccess();
+    assertEquals(4, limiter.getLimit(), "Busy fast successes should grow the limit");
+
+    limiter.acquire().onDropped();
+    assertAll(
+        () -> assertEquals(2, limiter.getLimit(), "A drop should halve the limit"),
+        () -> assertEquals(0, limiter.getInFlight(), "All permits should be released"),
+        () -> assertTrue(meterRegistry.get("audition.upstream.limiter.rejected")
+            .counter().count() > 0, "Rejection should be counted")
+    );
+  }
+}
@@ -0,0 +1,179 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.IntegrationProperties;
+import com.audition.integration.UpstreamHedger;
+import com.audition.integration.UpstreamOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class UpstreamHedgerTest {
+
+  private transient IntegrationProperties properties;
+  private transient SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    properties = new IntegrationProperties();
+    properties.getHedge().setEnabled(true);
+    properties.getHedge().setMinDelay(Duration.ofMillis(1));
+    properties.getHedge().setMaxDelay(Duration.ofMillis(20));
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void testSlowPrimaryShouldBeHedgedAndHedgeShouldWin() {
+    UpstreamHedger hedger = new UpstreamHedger(properties, meterRegistry);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result = hedger.call(UpstreamOperation.POST_BY_ID, () -> {
+      if (attempts.incrementAndGet() == 1) {
+        awaitQuietly(release);
+        return "primary";
+      }
+      return "hedge";
+    });
+    release.countDown();
+
+    assertAll(
+        () -> assertEquals("hedge", result, "Fast hedge should win over the stalled primary"),
+        () -> assertEquals(1.0, count("audition.hedge.sent"), "One hedge should be sent"),
+        () -> assertEquals(1.0, count("audition.hedge.wins"), "The hedge should be counted as won")
+    );
+  }
+
+  @Test
+  void testEmptyBudgetShouldSkipHedge() {
+    properties.getHedge().setBudgetBurst(0);
+    properties.getHedge().setBudgetRatio(0);
+    UpstreamHedger hedger = new UpstreamHedger(properties, meterRegistry);
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result = hedger.call(UpstreamOperation.POST_COMMENTS, () -> {
+      attempts.incrementAndGet();
+      sleepQuietly(60);
+      return "primary";
+    });
+
+    assertAll(
+        () -> assertEquals("primary", result, "Primary should answer"),
+        () -> assertEquals(1, attempts.get(), "No second request should be sent"),
+        () -> assertEquals(1.0, count("audition.hedge.budget.exhausted"),
+            "Exhausted budget should be counted")
+    );
+  }
+
+  @Test
+  void testPrimaryFailureShouldPropagate() {
+    UpstreamHedger hedger = new UpstreamHedger(properties, meterRegistry);
+    Supplier<String> failing = () -> {
+      throw new SystemException("Failed to retrieve post with id 1", "Integration Error", 500);
+    };
+
+    SystemException exception = assertThrows(SystemException.class,
+        () -> hedger.call(UpstreamOperation.POST_BY_ID, failing),
+        "Primary failure should be returned as-is");
+
+    assertEquals(500, exception.getStatusCode(), "Status should be preserved");
+  }
+
+  @Test
+  void testAsyncHedgeShouldWinOverSlowPrimary() {
+    UpstreamHedger hedger = new UpstreamHedger(properties, meterRegistry);
+    AtomicInteger attempts = new AtomicInteger();
+
+    Mono<String> result = hedger.callAsync(UpstreamOperation.COMMENTS_BY_QUERY,
+        () -> attempts.incrementAndGet() == 1
+            ? Mono.delay(Duration.ofSeconds(5)).thenReturn("primary")
+            : Mono.just("hedge"));
+
+    StepVerifier.create(result)
+        .expectNext("hedge")
+        .expectComplete()
+        .verify(Duration.ofSeconds(2));
+    assertEquals(1.0, count("audition.hedge.wins"), "The hedge should be counted as won");
+  }
+
+  @Test
+  void testAsyncEmptyPrimaryShouldCompleteEmptyAsWithoutHedging() {
+    UpstreamHedger hedger = new UpstreamHedger(properties, meterRegistry);
+
+    Mono<String> result = hedger.callAsync(UpstreamOperation.COMMENTS_BY_QUERY, Mono::empty);
+
+    StepVerifier.create(result)
+        .expectComplete()
+        .verify(Duration.ofSeconds(2));
+  }
+
+  @Test
+  void testAsyncEmptyHedgeShouldNotWin() {
+    UpstreamHedger hedger = new UpstreamHedger(properties, meterRegistry);
+    AtomicInteger attempts = new AtomicInteger();
+
+    Mono<String> result = hedger.callAsync(UpstreamOperation.COMMENTS_BY_QUERY,
+        () -> attempts.incrementAndGet() == 1
+            ? Mono.delay(Duration.ofMillis(200)).thenReturn("primary")
+            : Mono.empty());
+
+    StepVerifier.create(result)
+        .expectNext("primary")
+        .expectComplete()
+        .verify(Duration.ofSeconds(2));
+    assertEquals(0.0, count("audition.hedge.wins"), "An empty hedge should not be counted as won");
+  }
+
+  @Test
+  void testVirtualThreadModeShouldRunAttemptsOnVirtualThreads() {
+    UpstreamHedger hedger = new UpstreamHedger(properties, meterRegistry, true);
+
+    boolean virtual = hedger.call(UpstreamOperation.POST_BY_ID,
+        () -> Thread.currentThread().isVirtual());
+
+    assertTrue(virtual, "Attempts should run on virtual threads");
+  }
+
+  @Test
+  void testDisabledHedgerShouldCallOnce() {
+    properties.getHedge().setEnabled(false);
+    UpstreamHedger hedger = new UpstreamHedger(properties, meterRegistry);
+
+    assertEquals("direct", hedger.call(UpstreamOperation.POST_BY_ID, () -> "direct"),
+        "Disabled hedger should call through");
+    assertEquals(0.0, count("audition.hedge.calls"), "Disabled hedger should not count calls");
+  }
+
+  private double count(String name) {
+    return meterRegistry.get(name).counters().stream().mapToDouble(Counter::count).sum();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleepQuietly(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.concurrent.Deadline;
+import com.audition.common.concurrent.DeadlineContext;
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.ResilienceProperties;
+import com.audition.integration.UpstreamOperation;
+import com.audition.integration.UpstreamRetrier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class UpstreamRetrierTest {
+
+  private transient ResilienceProperties properties;
+  private transient SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    properties = new ResilienceProperties();
+    properties.getRetry().setBaseDelay(Duration.ofMillis(1));
+    properties.getRetry().setMaxDelay(Duration.ofMillis(5));
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void testRetryableFailureShouldBeRetriedUntilSuccess() {
+    UpstreamRetrier retrier = new UpstreamRetrier(properties, meterRegistry);
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result = retrier.call(UpstreamOperation.POST_BY_ID, () -> {
+      if (attempts.incrementAndGet() < 3) {
+        throw upstreamFailure(HttpStatus.BAD_GATEWAY);
+      }
+      return "ok";
+    });
+
+    assertAll(
+        () -> assertEquals("ok", result, "Third attempt should succeed"),
+        () -> assertEquals(2.0, counter("audition.retry.retries"), "Two retries should be sent"),
+        () -> assertEquals(1.0, counter("audition.retry.recovered"), "Call should be recovered")
+    );
+  }
+
+  @Test
+  void testNonRetryableFailureShouldFailImmediately() {
+    UpstreamRetrier retrier = new UpstreamRetrier(properties, meterRegistry);
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThrows(SystemException.class, () -> retrier.call(UpstreamOperation.POST_BY_ID, () -> {
+      attempts.incrementAndGet();
+      throw upstreamFailure(HttpStatus.INTERNAL_SERVER_ERROR);
+    }), "500 should not be retried");
+
+    assertEquals(1, attempts.get(), "Only one attempt should be made");
+  }
+
+  @Test
+  void testAttemptsShouldBeCapped() {
+    UpstreamRetrier retrier = new UpstreamRetrier(properties, meterRegistry);
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThrows(SystemException.class, () -> retrier.call(UpstreamOperation.POSTS, () -> {
+      attempts.incrementAndGet();
+      throw upstreamFailure(HttpStatus.SERVICE_UNAVAILABLE);
+    }), "Last failure should propagate");
+
+    assertAll(
+        () -> assertEquals(3, attempts.get(), "Max attempts should be honoured"),
+        () -> assertEquals(1.0, counter("audition.retry.exhausted"), "Exhaustion should count")
+    );
+  }
+
+  @Test
+  void testEmptyBudgetShouldPreventRetries() {
+    properties.getRetry().setBudgetBurst(0);
+    properties.getRetry().setBudgetRatio(0);
+    UpstreamRetrier retrier = new UpstreamRetrier(properties, meterRegistry);
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThrows(SystemException.class, () -> retrier.call(UpstreamOperation.POSTS, () -> {
+      attempts.incrementAndGet();
+      throw upstreamFailure(HttpStatus.GATEWAY_TIMEOUT);
+    }), "Failure should propagate without budget");
+
+    assertAll(
+        () -> assertEquals(1, attempts.get(), "No retry should be sent"),
+        () -> assertEquals(1.0, counter("audition.retry.budget.exhausted"),
+            "Budget exhaustion should count")
+    );
+  }
+
+  @Test
+  void testRetryShouldBeSkippedWhenBackoffOutlivesDeadline() {
+    properties.getRetry().setBaseDelay(Duration.ofSeconds(5));
+    properties.getRetry().setMaxDelay(Duration.ofSeconds(5));
+    UpstreamRetrier retrier = new UpstreamRetrier(properties, meterRegistry);
+    AtomicInteger attempts = new AtomicInteger();
+    DeadlineContext.set(Deadline.after(Duration.ofMillis(1)));
+    try {
+      // The attempt itself outlasts the budget, so no backoff fits in what is left.
+      assertThrows(SystemException.class, () -> retrier.call(UpstreamOperation.POSTS, () -> {
+        attempts.incrementAndGet();
+        sleepQuietly(2);
+        throw upstreamFailure(HttpStatus.BAD_GATEWAY);
+      }), "Failure should propagate once the deadline has passed");
+    } finally {
+      DeadlineContext.clear();
+    }
+
+    assertAll(
+        () -> assertEquals(1, attempts.get(), "No retry should be sent past the deadline"),
+        () -> assertEquals(1.0, counter("audition.retry.deadline"),
+            "Skipped retry should be counted")
+    );
+  }
+
+  @Test
+  void testAsyncRetryShouldResubscribe() {
+    UpstreamRetrier retrier = new UpstreamRetrier(properties, meterRegistry);
+    AtomicInteger attempts = new AtomicInteger();
+
+    Mono<String> result = retrier.callAsync(UpstreamOperation.POST_COMMENTS,
+        () -> attempts.incrementAndGet() == 1
+            ? Mono.error(new SystemException("Failed", "Integration Error", 500,
+                new ConnectException("Connection refused")))
+            : Mono.just("ok"));
+
+    StepVerifier.create(result).expectNext("ok").verifyComplete();
+    assertEquals(2, attempts.get(), "Failed attempt should be retried once");
+  }
+
+  @Test
+  void testRetryableClassification() {
+    assertAll(
+        () -> assertTrue(UpstreamRetrier.isRetryable(
+            new ResourceAccessException("I/O", new SocketException("Connection reset"))),
+            "Reset should be retryable"),
+        () -> assertTrue(UpstreamRetrier.isRetryable(upstreamFailure(HttpStatus.BAD_GATEWAY)),
+            "502 should be retryable"),
+        () -> assertFalse(UpstreamRetrier.isRetryable(
+            new SystemException("Upstream posts unavailable", "Service Unavailable", 503)),
+            "Local 503 rejections should not be retried"),
+        () -> assertFalse(UpstreamRetrier.isRetryable(new IllegalStateException("bug")),
+            "Programming errors should not be retried")
+    );
+  }
+
+  private double counter(String name) {
+    return meterRegistry.get(name).counters().stream().mapToDouble(c -> c.count()).sum();
+  }
+
+  private static void sleepQuietly(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static SystemException upstreamFailure(HttpStatus status) {
+    return new SystemException("Failed to retrieve posts", "Integration Error", 500,
+        new HttpServerErrorException(status));
+  }
+}
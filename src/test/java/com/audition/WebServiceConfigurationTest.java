@@ -0,0 +1,67 @@
+package com.audition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.configuration.HttpClientProperties;
+import com.audition.configuration.WebServiceConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+class WebServiceConfigurationTest {
+
+  private transient WebServiceConfiguration configuration;
+  private transient HttpClientProperties properties;
+  private transient SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    configuration = new WebServiceConfiguration();
+    properties = new HttpClientProperties();
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void testPooledEngineShouldBeTheDefault() {
+    ClientHttpRequestFactory factory =
+        configuration.upstreamRequestFactory(properties, meterRegistry);
+
+    assertTrue(factory instanceof HttpComponentsClientHttpRequestFactory,
+        "Pooled engine should be backed by Apache HttpClient");
+  }
+
+  @Test
+  void testPooledEngineShouldRegisterPoolGauges() {
+    properties.setMaxTotal(25);
+
+    configuration.upstreamRequestFactory(properties, meterRegistry);
+
+    assertNotNull(meterRegistry.find("audition.http.client.pool.leased").gauge(),
+        "Leased gauge should be registered");
+    assertNotNull(meterRegistry.find("audition.http.client.pool.utilisation").gauge(),
+        "Utilisation gauge should be registered");
+    assertNotNull(meterRegistry.find("audition.http.client.pool.wait").timer(),
+        "Lease wait timer should be registered");
+    assertEquals(25.0, meterRegistry.get("audition.http.client.pool.max").gauge().value(),
+        "Max gauge should reflect the configured pool size");
+  }
+
+  @Test
+  void testSimpleEngineShouldNotCreatePool() {
+    properties.setEngine(HttpClientProperties.Engine.SIMPLE);
+    properties.setReadTimeout(Duration.ofSeconds(1));
+
+    ClientHttpRequestFactory factory =
+        configuration.upstreamRequestFactory(properties, meterRegistry);
+
+    assertTrue(factory instanceof SimpleClientHttpRequestFactory,
+        "Simple engine should use HttpURLConnection");
+    assertTrue(meterRegistry.getMeters().isEmpty(), "Simple engine should not export pool metrics");
+  }
+}